@@ -284,6 +284,44 @@ public class ConnectionProvider {
       return jmsContext;
    }
 
+   /**
+    * Temporarily stops the delivery of incoming messages on all connections and contexts provided so far.
+    * The connections stay open so that the messages being processed can still be acknowledged.
+    */
+   public void stopDelivery() {
+      log.info("Stopping message delivery of JMS connection provider: " + (uri.isEmpty() ? "default JNDI connection" : uri) + "...");
+
+      try {
+         if (sharedConnection != null) {
+            sharedConnection.stop();
+         }
+
+         for (Connection con : nonSharedConnections) {
+            con.stop();
+         }
+
+         for (Connection secureConnection : sharedSecuredConnections.values()) {
+            secureConnection.stop();
+         }
+
+         for (JMSContext sharedContext : sharedSessionModeJMSContexts.values()) {
+            if (sharedContext != null) {
+               sharedContext.stop();
+            }
+         }
+
+         for (JMSContext securedContext : sharedSecuredJMSContexts.values()) {
+            securedContext.stop();
+         }
+
+         for (JMSContext jmsContext : nonSharedJMSContexts) {
+            jmsContext.stop();
+         }
+      } catch (JMSException | JMSRuntimeException jmse) {
+         log.error("Unable to stop message delivery of toolkit " + getUri() + ": ", jmse);
+      }
+   }
+
    /**
     * Closes all of the resources created by this provider
     */
@@ -0,0 +1,145 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+
+package io.silverware.microservices.internal;
+
+import io.silverware.microservices.util.InvocationGate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.jms.Connection;
+import javax.jms.JMSConsumer;
+import javax.jms.JMSContext;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+
+/**
+ * Wraps the JMS connections and contexts handed to the Microservices so that the messages delivered to their listeners
+ * are counted as invocations in flight by the {@link InvocationGate}. Sessions, consumers and contexts created by
+ * a wrapped object are wrapped as well. Messages delivered after the gate was closed are refused by throwing an exception
+ * from the listener, so the broker delivers them again later.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public final class GatedJmsHandler implements InvocationHandler {
+
+   private static final Logger log = LogManager.getLogger(GatedJmsHandler.class);
+
+   /**
+    * Types of the objects that can deliver messages to a listener, directly or through the objects they create.
+    */
+   private static final Class<?>[] GATED_TYPES = { Connection.class, Session.class, MessageConsumer.class, JMSContext.class, JMSConsumer.class };
+
+   private final Object target;
+
+   private final InvocationGate gate;
+
+   private GatedJmsHandler(final Object target, final InvocationGate gate) {
+      this.target = target;
+      this.gate = gate;
+   }
+
+   /**
+    * Wraps the JMS object so that its message listeners are guarded by the gate.
+    *
+    * @param target
+    *       The JMS object to wrap, null is returned as it is.
+    * @param gate
+    *       The gate counting the invocations in flight.
+    * @param <T>
+    *       The type of the JMS object.
+    * @return The wrapped JMS object implementing the same JMS interfaces.
+    */
+   @SuppressWarnings("unchecked")
+   public static <T> T wrap(final T target, final InvocationGate gate) {
+      if (target == null || Proxy.isProxyClass(target.getClass()) && Proxy.getInvocationHandler(target) instanceof GatedJmsHandler) {
+         return target;
+      }
+
+      final Set<Class<?>> interfaces = new LinkedHashSet<>();
+      for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+         for (final Class<?> candidate : type.getInterfaces()) {
+            if (candidate.getName().startsWith("javax.jms.")) {
+               interfaces.add(candidate);
+            }
+         }
+      }
+
+      return (T) Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]), new GatedJmsHandler(target, gate));
+   }
+
+   @Override
+   public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+         return proxy == args[0];
+      }
+
+      if (args != null) {
+         for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageListener) {
+               args[i] = gate((MessageListener) args[i]);
+            }
+         }
+      }
+
+      final Object result;
+      try {
+         result = method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+         throw e.getCause();
+      }
+
+      return isGated(result) ? wrap(result, gate) : result;
+   }
+
+   private MessageListener gate(final MessageListener listener) {
+      return message -> {
+         if (!gate.enter()) {
+            log.debug("Refusing JMS message, the platform is shutting down.");
+            throw new IllegalStateException("The platform is shutting down.");
+         }
+         try {
+            listener.onMessage(message);
+         } finally {
+            gate.exit();
+         }
+      };
+   }
+
+   private static boolean isGated(final Object result) {
+      if (result != null) {
+         for (final Class<?> type : GATED_TYPES) {
+            if (type.isInstance(result)) {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+}
@@ -22,13 +22,14 @@ package io.silverware.microservices.providers.activemq;
 
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.SilverWareException;
 import io.silverware.microservices.annotations.JMS;
 import io.silverware.microservices.enums.ConnectionType;
 import io.silverware.microservices.internal.ConnectionProvider;
+import io.silverware.microservices.internal.GatedJmsHandler;
 import io.silverware.microservices.utils.InitialContextProvider;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.silver.ActiveMQSilverService;
-import io.silverware.microservices.util.Utils;
 import io.silverware.microservices.utils.ActiveMQConstants;
 
 import org.apache.activemq.artemis.jndi.ActiveMQInitialContextFactory;
@@ -51,7 +52,7 @@ import javax.naming.NamingException;
 /**
  * @author <a href="mailto:stefankomartin6@gmail.com">Martin Štefanko</a>
  */
-public class ActiveMQMicroserviceProvider implements MicroserviceProvider, ActiveMQSilverService {
+public class ActiveMQMicroserviceProvider implements LifecycleMicroserviceProvider, ActiveMQSilverService {
 
    /**
     * Logger.
@@ -84,7 +85,7 @@ public class ActiveMQMicroserviceProvider implements MicroserviceProvider, Activ
    }
 
    @Override
-   public void run() {
+   public void start() throws SilverWareException {
       log.info("Hello from ActiveMQ Microservice Provider!");
 
       //Connect to JMS via JNDI - jndi.properties file must be provided by client
@@ -107,8 +108,7 @@ public class ActiveMQMicroserviceProvider implements MicroserviceProvider, Activ
 
       if (initialContext == null) {
          //the provider cannot run without the initial context
-         log.error("Cannot run the " + this.getClass().getSimpleName() + "without the " + InitialContext.class.getSimpleName());
-         return;
+         throw new SilverWareException("Cannot run the " + this.getClass().getSimpleName() + " without the " + InitialContext.class.getSimpleName());
       } else {
          defaultJNDIInitialContext = InitialContextProvider.createInitialContext(initialContext);
       }
@@ -116,25 +116,29 @@ public class ActiveMQMicroserviceProvider implements MicroserviceProvider, Activ
       //try to locate the default connection factory in the JNDI and create the default connection
       initDefaultConnectionFactory();
 
-      try {
-         while (!Thread.currentThread().isInterrupted()) {
-            Thread.sleep(1000);
-         }
-      } catch (InterruptedException ie) {
-         Utils.shutdownLog(log, ie);
-      } finally {
-         log.info("Closing messaging platform...");
+      //no new messages are consumed once the platform stops accepting invocations
+      context.getInvocationGate().addCloseListener(this::stopDelivery);
+   }
 
-         try {
-            initialContext.close();
-         } catch (NamingException ne) {
-            log.error("Unable to close initial context: ", ne);
-         }
+   private void stopDelivery() {
+      for (ConnectionProvider provider : connectionProviders.values()) {
+         provider.stopDelivery();
+      }
+   }
 
-         //cleanup
-         for (ConnectionProvider provider : connectionProviders.values()) {
-            provider.close();
-         }
+   @Override
+   public void stop() {
+      log.info("Closing messaging platform...");
+
+      try {
+         initialContext.close();
+      } catch (NamingException ne) {
+         log.error("Unable to close initial context: ", ne);
+      }
+
+      //cleanup
+      for (ConnectionProvider provider : connectionProviders.values()) {
+         provider.close();
       }
 
       log.info("Bye from ActiveMQ Microservice Provider!");
@@ -166,17 +170,24 @@ public class ActiveMQMicroserviceProvider implements MicroserviceProvider, Activ
 
          Connection connection = getConnection(provider, jmsAnnotation);
 
-         return Collections.singleton(connection);
+         //messages delivered to the listeners are counted as invocations in flight
+         return Collections.singleton(GatedJmsHandler.wrap(connection, context.getInvocationGate()));
       } else if (JMSContext.class.isAssignableFrom(metaData.getType())) {
 
          JMSContext jmsContext = getJMSContext(provider, jmsAnnotation);
 
-         return Collections.singleton(jmsContext);
+         return Collections.singleton(GatedJmsHandler.wrap(jmsContext, context.getInvocationGate()));
       }
 
       return Collections.emptySet();
    }
 
+   @Override
+   public boolean isLookupCacheable(final MicroserviceMetaData metaData) {
+      // connections and contexts can be created for each injection
+      return !Connection.class.isAssignableFrom(metaData.getType()) && !JMSContext.class.isAssignableFrom(metaData.getType());
+   }
+
    private InitialContext getInitialContext(JMS jmsAnnotation) {
 
       if (jmsAnnotation.initialContextFactory().equals(ActiveMQInitialContextFactory.class)) {
@@ -20,14 +20,16 @@
 package io.silverware.microservices.providers.camel;
 
 import io.silverware.microservices.Context;
+import io.silverware.microservices.SilverWareException;
 import io.silverware.microservices.silver.CdiSilverService;
-import io.silverware.microservices.util.Utils;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Gets the Camel Context from CDI Bean Manager to make camel-cdi integration work.
  *
@@ -37,33 +39,27 @@ public class CamelCdiContextFactory implements CamelContextFactory {
 
    private static final Logger log = LogManager.getLogger(CamelCdiContextFactory.class);
 
+   /**
+    * Maximum number of seconds to wait for the CDI deployment.
+    */
+   private static final int CDI_DEPLOYMENT_TIMEOUT = 10;
+
    @SuppressWarnings("checkstyle:JavadocMethod")
    public CamelContext createCamelContext(final Context context) {
-      CdiSilverService cdiSilverService = null;
-      log.info("Camel CDI extension is present, waiting for 5s for CDI initialization...");
-
-      // first lookup the cdi silverservice
-      int i = 0;
-      while (cdiSilverService == null && i++ < 10) {
-         cdiSilverService = (CdiSilverService) context.getProvider(CdiSilverService.class);
-         Utils.sleep(500);
-      }
-
-      if (cdiSilverService != null) {
-         log.info("Got CDI SilverService, waiting for 5s for its full deployment...");
-
-         // now wait for it to complete deployment
-         i = 0;
-         while (!cdiSilverService.isDeployed() && i++ < 10) {
-            Utils.sleep(500);
-         }
+      // the camel provider depends on the cdi silverservice, so it is already registered when present
+      if (context.getProvider(CdiSilverService.class) != null) {
+         log.info("Camel CDI extension is present, waiting for CDI deployment...");
 
-         if (cdiSilverService.isDeployed()) {
+         try {
+            final CdiSilverService cdiSilverService = context.awaitMilestone(CdiSilverService.CDI_DEPLOYED, CDI_DEPLOYMENT_TIMEOUT, TimeUnit.SECONDS);
             log.info("CDI SilverService connected successfully!");
 
             return cdiSilverService.findByType(CamelContext.class);
-         } else {
-            log.warn("CDI deployment took to long, trying to continue.");
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for CDI deployment, trying to continue.");
+         } catch (SilverWareException e) {
+            log.warn("CDI deployment failed or took to long, trying to continue.", e);
          }
       } else {
          log.warn("Failed to find CDI SilverService, trying to continue.");
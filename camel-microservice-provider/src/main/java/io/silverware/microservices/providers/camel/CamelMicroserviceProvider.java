@@ -22,11 +22,12 @@ package io.silverware.microservices.providers.camel;
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
 import io.silverware.microservices.SilverWareException;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.silver.CamelSilverService;
+import io.silverware.microservices.silver.CdiSilverService;
+import io.silverware.microservices.silver.SilverService;
 import io.silverware.microservices.util.DeployStats;
 import io.silverware.microservices.util.DeploymentScanner;
-import io.silverware.microservices.util.Utils;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Component;
@@ -54,7 +55,7 @@ import java.util.Set;
 /**
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
-public class CamelMicroserviceProvider implements MicroserviceProvider, CamelSilverService {
+public class CamelMicroserviceProvider implements LifecycleMicroserviceProvider, CamelSilverService {
 
    private static final Logger log = LogManager.getLogger(CamelMicroserviceProvider.class);
 
@@ -129,63 +130,64 @@ public class CamelMicroserviceProvider implements MicroserviceProvider, CamelSil
       loadRoutesFromXml();
    }
 
+   @Override
+   public Set<Class<? extends SilverService>> getDependencies() {
+      // the Camel context might be obtained from CDI
+      return Collections.singleton(CdiSilverService.class);
+   }
+
    @Override
    public Context getContext() {
       return context;
    }
 
    @Override
-   public void run() {
+   public void start() throws Exception {
       if (routes.size() > 0 || routeResources.size() > 0) {
-         try {
-            log.info("Hello from Camel microservice provider!");
+         log.info("Hello from Camel microservice provider!");
 
-            createCamelContext();
+         createCamelContext();
 
-            for (final RouteBuilder builder : routes) {
-               try {
-                  camelContext.addRoutes(builder);
-                  stats.incDeployed();
-               } catch (Exception e) {
-                  log.warn("Unable to start Camel route " + builder.getClass().getName(), e);
-                  stats.incSkipped();
-               }
+         for (final RouteBuilder builder : routes) {
+            try {
+               camelContext.addRoutes(builder);
+               stats.incDeployed();
+            } catch (Exception e) {
+               log.warn("Unable to start Camel route " + builder.getClass().getName(), e);
+               stats.incSkipped();
             }
+         }
 
-            final ModelCamelContext model = (ModelCamelContext) camelContext;
-            for (final String routeResource : routeResources) {
-               try {
-                  final RoutesDefinition definition = model.loadRoutesDefinition(this.getClass().getResourceAsStream("/" + routeResource));
-                  model.addRouteDefinitions(definition.getRoutes());
-                  stats.incDeployed();
-               } catch (Exception e) {
-                  log.warn(String.format("Cannot initialize routes in %s: ", routeResource), e);
-                  stats.incSkipped();
-               }
+         final ModelCamelContext model = (ModelCamelContext) camelContext;
+         for (final String routeResource : routeResources) {
+            try {
+               final RoutesDefinition definition = model.loadRoutesDefinition(this.getClass().getResourceAsStream("/" + routeResource));
+               model.addRouteDefinitions(definition.getRoutes());
+               stats.incDeployed();
+            } catch (Exception e) {
+               log.warn(String.format("Cannot initialize routes in %s: ", routeResource), e);
+               stats.incSkipped();
             }
+         }
 
-            log.info("Total Camel route resources " + stats.toString() + ".");
+         log.info("Total Camel route resources " + stats.toString() + ".");
 
-            camelContext.start();
+         final long start = System.nanoTime();
+         camelContext.start();
+         context.getDeployStats().recordPhase("Camel context start", start);
+      } else {
+         log.warn("No route resources to start. Camel microservice provider is terminated.");
+      }
+   }
 
-            try {
-               while (!Thread.currentThread().isInterrupted()) {
-                  Thread.sleep(1000);
-               }
-            } catch (InterruptedException ie) {
-               Utils.shutdownLog(log, ie);
-            } finally {
-               try {
-                  camelContext.stop();
-               } catch (Exception e) {
-                  log.trace("Weld was shut down before Camel and destroyed the context: ", e);
-               }
-            }
+   @Override
+   public void stop() {
+      if (camelContext != null) {
+         try {
+            camelContext.stop();
          } catch (Exception e) {
-            log.error("Camel microservice provider failed: ", e);
+            log.trace("Weld was shut down before Camel and destroyed the context: ", e);
          }
-      } else {
-         log.warn("No route resources to start. Camel microservice provider is terminated.");
       }
    }
 
@@ -208,4 +210,10 @@ public class CamelMicroserviceProvider implements MicroserviceProvider, CamelSil
       return new HashSet<>();
    }
 
+   @Override
+   public boolean isLookupCacheable(final MicroserviceMetaData metaData) {
+      // templates are created for each lookup
+      return !ConsumerTemplate.class.isAssignableFrom(metaData.getType()) && !ProducerTemplate.class.isAssignableFrom(metaData.getType());
+   }
+
 }
@@ -23,7 +23,7 @@ import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
 import io.silverware.microservices.annotations.Microservice;
 import io.silverware.microservices.annotations.MicroserviceReference;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.providers.cdi.builtin.Configuration;
 import io.silverware.microservices.providers.cdi.builtin.CurrentContext;
 import io.silverware.microservices.providers.cdi.builtin.Storage;
@@ -31,7 +31,6 @@ import io.silverware.microservices.providers.cdi.internal.MicroserviceProxyBean;
 import io.silverware.microservices.providers.cdi.internal.MicroservicesCDIExtension;
 import io.silverware.microservices.providers.cdi.internal.MicroservicesInitEvent;
 import io.silverware.microservices.silver.CdiSilverService;
-import io.silverware.microservices.util.Utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -62,14 +61,16 @@ import javax.interceptor.InvocationContext;
  *         Changes in version resolution in lookupMicroservice
  *         Added non static Weld
  */
-public class CdiMicroserviceProvider implements MicroserviceProvider, CdiSilverService {
+public class CdiMicroserviceProvider implements LifecycleMicroserviceProvider, CdiSilverService {
 
    /**
     * Logger.
     */
    private static final Logger log = LogManager.getLogger(CdiMicroserviceProvider.class);
 
-   private boolean deployed = false;
+   private volatile boolean deployed = false;
+
+   private Weld weld;
 
    /**
     * Microservices context.
@@ -80,6 +81,7 @@ public class CdiMicroserviceProvider implements MicroserviceProvider, CdiSilverS
    @Override
    public void initialize(final Context context) {
       this.context = context;
+      context.announceMilestone(CDI_DEPLOYED);
    }
 
    @Override
@@ -93,16 +95,18 @@ public class CdiMicroserviceProvider implements MicroserviceProvider, CdiSilverS
    }
 
    @Override
-   public void run() {
+   public void start() throws Exception {
       try {
          log.info("Hello from CDI microservice provider!");
          final String weldName = String.valueOf(context.getProperties().get(Context.WELD_NAME));
-         final Weld weld = new Weld(weldName);
+         this.weld = new Weld(weldName);
          final MicroservicesCDIExtension microservicesCDIExtension = new MicroservicesCDIExtension(this.context);
          weld.property("org.jboss.weld.se.archive.isolation", "false");
          weld.addExtension(microservicesCDIExtension);
 
+         final long start = System.nanoTime();
          final WeldContainer container = weld.initialize();
+         this.context.getDeployStats().recordPhase("Weld initialize", start);
          this.context.getProperties().put(BEAN_MANAGER, container.getBeanManager());
          this.context.getProperties().put(CDI_CONTAINER, container);
          this.context.getProperties().put(Storage.STORAGE, new HashMap<String, Object>());
@@ -113,26 +117,28 @@ public class CdiMicroserviceProvider implements MicroserviceProvider, CdiSilverS
 
          log.info("Total count of discovered microservice injection points: " + microservicesCDIExtension.getInjectionPointsCount());
          this.deployed = true;
+         this.context.invalidateMicroserviceResolutions();
+         this.context.reachMilestone(CDI_DEPLOYED, this);
 
          container.event().select(MicroservicesInitEvent.class).fire(new MicroservicesInitEvent(this.context, container.getBeanManager(), container));
          container.event().select(MicroservicesStartedEvent.class).fire(new MicroservicesStartedEvent(this.context, container.getBeanManager(), container));
+      } catch (final Exception e) {
+         this.context.failMilestone(CDI_DEPLOYED, e);
+         stop();
+         throw e;
+      }
+   }
 
-         try {
-            while (!Thread.currentThread().isInterrupted()) {
-               Thread.sleep(1000);
-            }
-         } catch (final InterruptedException ie) {
-            Utils.shutdownLog(log, ie);
-         } finally {
-            this.deployed = false;
-            try {
-               weld.shutdown();
-            } catch (final IllegalStateException e) {
-               // nothing, this is just fine, weld was already terminated
-            }
+   @Override
+   public void stop() {
+      this.deployed = false;
+      this.context.invalidateMicroserviceResolutions();
+      try {
+         if (this.weld != null) {
+            this.weld.shutdown();
          }
-      } catch (final Exception e) {
-         log.error("CDI microservice provider failed: ", e);
+      } catch (final IllegalStateException e) {
+         // nothing, this is just fine, weld was already terminated
       }
    }
 
@@ -24,21 +24,34 @@ import static io.silverware.microservices.providers.cdi.util.AnnotationUtil.matc
 import io.silverware.microservices.MicroserviceMetaData;
 import io.silverware.microservices.annotations.MicroserviceReference;
 import io.silverware.microservices.providers.cdi.util.VersionResolver;
+import io.silverware.microservices.silver.cluster.ServiceHandle;
+import io.silverware.microservices.silver.services.LoadAwareLookupStrategy;
 import io.silverware.microservices.silver.services.LookupStrategy;
 import io.silverware.microservices.silver.services.LookupStrategyFactory;
+import io.silverware.microservices.util.Utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import javax.annotation.Priority;
 import javax.enterprise.inject.spi.InjectionPoint;
 
+import javassist.util.proxy.Proxy;
+import javassist.util.proxy.ProxyFactory;
+
 /**
  * Default microservice method handler which is invoked as the last one and makes an actual call on the service instance.
+ * The handler does not lock, lookup strategies that are not thread-safe are instantiated once per calling thread.
+ * Methods returning {@link CompletableFuture} or {@link CompletionStage} of local services are invoked on the asynchronous
+ * executor of the context, remote services are invoked directly as they do not block.
  */
 @Priority(Integer.MAX_VALUE)
 public class DefaultMethodHandler extends MicroserviceMethodHandler {
@@ -48,8 +61,16 @@ public class DefaultMethodHandler extends MicroserviceMethodHandler {
    private final MicroserviceProxyBean proxyBean;
    private final InjectionPoint injectionPoint;
 
+   /**
+    * The lookup strategy shared by all callers when it is thread-safe, otherwise the instance created for the constructing thread.
+    */
    private final LookupStrategy lookupStrategy;
 
+   /**
+    * Lookup strategies of the individual calling threads, null when the strategy is thread-safe.
+    */
+   private final ThreadLocal<LookupStrategy> threadLookupStrategies;
+
    protected DefaultMethodHandler(final MicroserviceProxyBean proxyBean, final InjectionPoint injectionPoint) throws Exception {
       this.proxyBean = proxyBean;
       this.injectionPoint = injectionPoint;
@@ -58,11 +79,23 @@ public class DefaultMethodHandler extends MicroserviceMethodHandler {
                                                   .collect(Collectors.toSet());
       final MicroserviceMetaData metaData = VersionResolver.getInstance()
                                                            .createMicroserviceMetadataForInjectionPoint(proxyBean.getMicroserviceName(), proxyBean.getServiceInterface(), qualifiers, injectionPoint.getAnnotated().getAnnotations());
-      this.lookupStrategy = LookupStrategyFactory.getStrategy(proxyBean.getContext(), metaData, injectionPoint.getAnnotated().getAnnotations());
+      final Set<Annotation> options = injectionPoint.getAnnotated().getAnnotations();
+      this.lookupStrategy = LookupStrategyFactory.getStrategy(proxyBean.getContext(), metaData, options);
+
+      if (lookupStrategy.isThreadSafe()) {
+         this.threadLookupStrategies = null;
+      } else {
+         this.threadLookupStrategies = ThreadLocal.withInitial(() -> LookupStrategyFactory.getStrategy(proxyBean.getContext(), metaData, options));
+         this.threadLookupStrategies.set(lookupStrategy);
+      }
    }
 
-   private synchronized Object getService() {
-      final Object service = lookupStrategy.getService();
+   private LookupStrategy getLookupStrategy() {
+      return threadLookupStrategies == null ? lookupStrategy : threadLookupStrategies.get();
+   }
+
+   private Object getService(final LookupStrategy strategy, final Method method, final Object... args) {
+      final Object service = strategy.getService(method, args);
 
       log.debug("Proxy {} matched with service implementation {}.", this, service);
 
@@ -88,10 +121,84 @@ public class DefaultMethodHandler extends MicroserviceMethodHandler {
 
       log.debug("Invocation of {}", method);
 
-      Object service = getService();
+      final LookupStrategy strategy = getLookupStrategy();
+      final Object service = getService(strategy, method, args);
+
+      if (Utils.isAsynchronous(method.getReturnType())) {
+         return invokeAsynchronously(strategy, service, method, args);
+      }
+
+      if (strategy instanceof LoadAwareLookupStrategy) {
+         return invokeAndReport((LoadAwareLookupStrategy) strategy, service, method, args);
+      }
+
       return method.invoke(service, args);
    }
 
+   /**
+    * Invokes the method on the service and reports the duration and the outcome of the invocation to the lookup strategy.
+    */
+   private Object invokeAndReport(final LoadAwareLookupStrategy strategy, final Object service, final Method method, final Object... args) throws Exception {
+      final long start = System.nanoTime();
+      boolean failed = true;
+
+      try {
+         final Object result = method.invoke(service, args);
+         failed = false;
+         return result;
+      } finally {
+         strategy.invocationCompleted(service, System.nanoTime() - start, failed);
+      }
+   }
+
+   /**
+    * Invokes the method and completes with the result of the stage returned by the service.
+    * Local services are invoked on the asynchronous executor. Remote services return their stages right away and complete
+    * them from the response callback of the transport, so they are invoked from the calling thread.
+    * The completion is reported from the thread completing the stage, so only thread-safe strategies get it; the other
+    * strategies are confined to the calling thread.
+    */
+   @SuppressWarnings("unchecked")
+   private CompletableFuture<Object> invokeAsynchronously(final LookupStrategy strategy, final Object service, final Method method, final Object... args) {
+      final long start = System.nanoTime();
+      final CompletableFuture<Object> stage;
+      if (isRemote(service)) {
+         stage = new CompletableFuture<>();
+         try {
+            stage.complete(invokeService(service, method, args));
+         } catch (CompletionException e) {
+            stage.completeExceptionally(e.getCause());
+         }
+      } else {
+         stage = CompletableFuture.supplyAsync(() -> invokeService(service, method, args), proxyBean.getContext().getAsyncExecutor());
+      }
+      final CompletableFuture<Object> result = stage
+            .thenCompose(value -> value != null ? (CompletionStage<Object>) value : CompletableFuture.completedFuture(null));
+
+      if (strategy instanceof LoadAwareLookupStrategy && strategy.isThreadSafe()) {
+         result.whenComplete((value, error) -> ((LoadAwareLookupStrategy) strategy).invocationCompleted(service, System.nanoTime() - start, error != null));
+      }
+
+      return result;
+   }
+
+   /**
+    * Remote services are proxies whose handler is the service handle of the remote node.
+    */
+   private static boolean isRemote(final Object service) {
+      return service instanceof Proxy && ProxyFactory.getHandler((Proxy) service) instanceof ServiceHandle;
+   }
+
+   private static Object invokeService(final Object service, final Method method, final Object... args) {
+      try {
+         return method.invoke(service, args);
+      } catch (InvocationTargetException e) {
+         throw new CompletionException(e.getCause());
+      } catch (IllegalAccessException e) {
+         throw new CompletionException(e);
+      }
+   }
+
    @Override
    public MicroserviceProxyBean getProxyBean() {
       return proxyBean;
@@ -91,7 +91,7 @@ public final class VersionResolver {
       Set<Annotation> annotationSet = Arrays.stream(annotations).collect(Collectors.toSet());
       String apiVersion = resolveApiVersion(type, annotationSet);
       String implVersion = resolveImplementationVersion(type, annotationSet);
-      return new MicroserviceMetaData(name, type, qualifiers, annotationSet, apiVersion, implVersion);
+      return new MicroserviceMetaData(name, type, qualifiers, annotationSet, apiVersion, implVersion).intern();
 
    }
 
@@ -110,7 +110,7 @@ public final class VersionResolver {
    public MicroserviceMetaData createMicroserviceMetadataForInjectionPoint(final String name, final Class type, final Set<Annotation> qualifiers, final Set<Annotation> annotations) {
       String apiVersion = resolveVersionFromAnnotations(annotations.stream(), MicroserviceVersion::api);
       String implVersion = resolveVersionFromAnnotations(annotations.stream(), MicroserviceVersion::implementation);
-      return new MicroserviceMetaData(name, type, qualifiers, annotations, apiVersion, implVersion);
+      return new MicroserviceMetaData(name, type, qualifiers, annotations, apiVersion, implVersion).intern();
 
    }
 
@@ -0,0 +1,93 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers.cdi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.silverware.microservices.annotations.Microservice;
+import io.silverware.microservices.annotations.MicroserviceReference;
+import io.silverware.microservices.util.BootUtil;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class CdiMicroserviceProviderAsyncTest {
+
+   private static final Semaphore semaphore = new Semaphore(0);
+
+   private static volatile CompletionStage<String> greeting;
+
+   private static volatile Thread callingThread;
+
+   private static volatile Thread greetingThread;
+
+   @Test
+   public void testAsynchronousInvocation() throws Exception {
+      final BootUtil bootUtil = new BootUtil();
+      final Thread platform = bootUtil.getMicroservicePlatform(this.getClass().getPackage().getName());
+      platform.start();
+
+      CdiMicroserviceProviderTestUtil.waitForBeanManager(bootUtil);
+
+      assertThat(semaphore.tryAcquire(1, TimeUnit.MINUTES)).as("Timed-out while waiting for platform startup.").isTrue();
+      assertThat(greeting.toCompletableFuture().get(1, TimeUnit.MINUTES)).isEqualTo("Hello async");
+      assertThat(greetingThread).isNotNull().isNotSameAs(callingThread);
+
+      platform.interrupt();
+      platform.join();
+   }
+
+   public interface AsyncGreeter {
+      CompletionStage<String> greet(String name);
+   }
+
+   @Microservice
+   public static class AsyncGreeterMicroservice implements AsyncGreeter {
+
+      @Override
+      public CompletionStage<String> greet(final String name) {
+         greetingThread = Thread.currentThread();
+         return CompletableFuture.completedFuture("Hello " + name);
+      }
+   }
+
+   @Microservice
+   public static class AsyncGreeterClient {
+
+      @Inject
+      @MicroserviceReference
+      private AsyncGreeter asyncGreeter;
+
+      public void eventObserver(@Observes MicroservicesStartedEvent event) {
+         callingThread = Thread.currentThread();
+         greeting = asyncGreeter.greet("async");
+         semaphore.release();
+      }
+   }
+}
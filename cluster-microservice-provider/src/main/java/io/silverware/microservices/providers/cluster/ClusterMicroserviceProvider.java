@@ -25,7 +25,7 @@ import static java.util.Collections.emptySet;
 
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.providers.cluster.internal.JgroupsMessageReceiver;
 import io.silverware.microservices.providers.cluster.internal.JgroupsMessageSender;
 import io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException;
@@ -51,7 +51,10 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -61,7 +64,7 @@ import java.util.stream.Collectors;
  * @author Slavomir Krupa (slavomir.krupa@gmail.com)
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
-public class ClusterMicroserviceProvider implements MicroserviceProvider, ClusterSilverService {
+public class ClusterMicroserviceProvider implements LifecycleMicroserviceProvider, ClusterSilverService {
 
    private static final Logger log = LogManager.getLogger(ClusterMicroserviceProvider.class);
 
@@ -73,6 +76,7 @@ public class ClusterMicroserviceProvider implements MicroserviceProvider, Cluste
    private MessageDispatcher messageDispatcher;
    private Long timeout = 500L;
    private JChannel channel;
+   private ExecutorService invocationExecutor;
 
    @Override
    public void initialize(final Context context) {
@@ -81,6 +85,9 @@ public class ClusterMicroserviceProvider implements MicroserviceProvider, Cluste
       context.getProperties().putIfAbsent(CLUSTER_GROUP, "SilverWare");
       context.getProperties().putIfAbsent(CLUSTER_CONFIGURATION, "udp.xml");
       context.getProperties().putIfAbsent(CLUSTER_LOOKUP_TIMEOUT, timeout);
+      context.getProperties().putIfAbsent(CLUSTER_MAX_OUTSTANDING_REQUESTS, JgroupsMessageSender.DEFAULT_MAX_OUTSTANDING_REQUESTS);
+      context.getProperties().putIfAbsent(CLUSTER_INVOCATION_THREADS, JgroupsMessageReceiver.DEFAULT_INVOCATION_THREADS);
+      context.getProperties().putIfAbsent(CLUSTER_INVOCATION_QUEUE_SIZE, JgroupsMessageReceiver.DEFAULT_INVOCATION_QUEUE_SIZE);
    }
 
    @Override
@@ -89,48 +96,86 @@ public class ClusterMicroserviceProvider implements MicroserviceProvider, Cluste
    }
 
    @Override
-   public void run() {
+   public void start() {
       try {
          final Stopwatch stopwatch = Stopwatch.createStarted();
 
          // get jgroups configuration
          final String clusterGroup = (String) this.context.getProperties().get(CLUSTER_GROUP);
          final String clusterConfiguration = (String) this.context.getProperties().get(CLUSTER_CONFIGURATION);
-         this.timeout = Long.valueOf(this.context.getProperties().get(CLUSTER_LOOKUP_TIMEOUT).toString());
+         this.timeout = this.context.getConfiguration().getLong(CLUSTER_LOOKUP_TIMEOUT, timeout);
          log.info("Hello from Cluster microservice provider!");
          log.info("Loading cluster configuration from: {} ", clusterConfiguration);
          channel = new JChannel(clusterConfiguration);
-         JgroupsMessageReceiver receiver = new JgroupsMessageReceiver(KnownImplementation.initializeReponders(context), remoteServiceHandlesStore);
+         // requests are processed outside of the JGroups threads so that the pipelined requests from a single node do not wait for each other,
+         // the pool is bounded and the requests it cannot accept are rejected with an error
+         final int invocationThreads = this.context.getConfiguration().getInt(CLUSTER_INVOCATION_THREADS, JgroupsMessageReceiver.DEFAULT_INVOCATION_THREADS);
+         final int invocationQueueSize = this.context.getConfiguration().getInt(CLUSTER_INVOCATION_QUEUE_SIZE, JgroupsMessageReceiver.DEFAULT_INVOCATION_QUEUE_SIZE);
+         final ThreadPoolExecutor invocationPool = new ThreadPoolExecutor(invocationThreads, invocationThreads, 60, TimeUnit.SECONDS,
+               new ArrayBlockingQueue<>(invocationQueueSize), runnable -> {
+                  final Thread thread = new Thread(runnable, "silverware-cluster-invocation");
+                  thread.setDaemon(true);
+                  return thread;
+               });
+         invocationPool.allowCoreThreadTimeOut(true);
+         this.invocationExecutor = invocationPool;
+         JgroupsMessageReceiver receiver = new JgroupsMessageReceiver(KnownImplementation.initializeReponders(context), remoteServiceHandlesStore,
+               context.getInvocationGate(), invocationExecutor);
          this.messageDispatcher = new MessageDispatcher(channel, receiver, receiver, receiver);
-         this.sender = new JgroupsMessageSender(this.messageDispatcher);
+         this.messageDispatcher.asyncDispatching(true);
+         this.sender = new JgroupsMessageSender(this.messageDispatcher,
+               this.context.getConfiguration().getInt(CLUSTER_MAX_OUTSTANDING_REQUESTS, JgroupsMessageSender.DEFAULT_MAX_OUTSTANDING_REQUESTS));
+         receiver.setSender(this.sender);
          channel.setDiscardOwnMessages(true);
          log.info("Setting cluster group: {} ", clusterGroup);
          Utils.waitForCDIProvider(context);
+         final long start = System.nanoTime();
          channel.connect(clusterGroup);
+         this.context.getDeployStats().recordPhase("JGroups connect", start);
          receiver.setMyAddress(channel.getAddress());
          stopwatch.stop();
          log.info("Initialization of ClusterMicroserviceProvider took {} ms. ", stopwatch.elapsed(TimeUnit.MILLISECONDS));
       } catch (Exception e) {
          log.error("Cluster microservice initialization failed.", e);
+         try {
+            release();
+         } catch (RuntimeException releaseError) {
+            e.addSuppressed(releaseError);
+         }
          throw new SilverWareClusteringException(INITIALIZATION_ERROR, e);
       }
+   }
 
-      try {
-         while (!Thread.currentThread().isInterrupted()) {
-            Thread.sleep(2000);
+   @Override
+   public void stop() {
+      log.info("Bye from Cluster microservice provider!");
+      release();
+   }
 
+   /**
+    * Releases the resources acquired by {@link #start()}, the ones that were not acquired yet are skipped.
+    */
+   private void release() {
+      try {
+         if (this.sender != null) {
+            this.sender.close();
          }
-      } catch (final Exception e) {
-         // expected end of platform
-      } finally {
-         log.info("Bye from Cluster microservice provider!");
-         try {
+         if (this.messageDispatcher != null) {
             this.messageDispatcher.close();
+         }
+      } catch (IOException e) {
+         throw new SilverWareClusteringException(JGROUPS_ERROR, "Unexpected error while closing MessageDispatcher", e);
+      } finally {
+         if (this.channel != null) {
             this.channel.close();
-
-         } catch (IOException e) {
-            throw new SilverWareClusteringException(JGROUPS_ERROR, "Unexpected error while closing MessageDispatcher", e);
          }
+         if (this.invocationExecutor != null) {
+            this.invocationExecutor.shutdown();
+         }
+         this.sender = null;
+         this.messageDispatcher = null;
+         this.channel = null;
+         this.invocationExecutor = null;
       }
    }
 
@@ -151,7 +196,7 @@ public class ClusterMicroserviceProvider implements MicroserviceProvider, Cluste
 
                      Set<ServiceHandle> remoteServiceHandles = result.stream()
                                                                      .filter(rsp -> rsp.wasReceived() && !rsp.hasException() && rsp.getValue().getResult().canBeUsed())
-                                                                     .map((rsp) -> new RemoteServiceHandle(rsp.getSender(), rsp.getValue().getHandle(), sender, metaData))
+                                                                     .map((rsp) -> new RemoteServiceHandle(rsp.getSender(), rsp.getValue().getHandle(), rsp.getValue().getDispatchFingerprint(), rsp.getValue().getCodecs(), sender, metaData))
                                                                      .collect(Collectors.toSet());
                      // this is to save jgroups traffic for a given metadata
                      addressesForMetadata.addAll(responseRspList.values().stream().map(Rsp::getSender).collect(Collectors.toSet()));
@@ -24,12 +24,16 @@ import static io.silverware.microservices.providers.cluster.internal.exception.S
 
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.providers.cluster.codec.MessageCodec;
+import io.silverware.microservices.providers.cluster.codec.MessageCodecs;
 import io.silverware.microservices.providers.cluster.internal.JgroupsMessageSender;
 import io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException;
 import io.silverware.microservices.providers.cluster.internal.message.request.MicroserviceRemoteCallRequest;
 import io.silverware.microservices.providers.cluster.internal.message.response.MicroserviceRemoteCallResponse;
 import io.silverware.microservices.silver.cluster.Invocation;
+import io.silverware.microservices.silver.cluster.MethodDispatchTable;
 import io.silverware.microservices.silver.cluster.ServiceHandle;
+import io.silverware.microservices.util.Utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,6 +41,7 @@ import org.jgroups.Address;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.ProxyFactory;
@@ -55,12 +60,44 @@ public class RemoteServiceHandle implements ServiceHandle, MethodHandler {
    private final JgroupsMessageSender sender;
    private final Object proxy;
    private final Class type;
+   private final transient MethodDispatchTable dispatchTable;
+   private final transient MessageCodec codec;
 
    public RemoteServiceHandle(Address address, int handle, JgroupsMessageSender sender, MicroserviceMetaData metaData) {
+      this(address, handle, null, sender, metaData);
+   }
+
+   /**
+    * Creates a handle that invokes the methods by their index when the remote dispatch table matches the local one.
+    *
+    * @param address             - address of the node with the service
+    * @param handle              - number of the handle on the remote node
+    * @param dispatchFingerprint - fingerprint of the method dispatch table on the remote node, null if unknown
+    * @param sender              - sender of the messages
+    * @param metaData            - metadata of the service
+    */
+   public RemoteServiceHandle(Address address, int handle, Integer dispatchFingerprint, JgroupsMessageSender sender, MicroserviceMetaData metaData) {
+      this(address, handle, dispatchFingerprint, null, sender, metaData);
+   }
+
+   /**
+    * Creates a handle that encodes the invocations by a codec supported by the remote node.
+    *
+    * @param address             - address of the node with the service
+    * @param handle              - number of the handle on the remote node
+    * @param dispatchFingerprint - fingerprint of the method dispatch table on the remote node, null if unknown
+    * @param codecs              - message codecs supported by the remote node, null if the node sends only serialized messages
+    * @param sender              - sender of the messages
+    * @param metaData            - metadata of the service
+    */
+   public RemoteServiceHandle(Address address, int handle, Integer dispatchFingerprint, byte[] codecs, JgroupsMessageSender sender, MicroserviceMetaData metaData) {
       this.address = address;
       this.handle = handle;
       this.sender = sender;
+      this.codec = MessageCodecs.getInstance().negotiate(codecs);
       this.type = metaData.getType();
+      final MethodDispatchTable localTable = MethodDispatchTable.forType(metaData.getType());
+      this.dispatchTable = dispatchFingerprint != null && dispatchFingerprint == localTable.getFingerprint() ? localTable : null;
       ProxyFactory factory = new ProxyFactory();
       Class type = metaData.getType();
       if (type.isInterface()) {
@@ -103,22 +140,55 @@ public class RemoteServiceHandle implements ServiceHandle, MethodHandler {
       } else if ("getClass".equals(method) && paramCount == 0) {
          return type;
       }
-      Invocation invocation = new Invocation(handle, method, paramTypes, params);
-      try {
-         MicroserviceRemoteCallResponse response = sender.sendToAddressSync(address, new MicroserviceRemoteCallRequest(invocation));
-         return response.getMessageCallResult();
-      } catch (SilverWareClusteringException e) {
-         log.error(e);
-         if (e.getReason() == INVOCATION_EXCEPTION) {
-            throw (Exception) e.getCause();
+      return invokeRemotely(createInvocation(method, paramTypes, params));
+   }
+
+   private Invocation createInvocation(String method, Class[] paramTypes, Object[] params) {
+      if (dispatchTable != null) {
+         final int methodIndex = dispatchTable.indexOf(method, paramTypes);
+         if (methodIndex != MethodDispatchTable.UNKNOWN_METHOD) {
+            return new Invocation(handle, methodIndex, dispatchTable.getFingerprint(), params);
          }
-         throw e;
       }
+      return new Invocation(handle, method, paramTypes, params);
+   }
+
+   /**
+    * Synchronous invocations share the request pipeline with the asynchronous ones.
+    */
+   private Object invokeRemotely(final Invocation invocation) throws Exception {
+      return Utils.awaitResult(invokeRemotelyAsync(invocation));
+   }
+
+   /**
+    * Sends the invocation without waiting for the response, the result is completed from the response callback.
+    */
+   private CompletableFuture<Object> invokeRemotelyAsync(final Invocation invocation) throws Exception {
+      final CompletableFuture<Object> result = new CompletableFuture<>();
+      sender.<MicroserviceRemoteCallResponse>sendToAddressPipelined(address, new MicroserviceRemoteCallRequest(invocation), codec).whenComplete((response, error) -> {
+         if (error == null) {
+            result.complete(response.getMessageCallResult());
+         } else {
+            result.completeExceptionally(error instanceof SilverWareClusteringException ? unwrap((SilverWareClusteringException) error) : error);
+         }
+      });
+      return result;
+   }
+
+   private Exception unwrap(final SilverWareClusteringException e) {
+      log.error(e);
+      if (e.getReason() == INVOCATION_EXCEPTION) {
+         return (Exception) e.getCause();
+      }
+      return e;
    }
 
 
    @Override
    public Object invoke(Object self, Method method, Method proceed, Object[] args) throws Throwable {
+      if (Utils.isAsynchronous(method.getReturnType())) {
+         return invokeRemotelyAsync(createInvocation(method.getName(), method.getParameterTypes(), args));
+      }
       return invoke(null, method.getName(), method.getParameterTypes(), args);
    }
 
@@ -0,0 +1,424 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers.cluster.codec;
+
+import io.silverware.microservices.providers.cluster.internal.message.request.MicroserviceRemoteCallRequest;
+import io.silverware.microservices.providers.cluster.internal.message.response.MicroserviceRemoteCallResponse;
+import io.silverware.microservices.silver.cluster.Invocation;
+import io.silverware.microservices.silver.cluster.MethodDispatchTable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact encoding of the remote invocations and their results.
+ *
+ * Compared to Java serialization, there are no class descriptors in the messages. The invocation is written field by field,
+ * integers are written in variable length, the parameter types are written as indices to a table of well known types,
+ * and the methods are addressed by their index in the {@link MethodDispatchTable} whenever possible.
+ * The common parameter and result values (primitive wrappers, strings, byte arrays, object arrays, array lists and hash maps)
+ * are written by the codec itself, any other value is written using Java serialization.
+ * Values containing the same mutable object more than once (shared references or cycles), or nested deeper than
+ * {@link #MAX_DEPTH}, are written using Java serialization as a whole, so that the references are kept and
+ * the recursion of the codec stays bounded.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class BinaryCodec implements MessageCodec {
+
+   /**
+    * Identification of this codec.
+    */
+   public static final byte ID = 1;
+
+   private static final byte REQUEST = 1;
+   private static final byte RESPONSE = 2;
+
+   private static final byte NULL = 0;
+   private static final byte TRUE = 1;
+   private static final byte FALSE = 2;
+   private static final byte INT = 3;
+   private static final byte LONG = 4;
+   private static final byte DOUBLE = 5;
+   private static final byte FLOAT = 6;
+   private static final byte STRING = 7;
+   private static final byte BYTES = 8;
+   private static final byte SHORT = 9;
+   private static final byte BYTE = 10;
+   private static final byte CHAR = 11;
+   private static final byte ARRAY = 12;
+   private static final byte LIST = 13;
+   private static final byte MAP = 14;
+   private static final byte SERIALIZED = 15;
+
+   /**
+    * Maximum nesting of the arrays, lists and maps written by the codec itself.
+    */
+   static final int MAX_DEPTH = 32;
+
+   /**
+    * Types that are written as their index in this table. New types can be only appended to keep the nodes compatible.
+    */
+   private static final Class<?>[] TYPES = {
+         boolean.class, byte.class, short.class, char.class, int.class, long.class, float.class, double.class,
+         Boolean.class, Byte.class, Short.class, Character.class, Integer.class, Long.class, Float.class, Double.class,
+         String.class, Object.class, byte[].class, int[].class, long[].class, Object[].class, String[].class,
+         Collection.class, List.class, Set.class, Map.class, Optional.class, UUID.class, BigDecimal.class, BigInteger.class, Date.class
+   };
+
+   private static final Map<Class<?>, Integer> TYPE_IDS = new IdentityHashMap<>();
+
+   static {
+      for (int i = 0; i < TYPES.length; i++) {
+         TYPE_IDS.put(TYPES[i], i);
+      }
+   }
+
+   @Override
+   public byte getId() {
+      return ID;
+   }
+
+   @Override
+   public boolean canEncode(final Object content) {
+      return content instanceof MicroserviceRemoteCallRequest || content instanceof MicroserviceRemoteCallResponse;
+   }
+
+   @Override
+   public void encode(final Object content, final CodecOutput output) throws IOException {
+      if (content instanceof MicroserviceRemoteCallRequest) {
+         output.write(REQUEST);
+         writeInvocation(((MicroserviceRemoteCallRequest) content).getInvocation(), output);
+      } else if (content instanceof MicroserviceRemoteCallResponse) {
+         output.write(RESPONSE);
+         writeRoot(((MicroserviceRemoteCallResponse) content).getMessageCallResult(), output);
+      } else {
+         throw new IOException("Unsupported message type " + (content == null ? null : content.getClass().getName()));
+      }
+   }
+
+   @Override
+   public Object decode(final CodecInput input) throws IOException {
+      final byte type = input.readByte();
+      switch (type) {
+         case REQUEST:
+            return new MicroserviceRemoteCallRequest(readInvocation(input));
+         case RESPONSE:
+            return new MicroserviceRemoteCallResponse(readValue(input, 0));
+         default:
+            throw new StreamCorruptedException("Unknown message type " + type);
+      }
+   }
+
+   private static void writeInvocation(final Invocation invocation, final CodecOutput output) throws IOException {
+      output.writeVarInt(invocation.getHandle());
+      // method index is shifted by one so that the unknown method is written as zero
+      output.writeVarInt(invocation.getMethodIndex() + 1);
+      if (invocation.getMethodIndex() != MethodDispatchTable.UNKNOWN_METHOD) {
+         output.writeFixedInt(invocation.getDispatchFingerprint());
+      } else {
+         output.writeString(invocation.getMethod());
+         final Class[] paramTypes = invocation.getParamTypes();
+         output.writeVarInt(paramTypes.length);
+         for (final Class paramType : paramTypes) {
+            writeType(paramType, output);
+         }
+      }
+      writeRoot(invocation.getParams(), output);
+   }
+
+   private static Invocation readInvocation(final CodecInput input) throws IOException {
+      final int handle = input.readVarInt();
+      final int methodIndex = input.readVarInt() - 1;
+      if (methodIndex != MethodDispatchTable.UNKNOWN_METHOD) {
+         final int dispatchFingerprint = input.readFixedInt();
+         return new Invocation(handle, methodIndex, dispatchFingerprint, (Object[]) readValue(input, 0));
+      }
+
+      final String method = input.readString();
+      final Class[] paramTypes = new Class[input.readVarInt()];
+      for (int i = 0; i < paramTypes.length; i++) {
+         paramTypes[i] = readType(input);
+      }
+      return new Invocation(handle, method, paramTypes, (Object[]) readValue(input, 0));
+   }
+
+   private static void writeType(final Class<?> type, final CodecOutput output) {
+      final Integer id = TYPE_IDS.get(type);
+      if (id != null) {
+         output.writeVarInt(id + 1);
+      } else {
+         output.writeVarInt(0);
+         output.writeString(type.getName());
+      }
+   }
+
+   private static Class<?> readType(final CodecInput input) throws IOException {
+      final int id = input.readVarInt();
+      if (id > TYPES.length) {
+         throw new StreamCorruptedException("Unknown type " + id);
+      }
+      if (id > 0) {
+         return TYPES[id - 1];
+      }
+
+      final String name = input.readString();
+      try {
+         return Class.forName(name, false, getClassLoader());
+      } catch (ClassNotFoundException e) {
+         throw new IOException("Unknown parameter type " + name, e);
+      }
+   }
+
+   /**
+    * Writes a complete value, using Java serialization when the value is not a tree of at most {@link #MAX_DEPTH} levels.
+    */
+   private static void writeRoot(final Object value, final CodecOutput output) throws IOException {
+      if (value == null || isScalar(value.getClass()) || isTree(value, Collections.newSetFromMap(new IdentityHashMap<>()), 0)) {
+         writeValue(value, output);
+      } else {
+         writeSerialized(value, output);
+      }
+   }
+
+   /**
+    * Checks that no mutable object is reachable twice from the value and that the value is not nested too deep.
+    */
+   private static boolean isTree(final Object value, final Set<Object> visited, final int depth) {
+      if (value == null || isScalar(value.getClass())) {
+         return true;
+      }
+      if (!visited.add(value)) {
+         return false;
+      }
+
+      final Class<?> type = value.getClass();
+      if (type == Object[].class || type == ArrayList.class || type == HashMap.class) {
+         if (depth >= MAX_DEPTH) {
+            return false;
+         }
+
+         if (type == HashMap.class) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+               if (!isTree(entry.getKey(), visited, depth + 1) || !isTree(entry.getValue(), visited, depth + 1)) {
+                  return false;
+               }
+            }
+         } else {
+            for (final Object item : type == Object[].class ? Arrays.asList((Object[]) value) : (List<?>) value) {
+               if (!isTree(item, visited, depth + 1)) {
+                  return false;
+               }
+            }
+         }
+      }
+
+      return true;
+   }
+
+   /**
+    * Immutable values that are written by the codec itself, they can be safely repeated in a message.
+    */
+   private static boolean isScalar(final Class<?> type) {
+      return type == Integer.class || type == Long.class || type == String.class || type == Boolean.class || type == Double.class
+            || type == Float.class || type == Short.class || type == Byte.class || type == Character.class;
+   }
+
+   private static void writeValue(final Object value, final CodecOutput output) throws IOException {
+      if (value == null) {
+         output.write(NULL);
+         return;
+      }
+
+      final Class<?> type = value.getClass();
+      if (type == Integer.class) {
+         output.write(INT);
+         output.writeZigZagInt((Integer) value);
+      } else if (type == Long.class) {
+         output.write(LONG);
+         output.writeZigZagLong((Long) value);
+      } else if (type == String.class) {
+         output.write(STRING);
+         output.writeString((String) value);
+      } else if (type == Boolean.class) {
+         output.write((Boolean) value ? TRUE : FALSE);
+      } else if (type == Double.class) {
+         output.write(DOUBLE);
+         output.writeFixedLong(Double.doubleToRawLongBits((Double) value));
+      } else if (type == Float.class) {
+         output.write(FLOAT);
+         output.writeFixedInt(Float.floatToRawIntBits((Float) value));
+      } else if (type == Short.class) {
+         output.write(SHORT);
+         output.writeZigZagInt((Short) value);
+      } else if (type == Byte.class) {
+         output.write(BYTE);
+         output.write((Byte) value);
+      } else if (type == Character.class) {
+         output.write(CHAR);
+         output.writeVarInt((Character) value);
+      } else if (type == byte[].class) {
+         final byte[] bytes = (byte[]) value;
+         output.write(BYTES);
+         output.writeVarInt(bytes.length);
+         output.write(bytes, 0, bytes.length);
+      } else if (type == Object[].class) {
+         final Object[] array = (Object[]) value;
+         output.write(ARRAY);
+         output.writeVarInt(array.length);
+         for (final Object item : array) {
+            writeValue(item, output);
+         }
+      } else if (type == ArrayList.class) {
+         final List<?> list = (List<?>) value;
+         output.write(LIST);
+         output.writeVarInt(list.size());
+         for (final Object item : list) {
+            writeValue(item, output);
+         }
+      } else if (type == HashMap.class) {
+         final Map<?, ?> map = (Map<?, ?>) value;
+         output.write(MAP);
+         output.writeVarInt(map.size());
+         for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            writeValue(entry.getKey(), output);
+            writeValue(entry.getValue(), output);
+         }
+      } else {
+         writeSerialized(value, output);
+      }
+   }
+
+   private static Object readValue(final CodecInput input, final int depth) throws IOException {
+      final byte tag = input.readByte();
+      if (depth >= MAX_DEPTH && (tag == ARRAY || tag == LIST || tag == MAP)) {
+         throw new StreamCorruptedException("Values nested too deep.");
+      }
+
+      switch (tag) {
+         case NULL:
+            return null;
+         case TRUE:
+            return Boolean.TRUE;
+         case FALSE:
+            return Boolean.FALSE;
+         case INT:
+            return input.readZigZagInt();
+         case LONG:
+            return input.readZigZagLong();
+         case DOUBLE:
+            return Double.longBitsToDouble(input.readFixedLong());
+         case FLOAT:
+            return Float.intBitsToFloat(input.readFixedInt());
+         case STRING:
+            return input.readString();
+         case BYTES:
+            return input.readBytes(input.readVarInt());
+         case SHORT:
+            return (short) input.readZigZagInt();
+         case BYTE:
+            return input.readByte();
+         case CHAR:
+            return (char) input.readVarInt();
+         case ARRAY:
+            final Object[] array = new Object[readSize(input)];
+            for (int i = 0; i < array.length; i++) {
+               array[i] = readValue(input, depth + 1);
+            }
+            return array;
+         case LIST:
+            final int listSize = readSize(input);
+            final List<Object> list = new ArrayList<>(listSize);
+            for (int i = 0; i < listSize; i++) {
+               list.add(readValue(input, depth + 1));
+            }
+            return list;
+         case MAP:
+            final int mapSize = readSize(input);
+            final Map<Object, Object> map = new HashMap<>(mapSize * 4 / 3 + 1);
+            for (int i = 0; i < mapSize; i++) {
+               map.put(readValue(input, depth + 1), readValue(input, depth + 1));
+            }
+            return map;
+         case SERIALIZED:
+            return readSerialized(input);
+         default:
+            throw new StreamCorruptedException("Unknown value type " + tag);
+      }
+   }
+
+   /**
+    * Reads the number of items of a collection and checks that it is not larger than the rest of the input
+    * so that a corrupted message cannot make us allocate a huge collection.
+    */
+   private static int readSize(final CodecInput input) throws IOException {
+      final int size = input.readVarInt();
+      if (size < 0 || size > input.available()) {
+         throw new StreamCorruptedException("Invalid collection size " + size);
+      }
+      return size;
+   }
+
+   /**
+    * Writes the value using Java serialization. The length of the serialized value precedes it because
+    * {@link ObjectInputStream} reads ahead of the value.
+    */
+   private static void writeSerialized(final Object value, final CodecOutput output) throws IOException {
+      output.write(SERIALIZED);
+      final int lengthPosition = output.position();
+      output.writeFixedInt(0);
+
+      final ObjectOutputStream stream = new ObjectOutputStream(output);
+      stream.writeObject(value);
+      stream.flush();
+
+      output.setFixedInt(lengthPosition, output.position() - lengthPosition - 4);
+   }
+
+   private static Object readSerialized(final CodecInput input) throws IOException {
+      final CodecInput value = input.slice(input.readFixedInt());
+      try {
+         return new ObjectInputStream(value).readObject();
+      } catch (ClassNotFoundException e) {
+         throw new IOException("Unknown class of the decoded value.", e);
+      }
+   }
+
+   private static ClassLoader getClassLoader() {
+      final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+      return loader != null ? loader : BinaryCodec.class.getClassLoader();
+   }
+}
@@ -0,0 +1,240 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers.cluster.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the bytes written by {@link CodecOutput}. Unlike {@link java.io.ByteArrayInputStream} it is not synchronized.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public final class CodecInput extends InputStream {
+
+   private final byte[] buffer;
+
+   private int position;
+
+   private final int limit;
+
+   /**
+    * Creates an input reading a part of the given array.
+    *
+    * @param buffer
+    *       The array to read.
+    * @param offset
+    *       The position of the first byte to read.
+    * @param length
+    *       The number of bytes to read.
+    */
+   public CodecInput(final byte[] buffer, final int offset, final int length) {
+      this.buffer = buffer;
+      this.position = offset;
+      this.limit = offset + length;
+   }
+
+   @Override
+   public int read() {
+      return position < limit ? buffer[position++] & 0xFF : -1;
+   }
+
+   @Override
+   public int read(final byte[] bytes, final int offset, final int length) {
+      if (length == 0) {
+         return 0;
+      }
+      if (position >= limit) {
+         return -1;
+      }
+
+      final int read = Math.min(length, limit - position);
+      System.arraycopy(buffer, position, bytes, offset, read);
+      position += read;
+
+      return read;
+   }
+
+   @Override
+   public int available() {
+      return limit - position;
+   }
+
+   /**
+    * Reads a single byte.
+    *
+    * @return The byte read.
+    * @throws IOException
+    *       When there are no more bytes.
+    */
+   public byte readByte() throws IOException {
+      require(1);
+      return buffer[position++];
+   }
+
+   /**
+    * Reads the given number of bytes.
+    *
+    * @param length
+    *       The number of bytes to read.
+    * @return The bytes read.
+    * @throws IOException
+    *       When there are not enough bytes.
+    */
+   public byte[] readBytes(final int length) throws IOException {
+      require(length);
+      final byte[] bytes = new byte[length];
+      System.arraycopy(buffer, position, bytes, 0, length);
+      position += length;
+
+      return bytes;
+   }
+
+   /**
+    * Reads an integer written by {@link CodecOutput#writeVarInt(int)}.
+    *
+    * @return The integer read.
+    * @throws IOException
+    *       When the input is corrupted.
+    */
+   public int readVarInt() throws IOException {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+         final byte b = readByte();
+         value |= (b & 0x7F) << shift;
+         if (b >= 0) {
+            return value;
+         }
+      }
+      throw new StreamCorruptedException("Malformed variable length integer.");
+   }
+
+   /**
+    * Reads a long written by {@link CodecOutput#writeVarLong(long)}.
+    *
+    * @return The long read.
+    * @throws IOException
+    *       When the input is corrupted.
+    */
+   public long readVarLong() throws IOException {
+      long value = 0;
+      for (int shift = 0; shift < 70; shift += 7) {
+         final byte b = readByte();
+         value |= (long) (b & 0x7F) << shift;
+         if (b >= 0) {
+            return value;
+         }
+      }
+      throw new StreamCorruptedException("Malformed variable length long.");
+   }
+
+   /**
+    * Reads an integer written by {@link CodecOutput#writeZigZagInt(int)}.
+    *
+    * @return The integer read.
+    * @throws IOException
+    *       When the input is corrupted.
+    */
+   public int readZigZagInt() throws IOException {
+      final int value = readVarInt();
+      return (value >>> 1) ^ -(value & 1);
+   }
+
+   /**
+    * Reads a long written by {@link CodecOutput#writeZigZagLong(long)}.
+    *
+    * @return The long read.
+    * @throws IOException
+    *       When the input is corrupted.
+    */
+   public long readZigZagLong() throws IOException {
+      final long value = readVarLong();
+      return (value >>> 1) ^ -(value & 1);
+   }
+
+   /**
+    * Reads an integer written by {@link CodecOutput#writeFixedInt(int)}.
+    *
+    * @return The integer read.
+    * @throws IOException
+    *       When there are not enough bytes.
+    */
+   public int readFixedInt() throws IOException {
+      require(4);
+      final int value = (buffer[position] & 0xFF) << 24 | (buffer[position + 1] & 0xFF) << 16 | (buffer[position + 2] & 0xFF) << 8 | buffer[position + 3] & 0xFF;
+      position += 4;
+
+      return value;
+   }
+
+   /**
+    * Reads a long written by {@link CodecOutput#writeFixedLong(long)}.
+    *
+    * @return The long read.
+    * @throws IOException
+    *       When there are not enough bytes.
+    */
+   public long readFixedLong() throws IOException {
+      return (long) readFixedInt() << 32 | readFixedInt() & 0xFFFFFFFFL;
+   }
+
+   /**
+    * Reads a string written by {@link CodecOutput#writeString(String)}.
+    *
+    * @return The string read.
+    * @throws IOException
+    *       When the input is corrupted.
+    */
+   public String readString() throws IOException {
+      final int length = readVarInt();
+      require(length);
+      final String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+      position += length;
+
+      return value;
+   }
+
+   /**
+    * Creates an input reading the next bytes of this input and skips them in this input.
+    * This makes sure that a reader that buffers its input does not read past the given length.
+    *
+    * @param length
+    *       The number of bytes for the new input.
+    * @return The new input.
+    * @throws IOException
+    *       When there are not enough bytes.
+    */
+   public CodecInput slice(final int length) throws IOException {
+      require(length);
+      final CodecInput slice = new CodecInput(buffer, position, length);
+      position += length;
+
+      return slice;
+   }
+
+   private void require(final int length) throws IOException {
+      if (length < 0 || limit - position < length) {
+         throw new EOFException("Unexpected end of the encoded message.");
+      }
+   }
+}
@@ -0,0 +1,203 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers.cluster.codec;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer the messages are encoded to. Unlike {@link java.io.ByteArrayOutputStream} it is not synchronized,
+ * it can be reset and reused by the same thread, and it can write variable length integers.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public final class CodecOutput extends OutputStream {
+
+   private byte[] buffer;
+
+   private int count;
+
+   /**
+    * Creates an empty buffer.
+    *
+    * @param capacity
+    *       Initial capacity of the buffer.
+    */
+   public CodecOutput(final int capacity) {
+      buffer = new byte[capacity];
+   }
+
+   /**
+    * Discards all the written bytes, the allocated buffer is kept.
+    */
+   public void reset() {
+      count = 0;
+   }
+
+   /**
+    * Gets the number of bytes written so far.
+    *
+    * @return The number of bytes written so far.
+    */
+   public int position() {
+      return count;
+   }
+
+   /**
+    * Gets the size of the allocated buffer.
+    *
+    * @return The size of the allocated buffer.
+    */
+   public int capacity() {
+      return buffer.length;
+   }
+
+   /**
+    * Copies the written bytes to a new array.
+    *
+    * @return The written bytes.
+    */
+   public byte[] toByteArray() {
+      return Arrays.copyOf(buffer, count);
+   }
+
+   @Override
+   public void write(final int b) {
+      ensureCapacity(1);
+      buffer[count++] = (byte) b;
+   }
+
+   @Override
+   public void write(final byte[] bytes, final int offset, final int length) {
+      ensureCapacity(length);
+      System.arraycopy(bytes, offset, buffer, count, length);
+      count += length;
+   }
+
+   /**
+    * Writes an integer in 7 bits per byte, small non-negative values take a single byte.
+    *
+    * @param value
+    *       The value to write.
+    */
+   public void writeVarInt(final int value) {
+      ensureCapacity(5);
+      int remaining = value;
+      while ((remaining & ~0x7F) != 0) {
+         buffer[count++] = (byte) ((remaining & 0x7F) | 0x80);
+         remaining >>>= 7;
+      }
+      buffer[count++] = (byte) remaining;
+   }
+
+   /**
+    * Writes a long in 7 bits per byte, small non-negative values take a single byte.
+    *
+    * @param value
+    *       The value to write.
+    */
+   public void writeVarLong(final long value) {
+      ensureCapacity(10);
+      long remaining = value;
+      while ((remaining & ~0x7FL) != 0) {
+         buffer[count++] = (byte) ((remaining & 0x7F) | 0x80);
+         remaining >>>= 7;
+      }
+      buffer[count++] = (byte) remaining;
+   }
+
+   /**
+    * Writes an integer that is likely to be negative, small absolute values take a single byte.
+    *
+    * @param value
+    *       The value to write.
+    */
+   public void writeZigZagInt(final int value) {
+      writeVarInt((value << 1) ^ (value >> 31));
+   }
+
+   /**
+    * Writes a long that is likely to be negative, small absolute values take a single byte.
+    *
+    * @param value
+    *       The value to write.
+    */
+   public void writeZigZagLong(final long value) {
+      writeVarLong((value << 1) ^ (value >> 63));
+   }
+
+   /**
+    * Writes an integer in 4 bytes.
+    *
+    * @param value
+    *       The value to write.
+    */
+   public void writeFixedInt(final int value) {
+      ensureCapacity(4);
+      setFixedInt(count, value);
+      count += 4;
+   }
+
+   /**
+    * Overwrites 4 already written bytes with an integer, this is useful to write the length of a variable sized block
+    * once the block is written.
+    *
+    * @param position
+    *       The position of the integer.
+    * @param value
+    *       The value to write.
+    */
+   public void setFixedInt(final int position, final int value) {
+      buffer[position] = (byte) (value >>> 24);
+      buffer[position + 1] = (byte) (value >>> 16);
+      buffer[position + 2] = (byte) (value >>> 8);
+      buffer[position + 3] = (byte) value;
+   }
+
+   /**
+    * Writes a long in 8 bytes.
+    *
+    * @param value
+    *       The value to write.
+    */
+   public void writeFixedLong(final long value) {
+      writeFixedInt((int) (value >>> 32));
+      writeFixedInt((int) value);
+   }
+
+   /**
+    * Writes the length of the string followed by its UTF-8 bytes.
+    *
+    * @param value
+    *       The string to write.
+    */
+   public void writeString(final String value) {
+      final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(bytes.length);
+      write(bytes, 0, bytes.length);
+   }
+
+   private void ensureCapacity(final int length) {
+      if (count + length > buffer.length) {
+         buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, count + length));
+      }
+   }
+}
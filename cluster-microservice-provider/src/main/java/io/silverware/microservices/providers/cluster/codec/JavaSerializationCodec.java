@@ -0,0 +1,64 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers.cluster.codec;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Encodes the messages using Java serialization. This codec is supported by all the nodes.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class JavaSerializationCodec implements MessageCodec {
+
+   /**
+    * Identification of this codec.
+    */
+   public static final byte ID = 0;
+
+   @Override
+   public byte getId() {
+      return ID;
+   }
+
+   @Override
+   public boolean canEncode(final Object content) {
+      return content == null || content instanceof Serializable;
+   }
+
+   @Override
+   public void encode(final Object content, final CodecOutput output) throws IOException {
+      final ObjectOutputStream stream = new ObjectOutputStream(output);
+      stream.writeObject(content);
+      stream.flush();
+   }
+
+   @Override
+   public Object decode(final CodecInput input) throws IOException {
+      try {
+         return new ObjectInputStream(input).readObject();
+      } catch (ClassNotFoundException e) {
+         throw new IOException("Unknown class of the decoded message.", e);
+      }
+   }
+}
@@ -0,0 +1,73 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers.cluster.codec;
+
+import java.io.IOException;
+
+/**
+ * Encodes the remote invocations and their results sent between the cluster nodes.
+ * Additional codecs can be registered using {@link java.util.ServiceLoader}, the nodes agree on the codec to use
+ * during the Microservice lookup. Java serialization is used when the nodes do not share any other codec.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ * @see MessageCodecs
+ */
+public interface MessageCodec {
+
+   /**
+    * Gets the unique identification of this codec that is sent along with the encoded messages.
+    * Identifications lower than 16 are reserved for the codecs provided by SilverWare.
+    *
+    * @return The identification of this codec.
+    */
+   byte getId();
+
+   /**
+    * Checks whether this codec can encode the given message. Messages that cannot be encoded are sent using Java serialization.
+    *
+    * @param content
+    *       The message to encode.
+    * @return True if and only if this codec can encode the message.
+    */
+   boolean canEncode(Object content);
+
+   /**
+    * Encodes the message.
+    *
+    * @param content
+    *       The message to encode.
+    * @param output
+    *       The buffer to write the encoded message to.
+    * @throws IOException
+    *       When the message cannot be encoded.
+    */
+   void encode(Object content, CodecOutput output) throws IOException;
+
+   /**
+    * Decodes a message encoded by {@link #encode(Object, CodecOutput)}.
+    *
+    * @param input
+    *       The encoded message.
+    * @return The decoded message.
+    * @throws IOException
+    *       When the message cannot be decoded.
+    */
+   Object decode(CodecInput input) throws IOException;
+}
@@ -0,0 +1,216 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers.cluster.codec;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the {@link MessageCodec message codecs} supported by this node.
+ *
+ * The encoded messages start with the identification of the codec, so the receiver always knows how to decode them.
+ * The codec for the messages sent to another node is negotiated using the list of the codecs supported by that node,
+ * the codecs registered using {@link ServiceLoader} are preferred to {@link BinaryCodec}, {@link JavaSerializationCodec} is the last resort.
+ * The messages are encoded to a buffer that is reused by the same thread.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public final class MessageCodecs {
+
+   /**
+    * Logger.
+    */
+   private static final Logger log = LogManager.getLogger(MessageCodecs.class);
+
+   /**
+    * Larger buffers are not kept for reuse so that a single huge message does not occupy the memory forever.
+    */
+   private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+   private static final int INITIAL_BUFFER_SIZE = 256;
+
+   private static final MessageCodecs INSTANCE = new MessageCodecs();
+
+   private final MessageCodec[] codecsById = new MessageCodec[256];
+
+   /**
+    * Supported codecs in the order of preference.
+    */
+   private final List<MessageCodec> codecs = new ArrayList<>();
+
+   private final byte[] supportedCodecs;
+
+   private final MessageCodec fallbackCodec = new JavaSerializationCodec();
+
+   private final ThreadLocal<CodecOutput> buffers = ThreadLocal.withInitial(() -> new CodecOutput(INITIAL_BUFFER_SIZE));
+
+   private MessageCodecs() {
+      ServiceLoader.load(MessageCodec.class).forEach(this::register);
+      register(new BinaryCodec());
+      register(fallbackCodec);
+
+      supportedCodecs = new byte[codecs.size()];
+      for (int i = 0; i < supportedCodecs.length; i++) {
+         supportedCodecs[i] = codecs.get(i).getId();
+      }
+   }
+
+   /**
+    * Gets the registry of the codecs.
+    *
+    * @return The registry of the codecs.
+    */
+   public static MessageCodecs getInstance() {
+      return INSTANCE;
+   }
+
+   private void register(final MessageCodec codec) {
+      final int index = codec.getId() & 0xFF;
+      if (codecsById[index] != null) {
+         log.warn("Ignoring message codec {}, its id {} is already used by {}.", codec.getClass().getName(), index, codecsById[index].getClass().getName());
+         return;
+      }
+
+      codecsById[index] = codec;
+      codecs.add(codec);
+   }
+
+   /**
+    * Gets the identifications of the supported codecs in the order of preference.
+    *
+    * @return The identifications of the supported codecs.
+    */
+   public byte[] getSupportedCodecs() {
+      return supportedCodecs.clone();
+   }
+
+   /**
+    * Gets the codec with the given identification.
+    *
+    * @param id
+    *       The identification of the codec.
+    * @return The codec or null when there is no such codec.
+    */
+   public MessageCodec getCodec(final byte id) {
+      return codecsById[id & 0xFF];
+   }
+
+   /**
+    * Chooses the most preferred codec supported by both this and the remote node.
+    *
+    * @param remoteCodecs
+    *       The codecs supported by the remote node.
+    * @return The chosen codec or null when the remote node does not support any codec and expects plain Java serialized messages.
+    */
+   public MessageCodec negotiate(final byte[] remoteCodecs) {
+      if (remoteCodecs == null) {
+         return null;
+      }
+
+      for (final MessageCodec codec : codecs) {
+         for (final byte remoteCodec : remoteCodecs) {
+            if (codec.getId() == remoteCodec) {
+               return codec;
+            }
+         }
+      }
+
+      return fallbackCodec;
+   }
+
+   /**
+    * Encodes the message using the given codec, or using Java serialization when the codec cannot encode the message.
+    *
+    * @param codec
+    *       The codec to use.
+    * @param content
+    *       The message to encode.
+    * @return The encoded message.
+    * @throws IOException
+    *       When the message cannot be encoded.
+    */
+   public byte[] encode(final MessageCodec codec, final Object content) throws IOException {
+      final MessageCodec usedCodec = codec.canEncode(content) ? codec : fallbackCodec;
+      final CodecOutput output = buffers.get();
+
+      try {
+         output.reset();
+         output.write(usedCodec.getId());
+         usedCodec.encode(content, output);
+
+         return output.toByteArray();
+      } finally {
+         if (output.capacity() > MAX_POOLED_BUFFER_SIZE) {
+            buffers.remove();
+         }
+      }
+   }
+
+   /**
+    * Decodes a message encoded by {@link #encode(MessageCodec, Object)}.
+    *
+    * @param message
+    *       The encoded message.
+    * @return The decoded message.
+    * @throws IOException
+    *       When the message cannot be decoded.
+    */
+   public Object decode(final byte[] message) throws IOException {
+      return decode(getCodecOf(message), message);
+   }
+
+   /**
+    * Gets the codec a message was encoded with.
+    *
+    * @param message
+    *       The encoded message.
+    * @return The codec the message was encoded with.
+    * @throws IOException
+    *       When the codec is not supported by this node.
+    */
+   public MessageCodec getCodecOf(final byte[] message) throws IOException {
+      final MessageCodec codec = message.length > 0 ? getCodec(message[0]) : null;
+      if (codec == null) {
+         throw new StreamCorruptedException("The message was encoded by an unknown codec.");
+      }
+      return codec;
+   }
+
+   /**
+    * Decodes a message encoded by the given codec.
+    *
+    * @param codec
+    *       The codec the message was encoded with, as returned by {@link #getCodecOf(byte[])}.
+    * @param message
+    *       The encoded message.
+    * @return The decoded message.
+    * @throws IOException
+    *       When the message cannot be decoded.
+    */
+   public Object decode(final MessageCodec codec, final byte[] message) throws IOException {
+      return codec.decode(new CodecInput(message, 1, message.length - 1));
+   }
+}
@@ -19,13 +19,19 @@
  */
 package io.silverware.microservices.providers.cluster.internal;
 
+import static io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException.SilverWareClusteringError.OVERLOADED;
 import static io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException.SilverWareClusteringError.PROCESSING_ERROR;
 import static io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException.SilverWareClusteringError.RECIPIENT_SAME_AS_SENDER;
+import static io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException.SilverWareClusteringError.SHUTTING_DOWN;
 import static io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException.SilverWareClusteringError.UNEXPECTED_CONTENT;
 
+import io.silverware.microservices.providers.cluster.codec.MessageCodec;
+import io.silverware.microservices.providers.cluster.codec.MessageCodecs;
 import io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException;
 import io.silverware.microservices.providers.cluster.internal.message.responder.Responder;
 import io.silverware.microservices.silver.cluster.RemoteServiceHandlesStore;
+import io.silverware.microservices.util.InvocationGate;
+import io.silverware.microservices.util.Utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,33 +39,75 @@ import org.jgroups.Address;
 import org.jgroups.Message;
 import org.jgroups.ReceiverAdapter;
 import org.jgroups.View;
-import org.jgroups.blocks.RequestHandler;
+import org.jgroups.blocks.AsyncRequestHandler;
+import org.jgroups.blocks.Response;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
- * Class responsible for retrieving messages
+ * Class responsible for retrieving messages.
+ * When the dispatcher dispatches the requests asynchronously, they are processed by the given executor and the responses are sent
+ * once the processing is done, so a single node can have many requests in flight to this node.
+ * Requests rejected by the executor, because it is saturated or already shut down, are answered with an error right away.
  *
  * @author Slavomír Krupa (slavomir.krupa@gmail.com)
  */
-public class JgroupsMessageReceiver extends ReceiverAdapter implements RequestHandler {
+public class JgroupsMessageReceiver extends ReceiverAdapter implements AsyncRequestHandler {
 
    private static final Logger log = LogManager.getLogger(JgroupsMessageReceiver.class);
+
+   /**
+    * Default maximum number of threads processing the received requests.
+    */
+   public static final int DEFAULT_INVOCATION_THREADS = 64;
+
+   /**
+    * Default maximum number of received requests waiting for a thread.
+    */
+   public static final int DEFAULT_INVOCATION_QUEUE_SIZE = 1024;
+
    private Map<Class, Responder> responders = new HashMap<>();
    private final RemoteServiceHandlesStore store;
+   private final InvocationGate gate;
+   private final MessageCodecs codecs = MessageCodecs.getInstance();
+   private final Executor executor;
    private Address myAddress;
+   private JgroupsMessageSender sender;
 
    public JgroupsMessageReceiver(Map<Class, Responder> responders, RemoteServiceHandlesStore store) {
+      this(responders, store, new InvocationGate());
+   }
+
+   public JgroupsMessageReceiver(Map<Class, Responder> responders, RemoteServiceHandlesStore store, InvocationGate gate) {
+      this(responders, store, gate, Runnable::run);
+   }
+
+   public JgroupsMessageReceiver(Map<Class, Responder> responders, RemoteServiceHandlesStore store, InvocationGate gate, Executor executor) {
       if (responders == null || responders.isEmpty()) {
          throw new IllegalArgumentException("responders");
       }
       if (store == null) {
          throw new IllegalArgumentException("store");
       }
+      if (gate == null) {
+         throw new IllegalArgumentException("gate");
+      }
+      if (executor == null) {
+         throw new IllegalArgumentException("executor");
+      }
       this.store = store;
+      this.gate = gate;
+      this.executor = executor;
       this.responders = new HashMap<>(responders);
    }
 
@@ -67,6 +115,16 @@ public class JgroupsMessageReceiver extends ReceiverAdapter implements RequestHa
       this.myAddress = myAddress;
    }
 
+   /**
+    * Sets the sender that is told about the nodes leaving the cluster
+    *
+    * @param sender
+    *       sender of the messages from this node
+    */
+   public void setSender(JgroupsMessageSender sender) {
+      this.sender = sender;
+   }
+
    public Responder addResponder(Class clazz, Responder responder) {
       return this.responders.put(clazz, responder);
    }
@@ -87,32 +145,116 @@ public class JgroupsMessageReceiver extends ReceiverAdapter implements RequestHa
    public void viewAccepted(final View view) {
       Set<String> addresses = view.getMembers().stream().map(Address::toString).collect(Collectors.toSet());
       store.keepHandlesFor(addresses);
+      if (sender != null) {
+         sender.keepDestinationsFor(view.getMembers());
+      }
       log.info("Cluster view change: " + view);
    }
 
    @Override
-   public Object handle(Message msg) throws Exception {
+   public void handle(final Message msg, final Response response) throws Exception {
       try {
-         if (msg.getSrc() != null && msg.getSrc().equals(myAddress)) {
-            log.error("Skipping message sent from this node.");
-            throw new SilverWareClusteringException(RECIPIENT_SAME_AS_SENDER);
+         executor.execute(() -> process(msg).whenComplete((result, error) -> {
+            if (response != null) {
+               if (error == null) {
+                  response.send(result, false);
+               } else {
+                  response.send(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error, true);
+               }
+            }
+         }));
+      } catch (RejectedExecutionException e) {
+         final boolean shuttingDown = gate.isClosed() || executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown();
+         if (shuttingDown) {
+            log.debug("Rejecting message from {}, the node is shutting down.", msg.getSrc());
+         } else {
+            log.warn("Rejecting message from {}, too many requests are being processed.", msg.getSrc());
          }
+         if (response != null) {
+            response.send(new SilverWareClusteringException(shuttingDown ? SHUTTING_DOWN : OVERLOADED), true);
+         }
+      }
+   }
+
+   @Override
+   public Object handle(Message msg) throws Exception {
+      return Utils.awaitResult(process(msg));
+   }
 
-         Object content = msg.getObject();
+   /**
+    * Processes the message, responders can answer asynchronously by returning a {@link CompletionStage}.
+    * The message counts as an invocation in flight until the response is ready.
+    *
+    * @param msg
+    *       the received message
+    * @return future of the response, completed exceptionally when the message cannot be processed
+    */
+   private CompletableFuture<Object> process(final Message msg) {
+      final CompletableFuture<Object> result = new CompletableFuture<>();
+      if (!gate.enter()) {
+         log.debug("Rejecting message from {}, the node is shutting down.", msg.getSrc());
+         result.completeExceptionally(new SilverWareClusteringException(SHUTTING_DOWN));
+         return result;
+      }
 
-         Responder responder = this.responders.get(content.getClass());
-         if (responder != null) {
-            return responder.processMessage(msg);
+      CompletableFuture<Object> response;
+      try {
+         response = respond(msg);
+      } catch (Exception e) {
+         response = new CompletableFuture<>();
+         response.completeExceptionally(e);
+      }
+
+      response.whenComplete((value, error) -> {
+         gate.exit();
+         if (error == null) {
+            result.complete(value);
          } else {
-            log.error("Unexpected content type : {} and object :  {} ", content.getClass(), content);
-            throw new SilverWareClusteringException(UNEXPECTED_CONTENT, content.getClass().toString());
+            SilverWareClusteringException runtimeException = new SilverWareClusteringException(PROCESSING_ERROR,
+                  error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            log.error("Error processing request: ", runtimeException);
+            result.completeExceptionally(runtimeException);
          }
-      } catch (Exception e) {
-         SilverWareClusteringException runtimeException = new SilverWareClusteringException(PROCESSING_ERROR, e);
-         log.error("Error processing request: ", runtimeException);
-         throw runtimeException;
+      });
+      return result;
+   }
 
+   @SuppressWarnings("unchecked")
+   private CompletableFuture<Object> respond(final Message msg) throws Exception {
+      if (msg.getSrc() != null && msg.getSrc().equals(myAddress)) {
+         log.error("Skipping message sent from this node.");
+         throw new SilverWareClusteringException(RECIPIENT_SAME_AS_SENDER);
       }
 
+      Object content = msg.getObject();
+
+      // messages encoded by a codec are answered by the same codec
+      MessageCodec codec = null;
+      if (content instanceof byte[]) {
+         codec = codecs.getCodecOf((byte[]) content);
+         content = codecs.decode(codec, (byte[]) content);
+      }
+
+      Responder responder = this.responders.get(content.getClass());
+      if (responder == null) {
+         log.error("Unexpected content type : {} and object :  {} ", content.getClass(), content);
+         throw new SilverWareClusteringException(UNEXPECTED_CONTENT, content.getClass().toString());
+      }
+
+      final Object response = codec != null ? responder.processMessage(msg, content) : responder.processMessage(msg);
+      final CompletableFuture<Object> result = response instanceof CompletionStage
+            ? ((CompletionStage<Object>) response).toCompletableFuture() : CompletableFuture.completedFuture(response);
+      if (codec == null) {
+         return result;
+      }
+
+      final MessageCodec responseCodec = codec;
+      return result.thenApply(value -> {
+         try {
+            return codecs.encode(responseCodec, value);
+         } catch (IOException e) {
+            throw new CompletionException(e);
+         }
+      });
    }
 }
@@ -19,6 +19,12 @@
  */
 package io.silverware.microservices.providers.cluster.internal;
 
+import static io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException.SilverWareClusteringError.JGROUPS_ERROR;
+
+import io.silverware.microservices.providers.cluster.codec.MessageCodec;
+import io.silverware.microservices.providers.cluster.codec.MessageCodecs;
+import io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jgroups.Address;
@@ -27,15 +33,31 @@ import org.jgroups.blocks.MessageDispatcher;
 import org.jgroups.blocks.RequestOptions;
 import org.jgroups.blocks.ResponseMode;
 import org.jgroups.util.FutureListener;
+import org.jgroups.util.NotifyingFuture;
 import org.jgroups.util.RspList;
 import org.jgroups.util.Util;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -55,14 +77,68 @@ public class JgroupsMessageSender {
    private static final RequestOptions SYNC_OPTIONS = new RequestOptions(ResponseMode.GET_ALL, MESSAGE_TIMEOUT, true, null, SYNC_MESSAGE_FLAGS);
    private static final RequestOptions ASYNC_OPTIONS = new RequestOptions(ResponseMode.GET_NONE, MESSAGE_TIMEOUT, true);
 
+   /**
+    * Pipelined requests are not flagged with DONT_BUNDLE so that the requests in flight can share network packets.
+    */
+   private static final RequestOptions PIPELINED_OPTIONS = new RequestOptions(ResponseMode.GET_ALL, MESSAGE_TIMEOUT, true, null);
+
+   /**
+    * Default maximum number of the requests sent to a single node that wait for a response.
+    */
+   public static final int DEFAULT_MAX_OUTSTANDING_REQUESTS = 128;
+
+   /**
+    * Times out the requests waiting for a response without blocking a thread.
+    */
+   private static final ScheduledExecutorService timeouts = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "silverware-jgroups-timeouts");
+      thread.setDaemon(true);
+      return thread;
+   });
+
+   /**
+    * Sends the waiting pipelined requests when a slot is freed, so that the response threads of JGroups do not send messages.
+    */
+   private static final Executor refills = Executors.newCachedThreadPool(runnable -> {
+      final Thread thread = new Thread(runnable, "silverware-jgroups-pipeline");
+      thread.setDaemon(true);
+      return thread;
+   });
+
    private final MessageDispatcher dispatcher;
+   private final MessageCodecs codecs = MessageCodecs.getInstance();
+   private final int maxOutstandingRequests;
+   private final Executor refillExecutor;
+   private final Map<Address, Destination> destinations = new ConcurrentHashMap<>();
+   private final AtomicLong requestIds = new AtomicLong();
    private Set<Address> filteredAdresses;
 
    public JgroupsMessageSender(MessageDispatcher dispatcher) {
+      this(dispatcher, DEFAULT_MAX_OUTSTANDING_REQUESTS);
+   }
+
+   /**
+    * Creates a sender that limits the number of pipelined requests waiting for a response from a single node
+    *
+    * @param dispatcher
+    *       dispatcher of the messages
+    * @param maxOutstandingRequests
+    *       maximum number of the pipelined requests sent to a single node that wait for a response, further requests are queued
+    */
+   public JgroupsMessageSender(MessageDispatcher dispatcher, int maxOutstandingRequests) {
+      this(dispatcher, maxOutstandingRequests, refills);
+   }
+
+   JgroupsMessageSender(MessageDispatcher dispatcher, int maxOutstandingRequests, Executor refillExecutor) {
       if (dispatcher == null) {
          throw new IllegalArgumentException("dispatcher");
       }
+      if (maxOutstandingRequests < 1) {
+         throw new IllegalArgumentException("maxOutstandingRequests");
+      }
       this.dispatcher = dispatcher;
+      this.maxOutstandingRequests = maxOutstandingRequests;
+      this.refillExecutor = refillExecutor;
    }
 
    private Set<Address> getFilteredAddresses() {
@@ -141,11 +217,277 @@ public class JgroupsMessageSender {
     *       content of message
     */
    public <T> T sendToAddressSync(Address address, Serializable content) throws Exception {
-      return this.dispatcher.sendMessage(new Message(address, Util.objectToByteBuffer(content)), SYNC_OPTIONS);
+      return sendToAddressSync(address, content, null);
+   }
+
+   /**
+    * Send unicast message for specific address encoded by the given codec
+    *
+    * @param content
+    *       content of message
+    * @param codec
+    *       codec negotiated with the node, null to send the content serialized
+    */
+   public <T> T sendToAddressSync(Address address, Serializable content, MessageCodec codec) throws Exception {
+      return decode(codec, this.dispatcher.sendMessage(createMessage(address, content, codec), SYNC_OPTIONS));
+   }
+
+   /**
+    * Send unicast message for specific address without waiting for the response
+    *
+    * @param content
+    *       content of message
+    * @return future completed from the response callback, or exceptionally when the response does not arrive in time
+    */
+   public <T> CompletableFuture<T> sendToAddressWithFuture(Address address, Serializable content) throws Exception {
+      return sendToAddressWithFuture(address, content, null);
+   }
+
+   /**
+    * Send unicast message for specific address encoded by the given codec without waiting for the response
+    *
+    * @param content
+    *       content of message
+    * @param codec
+    *       codec negotiated with the node, null to send the content serialized
+    * @return future completed from the response callback, or exceptionally when the response does not arrive in time
+    */
+   public <T> CompletableFuture<T> sendToAddressWithFuture(Address address, Serializable content, MessageCodec codec) throws Exception {
+      final CompletableFuture<T> result = new CompletableFuture<>();
+      final NotifyingFuture<Object> response = this.dispatcher.sendMessageWithFuture(createMessage(address, content, codec), SYNC_OPTIONS,
+            (FutureListener<Object>) future -> complete(result, future, codec));
+
+      final Future<?> timeout = timeouts.schedule(() -> {
+         if (result.completeExceptionally(new TimeoutException("Timeout waiting for response from " + address))) {
+            response.cancel(true);
+         }
+      }, MESSAGE_TIMEOUT, TimeUnit.MILLISECONDS);
+      result.whenComplete((value, error) -> timeout.cancel(false));
+
+      return result;
+   }
+
+   /**
+    * Send unicast message for specific address encoded by the given codec without waiting for the response.
+    * Many requests to the same address can be in flight at once, when there are too many of them waiting for a response,
+    * the new requests are queued and sent as soon as the responses arrive.
+    * Requests to an address that is not a member of the cluster fail right away.
+    *
+    * @param content
+    *       content of message
+    * @param codec
+    *       codec negotiated with the node, null to send the content serialized
+    * @return future completed from the response callback, or exceptionally when the response does not arrive in time
+    */
+   public <T> CompletableFuture<T> sendToAddressPipelined(Address address, Serializable content, MessageCodec codec) throws Exception {
+      final PendingRequest<T> request = new PendingRequest<>(requestIds.incrementAndGet(), createMessage(address, content, codec), codec);
+
+      final Future<?> timeout = timeouts.schedule(() -> request.result.completeExceptionally(new TimeoutException("Timeout waiting for response from " + address)),
+            MESSAGE_TIMEOUT, TimeUnit.MILLISECONDS);
+      request.result.whenComplete((value, error) -> timeout.cancel(false));
+
+      getDestination(address).submit(request);
+
+      return request.result;
+   }
+
+   /**
+    * Gets the pipeline of the given address, a new one is created only for a member of the cluster.
+    * The membership is checked after the pipeline is published, so either this check or {@link #keepDestinationsFor(Collection)}
+    * sees the node left the cluster and closes the pipeline.
+    */
+   private Destination getDestination(final Address address) {
+      final Destination destination = destinations.get(address);
+      if (destination != null) {
+         return destination;
+      }
+
+      final Destination created = new Destination();
+      final Destination existing = destinations.putIfAbsent(address, created);
+      if (existing != null) {
+         return existing;
+      }
+
+      if (!getMembersAddresses().contains(address)) {
+         destinations.remove(address, created);
+         created.close(new SilverWareClusteringException(JGROUPS_ERROR, "Node " + address + " is not a member of the cluster."));
+      }
+      return created;
+   }
+
+   /**
+    * Gets the number of pipelined requests sent to the given address that wait for a response
+    *
+    * @param address
+    *       address of the node
+    * @return number of the requests in flight
+    */
+   public int getOutstandingRequests(Address address) {
+      final Destination destination = destinations.get(address);
+      return destination == null ? 0 : destination.outstanding.size();
+   }
+
+   /**
+    * Forgets the nodes that left the cluster and fails the pipelined requests sent to them right away
+    *
+    * @param members
+    *       addresses of the current cluster members
+    */
+   public void keepDestinationsFor(Collection<Address> members) {
+      destinations.keySet().stream().filter(address -> !members.contains(address)).collect(Collectors.toList()).forEach(address -> {
+         final Destination destination = destinations.remove(address);
+         if (destination != null) {
+            log.debug("Failing pipelined requests to {}, the node left the cluster.", address);
+            destination.close(new SilverWareClusteringException(JGROUPS_ERROR, "Node " + address + " left the cluster."));
+         }
+      });
+   }
+
+   /**
+    * Fails all the pipelined requests that still wait for a response or for being sent
+    */
+   public void close() {
+      final Exception closed = new IllegalStateException("The message sender was closed.");
+      destinations.values().forEach(destination -> destination.close(closed));
+   }
+
+   private Message createMessage(final Address address, final Serializable content, final MessageCodec codec) throws Exception {
+      return new Message(address, Util.objectToByteBuffer(codec == null ? content : codecs.encode(codec, content)));
+   }
+
+   @SuppressWarnings("unchecked")
+   private <T> T decode(final MessageCodec codec, final Object response) throws IOException {
+      return (T) (codec != null && response instanceof byte[] ? codecs.decode((byte[]) response) : response);
+   }
+
+   private <T> void complete(final CompletableFuture<T> result, final Future<Object> future, final MessageCodec codec) {
+      try {
+         result.complete(decode(codec, future.get()));
+      } catch (ExecutionException e) {
+         result.completeExceptionally(e.getCause());
+      } catch (Throwable e) {
+         result.completeExceptionally(e);
+      }
    }
 
    public boolean isEmptyCluster() {
       return this.getOtherMembersAddresses().isEmpty();
    }
 
+   /**
+    * A request sent by {@link #sendToAddressPipelined(Address, Serializable, MessageCodec)}
+    */
+   private static final class PendingRequest<T> {
+      private final long id;
+      private final Message message;
+      private final MessageCodec codec;
+      private final CompletableFuture<T> result = new CompletableFuture<>();
+      private volatile Future<Object> response;
+
+      private PendingRequest(final long id, final Message message, final MessageCodec codec) {
+         this.id = id;
+         this.message = message;
+         this.codec = codec;
+      }
+   }
+
+   /**
+    * Pipelined requests sent to a single node
+    */
+   private final class Destination {
+      /**
+       * Requests in flight by their id
+       */
+      private final Map<Long, PendingRequest<?>> outstanding = new ConcurrentHashMap<>();
+      /**
+       * Requests waiting for a free slot, guarded by this
+       */
+      private final Queue<PendingRequest<?>> waiting = new ArrayDeque<>();
+      /**
+       * Number of taken slots, guarded by this
+       */
+      private int inFlight;
+      /**
+       * Reason of closing this pipeline, null while it is open, guarded by this
+       */
+      private Exception closed;
+
+      private void submit(final PendingRequest<?> request) {
+         synchronized (this) {
+            if (closed != null) {
+               request.result.completeExceptionally(closed);
+               return;
+            }
+            if (inFlight >= maxOutstandingRequests) {
+               waiting.add(request);
+               return;
+            }
+            inFlight++;
+         }
+         sendNext(request);
+      }
+
+      /**
+       * Sends the request in the slot that was taken for it, or passes the slot to the next waiting request
+       * when the request cannot be sent.
+       */
+      private void sendNext(final PendingRequest<?> request) {
+         PendingRequest<?> next = request;
+         while (next != null) {
+            if (!next.result.isDone() && dispatch(next)) {
+               return;
+            }
+            next = release();
+         }
+      }
+
+      private <T> boolean dispatch(final PendingRequest<T> request) {
+         outstanding.put(request.id, request);
+         try {
+            request.response = dispatcher.sendMessageWithFuture(request.message, PIPELINED_OPTIONS,
+                  (FutureListener<Object>) future -> complete(request.result, future, request.codec));
+         } catch (Exception e) {
+            outstanding.remove(request.id);
+            request.result.completeExceptionally(e);
+            return false;
+         }
+
+         request.result.whenComplete((value, error) -> {
+            outstanding.remove(request.id);
+            if (error != null && request.response != null) {
+               request.response.cancel(true);
+            }
+            final PendingRequest<?> next = release();
+            if (next != null) {
+               refillExecutor.execute(() -> sendNext(next));
+            }
+         });
+         return true;
+      }
+
+      /**
+       * Frees the slot of a completed request.
+       *
+       * @return the next waiting request that takes over the slot, null if there is no such request
+       */
+      private synchronized PendingRequest<?> release() {
+         final PendingRequest<?> next = waiting.poll();
+         if (next == null) {
+            inFlight--;
+         }
+         return next;
+      }
+
+      private void close(final Exception reason) {
+         final List<PendingRequest<?>> pending;
+         synchronized (this) {
+            closed = reason;
+            pending = new ArrayList<>(waiting);
+            waiting.clear();
+         }
+         pending.addAll(outstanding.values());
+         pending.forEach(request -> request.result.completeExceptionally(reason));
+      }
+   }
+
 }
@@ -37,7 +37,9 @@ public class SilverWareClusteringException extends RuntimeException {
       RECIPIENT_SAME_AS_SENDER,
       MULTIPLE_IMPLEMENTATIONS_FOUND,
       INITIALIZATION_ERROR,
-      PROCESSING_ERROR
+      PROCESSING_ERROR,
+      SHUTTING_DOWN,
+      OVERLOADED
 
    }
 
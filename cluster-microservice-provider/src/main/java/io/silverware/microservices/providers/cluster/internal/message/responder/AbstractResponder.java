@@ -50,10 +50,15 @@ public abstract class AbstractResponder<C, R> implements Responder {
 
    @Override
    public final R processMessage(Message msg) {
+      return processMessage(msg, msg.getObject());
+   }
+
+   @Override
+   public final R processMessage(Message msg, Object content) {
       if (log.isDebugEnabled()) {
          log.debug("Processing msg: " + msg);
       }
-      return doProcessMessage(msg.getSrc(), (C) msg.getObject());
+      return doProcessMessage(msg.getSrc(), (C) content);
    }
 
    abstract R doProcessMessage(Address source, C content);
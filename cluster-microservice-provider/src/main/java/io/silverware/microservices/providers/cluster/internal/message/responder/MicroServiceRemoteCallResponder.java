@@ -30,12 +30,16 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jgroups.Address;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * This class is responsible for a remote method call.
+ * The response is ready once the result of the invoked method completes, so asynchronous methods do not block the caller.
  *
  * @author Slavomír Krupa (slavomir.krupa@gmail.com)
  */
-public class MicroServiceRemoteCallResponder extends AbstractResponder<MicroserviceRemoteCallRequest, MicroserviceRemoteCallResponse> {
+public class MicroServiceRemoteCallResponder extends AbstractResponder<MicroserviceRemoteCallRequest, CompletableFuture<MicroserviceRemoteCallResponse>> {
    /**
     * Logger.
     */
@@ -46,13 +50,16 @@ public class MicroServiceRemoteCallResponder extends AbstractResponder<Microserv
    }
 
    @Override
-   MicroserviceRemoteCallResponse doProcessMessage(Address source, MicroserviceRemoteCallRequest remoteCallRequest) {
-      try {
-         return new MicroserviceRemoteCallResponse(remoteCallRequest.getInvocation().invoke(context));
-      } catch (Exception e) {
-         log.error("Error in remote call invocation", e);
-         throw new SilverWareClusteringException(INVOCATION_EXCEPTION, e);
-      }
+   CompletableFuture<MicroserviceRemoteCallResponse> doProcessMessage(Address source, MicroserviceRemoteCallRequest remoteCallRequest) {
+      return remoteCallRequest.getInvocation().invokeAsync(context).handle((result, error) -> {
+         if (error == null) {
+            return new MicroserviceRemoteCallResponse(result);
+         }
+
+         final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+         log.error("Error in remote call invocation", cause);
+         throw new SilverWareClusteringException(INVOCATION_EXCEPTION, cause instanceof Exception ? (Exception) cause : new Exception(cause));
+      });
    }
 
 }
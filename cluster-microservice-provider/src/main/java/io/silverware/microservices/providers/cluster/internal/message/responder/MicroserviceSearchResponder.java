@@ -27,6 +27,7 @@ import static io.silverware.microservices.providers.cluster.internal.message.res
 
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.providers.cluster.codec.MessageCodecs;
 import io.silverware.microservices.providers.cluster.internal.message.response.MicroserviceSearchResponse;
 import io.silverware.microservices.silver.cluster.LocalServiceHandle;
 
@@ -69,7 +70,7 @@ public class MicroserviceSearchResponder extends AbstractResponder<MicroserviceM
          } else {
             log.trace("{} services found for {}", serviceHandles, query);
          }
-         return new MicroserviceSearchResponse(serviceHandles.get(0).getHandle(), FOUND);
+         return new MicroserviceSearchResponse(serviceHandles.get(0).getHandle(), serviceHandles.get(0).getDispatchFingerprint(), MessageCodecs.getInstance().getSupportedCodecs(), FOUND);
       } catch (Throwable e) {
          log.error("Exception thrown during service lookup. ", e);
          return new MicroserviceSearchResponse(EXCEPTION_THROWN_DURING_LOOKUP);
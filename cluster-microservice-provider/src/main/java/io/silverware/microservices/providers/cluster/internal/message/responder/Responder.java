@@ -31,4 +31,17 @@ import org.jgroups.Message;
 public interface Responder<R> {
 
    R processMessage(Message msg);
+
+   /**
+    * Processes a message whose content was already decoded by a {@link io.silverware.microservices.providers.cluster.codec.MessageCodec}.
+    *
+    * @param msg
+    *       the received message
+    * @param content
+    *       decoded content of the message
+    * @return response to the message
+    */
+   default R processMessage(Message msg, Object content) {
+      return processMessage(msg);
+   }
 }
@@ -20,6 +20,7 @@
 package io.silverware.microservices.providers.cluster.internal.message.response;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * Message sent as response for a {@link io.silverware.microservices.MicroserviceMetaData}
@@ -48,15 +49,44 @@ public class MicroserviceSearchResponse implements Serializable {
    }
 
    private final Integer handle;
+   private final Integer dispatchFingerprint;
+   private final byte[] codecs;
    private final Result result;
 
    public MicroserviceSearchResponse(final Result result) {
       handle = null;
+      dispatchFingerprint = null;
+      codecs = null;
       this.result = result;
    }
 
    public MicroserviceSearchResponse(Integer handle, Result result) {
+      this(handle, null, result);
+   }
+
+   /**
+    * Creates a response for a found service that can be invoked by method indices.
+    *
+    * @param handle              - handle of the found service
+    * @param dispatchFingerprint - fingerprint of the method dispatch table of the found service
+    * @param result              - result of the search
+    */
+   public MicroserviceSearchResponse(Integer handle, Integer dispatchFingerprint, Result result) {
+      this(handle, dispatchFingerprint, null, result);
+   }
+
+   /**
+    * Creates a response for a found service that can be invoked by method indices and by messages encoded by the given codecs.
+    *
+    * @param handle              - handle of the found service
+    * @param dispatchFingerprint - fingerprint of the method dispatch table of the found service
+    * @param codecs              - identifications of the message codecs supported by the node in the order of preference
+    * @param result              - result of the search
+    */
+   public MicroserviceSearchResponse(Integer handle, Integer dispatchFingerprint, byte[] codecs, Result result) {
       this.handle = handle;
+      this.dispatchFingerprint = dispatchFingerprint;
+      this.codecs = codecs;
       this.result = result;
    }
 
@@ -68,10 +98,20 @@ public class MicroserviceSearchResponse implements Serializable {
       return handle;
    }
 
+   public Integer getDispatchFingerprint() {
+      return dispatchFingerprint;
+   }
+
+   public byte[] getCodecs() {
+      return codecs;
+   }
+
    @Override
    public String toString() {
       return "MicroserviceSearchResponse{" +
             "handle=" + handle +
+            ", dispatchFingerprint=" + dispatchFingerprint +
+            ", codecs=" + Arrays.toString(codecs) +
             ", result=" + result +
             '}';
    }
@@ -0,0 +1,211 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers.cluster.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.silverware.microservices.providers.cluster.internal.message.request.MicroserviceRemoteCallRequest;
+import io.silverware.microservices.providers.cluster.internal.message.response.MicroserviceRemoteCallResponse;
+import io.silverware.microservices.silver.cluster.Invocation;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test for the message codecs.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class MessageCodecsTest {
+
+   private final MessageCodecs codecs = MessageCodecs.getInstance();
+
+   private final MessageCodec binaryCodec = codecs.getCodec(BinaryCodec.ID);
+
+   @Test
+   public void testIndexedInvocation() throws Exception {
+      final Invocation invocation = new Invocation(42, 3, 0xCAFEBABE, new Object[] { 1, -1L, "hello", null, true });
+
+      final Invocation decoded = roundTrip(invocation);
+
+      assertThat(decoded).isEqualTo(invocation);
+      assertThat(decoded.getDispatchFingerprint()).isEqualTo(0xCAFEBABE);
+   }
+
+   @Test
+   public void testNamedInvocation() throws Exception {
+      final Invocation invocation = new Invocation(7, "schedule", new Class[] { int.class, String.class, LocalDate.class, List.class },
+            new Object[] { Integer.MIN_VALUE, "žluťoučký kůň", LocalDate.of(2017, 1, 1), new ArrayList<>(Arrays.asList(1, 2.5, 'c')) });
+
+      assertThat(roundTrip(invocation)).isEqualTo(invocation);
+   }
+
+   @Test
+   public void testResponseValues() throws Exception {
+      final Map<String, Object> map = new HashMap<>();
+      map.put("bytes", new byte[] { 1, 2, 3 });
+      map.put("nested", new Object[] { (short) -5, (byte) 8, 1.5f, Long.MAX_VALUE, Double.NaN });
+      map.put("serializable", new Payload("custom"));
+
+      final Map<String, Object> decoded = (Map<String, Object>) roundTrip(new MicroserviceRemoteCallResponse(map));
+
+      assertThat(decoded).containsOnlyKeys("bytes", "nested", "serializable");
+      assertThat((byte[]) decoded.get("bytes")).containsExactly((byte) 1, (byte) 2, (byte) 3);
+      assertThat((Object[]) decoded.get("nested")).containsExactly((short) -5, (byte) 8, 1.5f, Long.MAX_VALUE, Double.NaN);
+      assertThat(decoded.get("serializable")).isEqualTo(new Payload("custom"));
+   }
+
+   @Test
+   public void testSharedAndCyclicValues() throws Exception {
+      final List<Object> shared = new ArrayList<>(Arrays.asList(1, 2));
+      final Object[] params = roundTrip(new Invocation(1, 0, 12345, new Object[] { shared, shared })).getParams();
+
+      assertThat(params[0]).isEqualTo(shared).isSameAs(params[1]);
+
+      final List<Object> cyclic = new ArrayList<>();
+      cyclic.add("head");
+      cyclic.add(cyclic);
+      final List<?> decoded = (List<?>) roundTrip(new MicroserviceRemoteCallResponse(cyclic));
+
+      assertThat(decoded.get(0)).isEqualTo("head");
+      assertThat(decoded.get(1)).isSameAs(decoded);
+   }
+
+   @Test
+   public void testDeeplyNestedValue() throws Exception {
+      Object nested = "bottom";
+      for (int i = 0; i < BinaryCodec.MAX_DEPTH * 2; i++) {
+         nested = new Object[] { nested };
+      }
+
+      Object decoded = roundTrip(new MicroserviceRemoteCallResponse(nested));
+      for (int i = 0; i < BinaryCodec.MAX_DEPTH * 2; i++) {
+         decoded = ((Object[]) decoded)[0];
+      }
+
+      assertThat(decoded).isEqualTo("bottom");
+   }
+
+   @Test
+   public void testBinaryIsSmallerThanSerialization() throws Exception {
+      final MicroserviceRemoteCallRequest request = new MicroserviceRemoteCallRequest(new Invocation(1, 0, 12345, new Object[] { 10L }));
+
+      final byte[] encoded = codecs.encode(binaryCodec, request);
+
+      assertThat(encoded.length).isLessThan(serialize(request).length / 10);
+      assertThat(encoded[0]).isEqualTo(BinaryCodec.ID);
+   }
+
+   @Test
+   public void testFallbackToSerialization() throws Exception {
+      final byte[] encoded = codecs.encode(binaryCodec, "not an invocation");
+
+      assertThat(encoded[0]).isEqualTo(JavaSerializationCodec.ID);
+      assertThat(codecs.decode(encoded)).isEqualTo("not an invocation");
+   }
+
+   @Test
+   public void testNegotiation() throws Exception {
+      assertThat(codecs.negotiate(null)).isNull();
+      assertThat(codecs.negotiate(new byte[] { JavaSerializationCodec.ID, BinaryCodec.ID }).getId()).isEqualTo(BinaryCodec.ID);
+      assertThat(codecs.negotiate(new byte[] { JavaSerializationCodec.ID }).getId()).isEqualTo(JavaSerializationCodec.ID);
+      assertThat(codecs.negotiate(new byte[] { 100 }).getId()).isEqualTo(JavaSerializationCodec.ID);
+      assertThat(codecs.getSupportedCodecs()).contains(BinaryCodec.ID, JavaSerializationCodec.ID);
+   }
+
+   @Test
+   public void testCorruptedMessage() throws Exception {
+      final byte[] encoded = codecs.encode(binaryCodec, new MicroserviceRemoteCallResponse("hello"));
+
+      assertThatThrownBy(() -> codecs.decode(Arrays.copyOf(encoded, encoded.length - 1))).isInstanceOf(IOException.class);
+      assertThatThrownBy(() -> codecs.decode(new byte[] { 100, 1, 2 })).isInstanceOf(IOException.class);
+      assertThatThrownBy(() -> codecs.decode(new byte[0])).isInstanceOf(IOException.class);
+   }
+
+   @Test
+   public void testVariableLengthIntegers() throws Exception {
+      final CodecOutput output = new CodecOutput(1);
+      final long[] values = { 0, 1, -1, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+      for (final long value : values) {
+         output.writeZigZagLong(value);
+         output.writeZigZagInt((int) value);
+         output.writeVarInt((int) value);
+      }
+
+      final byte[] bytes = output.toByteArray();
+      final CodecInput input = new CodecInput(bytes, 0, bytes.length);
+      for (final long value : values) {
+         assertThat(input.readZigZagLong()).isEqualTo(value);
+         assertThat(input.readZigZagInt()).isEqualTo((int) value);
+         assertThat(input.readVarInt()).isEqualTo((int) value);
+      }
+      assertThat(input.available()).isZero();
+   }
+
+   private Invocation roundTrip(final Invocation invocation) throws IOException {
+      final byte[] encoded = codecs.encode(binaryCodec, new MicroserviceRemoteCallRequest(invocation));
+
+      return ((MicroserviceRemoteCallRequest) codecs.decode(encoded)).getInvocation();
+   }
+
+   private Object roundTrip(final MicroserviceRemoteCallResponse response) throws IOException {
+      final byte[] encoded = codecs.encode(binaryCodec, response);
+
+      return ((MicroserviceRemoteCallResponse) codecs.decode(encoded)).getMessageCallResult();
+   }
+
+   private static byte[] serialize(final Object object) throws IOException {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+         stream.writeObject(object);
+      }
+      return bytes.toByteArray();
+   }
+
+   private static class Payload implements Serializable {
+
+      private final String value;
+
+      private Payload(final String value) {
+         this.value = value;
+      }
+
+      @Override
+      public boolean equals(final Object o) {
+         return o instanceof Payload && value.equals(((Payload) o).value);
+      }
+
+      @Override
+      public int hashCode() {
+         return value.hashCode();
+      }
+   }
+}
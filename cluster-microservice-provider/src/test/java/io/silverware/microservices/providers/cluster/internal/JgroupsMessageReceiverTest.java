@@ -19,19 +19,27 @@
  */
 package io.silverware.microservices.providers.cluster.internal;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.silverware.microservices.providers.cluster.internal.exception.SilverWareClusteringException;
 import io.silverware.microservices.providers.cluster.internal.message.responder.Responder;
 import io.silverware.microservices.silver.cluster.RemoteServiceHandlesStore;
+import io.silverware.microservices.util.InvocationGate;
 
 import org.jgroups.Message;
 import org.jgroups.blocks.MessageDispatcher;
+import org.jgroups.blocks.Response;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import mockit.Capturing;
 import mockit.Verifications;
@@ -51,6 +59,8 @@ public class JgroupsMessageReceiverTest {
    private Responder responder2;
    @Capturing
    private RemoteServiceHandlesStore store;
+   @Capturing
+   private Response response;
    public static final Message STRING_MSG = new Message(null, null, "hello");
    public static final Message UUID_MSG = new Message(null, null, UUID.randomUUID());
 
@@ -129,6 +139,56 @@ public class JgroupsMessageReceiverTest {
 
    }
 
+   @Test
+   public void testAsynchronousHandle() throws Exception {
+      List<Runnable> tasks = new ArrayList<>();
+      JgroupsMessageReceiver jgroupsMessageReceiver = new JgroupsMessageReceiver(generateRespondersMap(), new RemoteServiceHandlesStore(), new InvocationGate(), tasks::add);
+      jgroupsMessageReceiver.handle(STRING_MSG, response);
+      new Verifications() {{
+         responder1.processMessage((Message) any);
+         times = 0;
+         response.send(any, anyBoolean);
+         times = 0;
+      }};
+      tasks.forEach(Runnable::run);
+      new Verifications() {{
+         responder1.processMessage(STRING_MSG);
+         times = 1;
+         response.send(any, false);
+         times = 1;
+      }};
+   }
+
+   @Test
+   public void testRejectedHandleIsAnswered() throws Exception {
+      JgroupsMessageReceiver jgroupsMessageReceiver = new JgroupsMessageReceiver(generateRespondersMap(), new RemoteServiceHandlesStore(), new InvocationGate(), task -> {
+         throw new RejectedExecutionException("saturated");
+      });
+      jgroupsMessageReceiver.handle(STRING_MSG, response);
+      new Verifications() {{
+         responder1.processMessage((Message) any);
+         times = 0;
+         SilverWareClusteringException error;
+         response.send(error = withCapture(), true);
+         times = 1;
+         assertThat(error.getReason()).isEqualTo(SilverWareClusteringException.SilverWareClusteringError.OVERLOADED);
+      }};
+   }
+
+   @Test
+   public void testHandleAfterShutdownIsAnswered() throws Exception {
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      executor.shutdown();
+      JgroupsMessageReceiver jgroupsMessageReceiver = new JgroupsMessageReceiver(generateRespondersMap(), new RemoteServiceHandlesStore(), new InvocationGate(), executor);
+      jgroupsMessageReceiver.handle(STRING_MSG, response);
+      new Verifications() {{
+         SilverWareClusteringException error;
+         response.send(error = withCapture(), true);
+         times = 1;
+         assertThat(error.getReason()).isEqualTo(SilverWareClusteringException.SilverWareClusteringError.SHUTTING_DOWN);
+      }};
+   }
+
    @Test
    public void testViewAccepted() throws Exception {
 
@@ -27,12 +27,16 @@ import org.jgroups.Message;
 import org.jgroups.blocks.MessageDispatcher;
 import org.jgroups.blocks.RequestOptions;
 import org.jgroups.blocks.ResponseMode;
+import org.jgroups.util.FutureListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import mockit.Capturing;
 import mockit.Expectations;
@@ -114,4 +118,90 @@ public class JgroupsMessageSenderTest {
 
    }
 
+   @Test
+   public void testSendToAddressWithFuture() throws Exception {
+      String id = UUID.randomUUID().toString();
+      assertThat(jgroupsMessageSender.sendToAddressWithFuture(address, id)).isNotDone();
+      new Verifications() {{
+         Message msg;
+         RequestOptions options;
+         dispatcher.sendMessageWithFuture(msg = withCapture(), options = withCapture(), (FutureListener) any);
+         assertThat(msg.getObject()).isEqualTo(id);
+         assertThat(msg.getDest()).isEqualTo(address);
+         assertThat(options.getMode()).isEqualTo(ResponseMode.GET_ALL);
+      }};
+
+   }
+
+   @Test
+   public void testSendToAddressPipelined() throws Exception {
+      final JgroupsMessageSender pipelinedSender = new JgroupsMessageSender(dispatcher, 2, Runnable::run);
+      new Expectations(pipelinedSender) {{
+         pipelinedSender.getMembersAddresses();
+         result = Collections.singletonList(address);
+      }};
+      final CompletableFuture<String> first = pipelinedSender.sendToAddressPipelined(address, "first", null);
+      final CompletableFuture<String> second = pipelinedSender.sendToAddressPipelined(address, "second", null);
+      final CompletableFuture<String> third = pipelinedSender.sendToAddressPipelined(address, "third", null);
+      assertThat(pipelinedSender.getOutstandingRequests(address)).isEqualTo(2);
+
+      final List<FutureListener> listeners = new ArrayList<>();
+      new Verifications() {{
+         RequestOptions options;
+         dispatcher.sendMessageWithFuture((Message) any, options = withCapture(), withCapture(listeners));
+         times = 2;
+         assertThat(options.getMode()).isEqualTo(ResponseMode.GET_ALL);
+      }};
+
+      listeners.get(0).futureDone(CompletableFuture.completedFuture("response"));
+      assertThat(first.get()).isEqualTo("response");
+
+      final List<Message> messages = new ArrayList<>();
+      new Verifications() {{
+         dispatcher.sendMessageWithFuture(withCapture(messages), (RequestOptions) any, (FutureListener) any);
+         times = 3;
+         assertThat(messages.get(2).getObject()).isEqualTo("third");
+      }};
+      assertThat(pipelinedSender.getOutstandingRequests(address)).isEqualTo(2);
+
+      pipelinedSender.close();
+      assertThat(second.isCompletedExceptionally()).isTrue();
+      assertThat(third.isCompletedExceptionally()).isTrue();
+      assertThat(pipelinedSender.getOutstandingRequests(address)).isZero();
+   }
+
+   @Test
+   public void testPipelinedRequestsFailWhenNodeLeaves() throws Exception {
+      final Address otherAddress = new org.jgroups.util.UUID();
+      new Expectations(jgroupsMessageSender) {{
+         jgroupsMessageSender.getMembersAddresses();
+         result = Arrays.asList(address, otherAddress);
+      }};
+      final CompletableFuture<String> request = jgroupsMessageSender.sendToAddressPipelined(address, "request", null);
+      final CompletableFuture<String> otherRequest = jgroupsMessageSender.sendToAddressPipelined(otherAddress, "other", null);
+
+      jgroupsMessageSender.keepDestinationsFor(Collections.singletonList(otherAddress));
+
+      assertThat(request.isCompletedExceptionally()).isTrue();
+      assertThat(jgroupsMessageSender.getOutstandingRequests(address)).isZero();
+      assertThat(otherRequest).isNotDone();
+      assertThat(jgroupsMessageSender.getOutstandingRequests(otherAddress)).isEqualTo(1);
+   }
+
+   @Test
+   public void testPipelinedRequestToFormerMemberFails() throws Exception {
+      new Expectations(jgroupsMessageSender) {{
+         jgroupsMessageSender.getMembersAddresses();
+         result = Collections.emptyList();
+      }};
+
+      final CompletableFuture<String> request = jgroupsMessageSender.sendToAddressPipelined(address, "request", null);
+
+      assertThat(request.isCompletedExceptionally()).isTrue();
+      assertThat(jgroupsMessageSender.getOutstandingRequests(address)).isZero();
+      new Verifications() {{
+         dispatcher.sendMessageWithFuture((Message) any, (RequestOptions) any, (FutureListener) any);
+         times = 0;
+      }};
+   }
 }
@@ -33,6 +33,7 @@ import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Basic Unit tests for remote handles store
@@ -86,4 +87,16 @@ public class RemoteServiceHandleStoreTest {
       assertThat(services).hasSize(3);
    }
 
+   @Test
+   public void testChangesAreReported() {
+      AtomicInteger changes = new AtomicInteger();
+      RemoteServiceHandlesStore store = new RemoteServiceHandlesStore(changes::incrementAndGet);
+      store.addHandles(META_DATA, new HashSet<>());
+      assertThat(changes.get()).isEqualTo(0);
+      store.addHandle(META_DATA, SERVICE_HANDLE);
+      store.addHandles(META_DATA, Util.createSetFrom(Util.createHandle(1)));
+      store.keepHandlesFor(Util.createSetFrom(SERVICE_HANDLE.getHost()));
+      assertThat(changes.get()).isEqualTo(3);
+   }
+
 }
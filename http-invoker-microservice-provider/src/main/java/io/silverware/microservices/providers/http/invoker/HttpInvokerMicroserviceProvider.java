@@ -20,10 +20,11 @@
 package io.silverware.microservices.providers.http.invoker;
 
 import io.silverware.microservices.Context;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.providers.http.invoker.internal.HttpInvokerServlet;
 import io.silverware.microservices.silver.HttpInvokerSilverService;
 import io.silverware.microservices.silver.HttpServerSilverService;
+import io.silverware.microservices.silver.SilverService;
 import io.silverware.microservices.silver.http.ServletDescriptor;
 import io.silverware.microservices.util.Utils;
 
@@ -32,11 +33,12 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Collections;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
-public class HttpInvokerMicroserviceProvider implements MicroserviceProvider, HttpInvokerSilverService {
+public class HttpInvokerMicroserviceProvider implements LifecycleMicroserviceProvider, HttpInvokerSilverService {
 
    private static final Logger log = LogManager.getLogger(HttpInvokerMicroserviceProvider.class);
 
@@ -49,56 +51,41 @@ public class HttpInvokerMicroserviceProvider implements MicroserviceProvider, Ht
       context.getProperties().putIfAbsent(INVOKER_URL, "invoker");
    }
 
+   @Override
+   public Set<Class<? extends SilverService>> getDependencies() {
+      return Collections.singleton(HttpServerSilverService.class);
+   }
+
    @Override
    public Context getContext() {
       return context;
    }
 
    @Override
-   public void run() {
-      try {
-         log.info("Hello from Http Invoker microservice provider!");
-         Utils.waitForCDIProvider(context);
-         HttpInvokerServlet.setContext(context);
-         try {
-            if (log.isDebugEnabled()) {
-               log.debug("Waiting for the Http Microservice provider.");
-            }
-
-            while (!Thread.currentThread().isInterrupted()) {
-
-               if (http == null) {
-                  http = (HttpServerSilverService) context.getProvider(HttpServerSilverService.class);
-
-                  if (http != null) {
-                     if (log.isDebugEnabled()) {
-                        log.debug("Discovered Http Silverservice: " + http.getClass().getName());
-                     }
-
-                     log.info("Deploying Http Invoker...");
-
-                     http.deployServlet((String) context.getProperties().get(INVOKER_URL), "", Collections.singletonList(getServletDescriptor()));
-
-                     final String invokerUrl = "http://" + context.getProperties().get(HttpServerSilverService.HTTP_SERVER_ADDRESS) + ":" + context.getProperties().get(HttpServerSilverService.HTTP_SERVER_PORT) + "/" + context.getProperties().get(INVOKER_URL) + "/";
-
-                     if (log.isTraceEnabled()) {
-                        log.trace("Waiting for invoker to appear at {}", invokerUrl);
-                     }
-
-                     if (!Utils.waitForHttp(invokerUrl, 204)) {
-                        throw new InterruptedException("Unable to start Http Invoker.");
-                     }
-                  }
-               }
-
-               Thread.sleep(1000);
-            }
-         } catch (InterruptedException ie) {
-            Utils.shutdownLog(log, ie);
-         }
-      } catch (Exception e) {
-         log.error("Http Invoker microservice provider failed: ", e);
+   public void start() throws Exception {
+      log.info("Hello from Http Invoker microservice provider!");
+      Utils.waitForCDIProvider(context);
+      HttpInvokerServlet.setContext(context);
+
+      if (log.isDebugEnabled()) {
+         log.debug("Waiting for the Http Microservice provider.");
+      }
+
+      http = Utils.waitForHttpServer(context);
+
+      if (log.isDebugEnabled()) {
+         log.debug("Discovered Http Silverservice: " + http.getClass().getName());
       }
+
+      log.info("Deploying Http Invoker...");
+
+      // the server is already listening so the invoker is available as soon as the deployment returns
+      http.deployServlet((String) context.getProperties().get(INVOKER_URL), "", Collections.singletonList(getServletDescriptor()));
+   }
+
+   @Override
+   public void stop() {
+      // the invoker is stopped together with the HTTP server
    }
 
    private ServletDescriptor getServletDescriptor() {
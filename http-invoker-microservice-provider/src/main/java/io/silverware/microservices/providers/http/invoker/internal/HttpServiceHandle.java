@@ -22,12 +22,16 @@ package io.silverware.microservices.providers.http.invoker.internal;
 import io.silverware.microservices.Context;
 import io.silverware.microservices.silver.HttpInvokerSilverService;
 import io.silverware.microservices.silver.cluster.Invocation;
+import io.silverware.microservices.util.Utils;
 
 import com.cedarsoftware.util.io.JsonReader;
 import com.cedarsoftware.util.io.JsonWriter;
 
+import java.lang.reflect.Method;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Can act as a Http Invoker client to invoke the remote Microservice.
@@ -65,7 +69,7 @@ public class HttpServiceHandle {
     *       in case of any error
     */
    public Object invoke(final Context context, final String method, final Class[] paramTypes, final Object[] params) throws Exception {
-      String urlBase = "http://" + host + "/" + context.getProperties().get(HttpInvokerSilverService.INVOKER_URL) + "/invoke";
+      String urlBase = "http://" + host + "/" + context.getConfiguration().getString(HttpInvokerSilverService.INVOKER_URL, null) + "/invoke";
 
       HttpURLConnection con = (HttpURLConnection) new URL(urlBase).openConnection();
       con.setRequestMethod("POST");
@@ -83,4 +87,49 @@ public class HttpServiceHandle {
 
       return response;
    }
+
+   /**
+    * Invokes the given method of the remote Microservice. Methods returning a {@link CompletableFuture} or a
+    * {@link java.util.concurrent.CompletionStage} are invoked by {@link #invokeAsync(Context, String, Class[], Object[])}.
+    *
+    * @param context
+    *       Local microservice context
+    * @param method
+    *       the method to be invoked
+    * @param params
+    *       parameters of method called
+    * @return result of the invocation, or a future of the result for asynchronous methods
+    * @throws Exception
+    *       in case of any error
+    */
+   public Object invoke(final Context context, final Method method, final Object[] params) throws Exception {
+      if (Utils.isAsynchronous(method.getReturnType())) {
+         return invokeAsync(context, method.getName(), method.getParameterTypes(), params);
+      }
+      return invoke(context, method.getName(), method.getParameterTypes(), params);
+   }
+
+   /**
+    * Invokes the remote Microservice on the asynchronous executor of the context.
+    * The caller is not blocked, however the blocking HTTP connection holds an executor thread for the round trip.
+    *
+    * @param context
+    *       Local microservice context providing the executor
+    * @param method
+    *       name of the method to be invoked
+    * @param paramTypes
+    *       parameters types
+    * @param params
+    *       parameters of method called
+    * @return future completed with the result of the invocation
+    */
+   public CompletableFuture<Object> invokeAsync(final Context context, final String method, final Class[] paramTypes, final Object[] params) {
+      return CompletableFuture.supplyAsync(() -> {
+         try {
+            return invoke(context, method, paramTypes, params);
+         } catch (Exception e) {
+            throw new CompletionException(e);
+         }
+      }, context.getAsyncExecutor());
+   }
 }
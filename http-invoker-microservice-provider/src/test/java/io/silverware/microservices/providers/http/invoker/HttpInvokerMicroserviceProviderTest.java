@@ -27,6 +27,8 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
@@ -77,6 +79,10 @@ public class HttpInvokerMicroserviceProviderTest {
       long l = (Long) handle.invoke(bootUtil.getContext(), "sum", new Class[] { short.class, int.class }, new Object[] { (short) 3, 4 });
       Assert.assertEquals(l, 7L);
 
+      final Object future = handle.invoke(bootUtil.getContext(), SumService.class.getMethod("sumAsync", short.class, int.class), new Object[] { (short) 3, 4 });
+      Assert.assertTrue(future instanceof CompletableFuture);
+      Assert.assertEquals(((CompletableFuture<?>) future).get(10, TimeUnit.SECONDS), 7L);
+
       con = (HttpURLConnection) new URL(urlBase + "invoke").openConnection();
       con.setRequestMethod("POST");
       con.setDoInput(true);
@@ -198,6 +204,10 @@ public class HttpInvokerMicroserviceProviderTest {
          return a + b;
       }
 
+      public CompletableFuture<Long> sumAsync(short a, int b) {
+         return CompletableFuture.completedFuture(sum(a, b));
+      }
+
       public String allTypes(final byte b, short s, int i, long l, float f, double d, boolean o, char c) {
          return (b + s + i + l + f + d) + String.valueOf(o) + c;
       }
@@ -21,10 +21,11 @@ package io.silverware.microservices.providers.http;
 
 import io.silverware.microservices.Context;
 import io.silverware.microservices.SilverWareException;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.providers.http.resteasy.SilverwareResourceFactory;
 import io.silverware.microservices.silver.HttpServerSilverService;
 import io.silverware.microservices.silver.http.ServletDescriptor;
+import io.silverware.microservices.util.InvocationGate;
 import io.silverware.microservices.util.Utils;
 
 import org.apache.commons.lang3.StringUtils;
@@ -43,6 +44,7 @@ import javax.ws.rs.Path;
 
 import io.undertow.Undertow;
 import io.undertow.Undertow.Builder;
+import io.undertow.server.HttpHandler;
 import io.undertow.servlet.Servlets;
 import io.undertow.servlet.api.DeploymentInfo;
 import io.undertow.servlet.api.SecurityConstraint;
@@ -50,17 +52,18 @@ import io.undertow.servlet.api.SecurityInfo;
 import io.undertow.servlet.api.ServletInfo;
 import io.undertow.servlet.api.TransportGuaranteeType;
 import io.undertow.servlet.api.WebResourceCollection;
+import io.undertow.util.StatusCodes;
 
 /**
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
-public class HttpServerMicroserviceProvider implements MicroserviceProvider, HttpServerSilverService {
+public class HttpServerMicroserviceProvider implements LifecycleMicroserviceProvider, HttpServerSilverService {
 
    private static final Logger log = LogManager.getLogger(HttpServerMicroserviceProvider.class);
    private Context context;
    private UndertowJaxrsServer server;
    private Boolean sslEnabled = false;
-   private boolean deployed = false;
+   private volatile boolean deployed = false;
 
    @Override
    public void initialize(final Context context) {
@@ -70,13 +73,14 @@ public class HttpServerMicroserviceProvider implements MicroserviceProvider, Htt
       context.getProperties().putIfAbsent(HTTP_SERVER_REST_CONTEXT_PATH, "/silverware");
       context.getProperties().putIfAbsent(HTTP_SERVER_REST_SERVLET_MAPPING_PREFIX, "rest");
 
-      if (Boolean.valueOf(String.valueOf(context.getProperties().get(HTTP_SERVER_SSL_ENABLED)))) {
+      if (context.getConfiguration().getBoolean(HTTP_SERVER_SSL_ENABLED, false)) {
          log.info("Property 'silverware.http.server.ssl.enabled' set to 'true', enabling SSL.");
          this.sslEnabled = true;
          configureSSL();
       }
       this.server = new UndertowJaxrsServer();
       context.getProperties().put(HTTP_SERVER, this.server);
+      context.announceMilestone(HTTP_LISTENING);
    }
 
    @Override
@@ -92,7 +96,8 @@ public class HttpServerMicroserviceProvider implements MicroserviceProvider, Htt
             .deployment()
             .setClassLoader(this.getClass().getClassLoader())
             .setContextPath(contextPath)
-            .setDeploymentName(deploymentName);
+            .setDeploymentName(deploymentName)
+            .addOuterHandlerChainWrapper(this::guard);
       if (servletDescriptors != null) {
          servletDescriptors.forEach(servletDescriptor -> {
             final ServletInfo servletInfo = Servlets
@@ -115,55 +120,62 @@ public class HttpServerMicroserviceProvider implements MicroserviceProvider, Htt
    }
 
    @Override
-   public void run() {
+   public void start() throws Exception {
+      log.info("Hello from Http Server microservice provider!");
+      boolean started = false;
       try {
-         log.info("Hello from Http Server microservice provider!");
-         try {
-            final Builder builder = Undertow.builder().addHttpListener(
-                  Integer.valueOf(this.context.getProperties().get(HTTP_SERVER_PORT).toString()),
-                  String.valueOf(this.context.getProperties().get(HTTP_SERVER_ADDRESS)));
-            if (this.sslEnabled) {
-               builder.addHttpsListener(
-                     sslPort(),
-                     String.valueOf(this.context.getProperties().get(HTTP_SERVER_ADDRESS)),
-                     sslContext());
-            }
-            this.server.start(builder);
-            this.server.deploy(deploymentInfo());
-            log.info("Started http server at {}:{}{}/{} ",
+         final Builder builder = Undertow.builder().addHttpListener(
+               this.context.getConfiguration().getInt(HTTP_SERVER_PORT, 8080),
+               readProperty(HTTP_SERVER_ADDRESS));
+         if (this.sslEnabled) {
+            builder.addHttpsListener(
+                  sslPort(),
                   readProperty(HTTP_SERVER_ADDRESS),
-                  readProperty(HTTP_SERVER_PORT),
-                  readProperty(HTTP_SERVER_REST_CONTEXT_PATH),
-                  readProperty(HTTP_SERVER_REST_SERVLET_MAPPING_PREFIX)
-            );
-            this.deployed = true;
-
-            while (!Thread.currentThread().isInterrupted()) {
-               Thread.sleep(1000);
-            }
-         } catch (final InterruptedException ie) {
-            Utils.shutdownLog(log, ie);
-         } catch (final Exception ie) {
-            log.error("Error while initializing.", ie);
-         } finally {
-            this.server.stop();
-            this.deployed = false;
+                  sslContext());
          }
+         long start = System.nanoTime();
+         this.server.start(builder);
+         started = true;
+         this.context.getDeployStats().recordPhase("Undertow start", start);
+
+         final DeploymentInfo deploymentInfo = deploymentInfo();
+         start = System.nanoTime();
+         this.server.deploy(deploymentInfo);
+         this.context.getDeployStats().recordPhase("REST deployment", start);
+         log.info("Started http server at {}:{}{}/{} ",
+               readProperty(HTTP_SERVER_ADDRESS),
+               readProperty(HTTP_SERVER_PORT),
+               readProperty(HTTP_SERVER_REST_CONTEXT_PATH),
+               readProperty(HTTP_SERVER_REST_SERVLET_MAPPING_PREFIX)
+         );
+         this.deployed = true;
+         this.context.reachMilestone(HTTP_LISTENING, this);
       } catch (final Exception e) {
-         log.error("Http Server microservice provider failed: ", e);
+         this.context.failMilestone(HTTP_LISTENING, e);
+         if (started) {
+            stop();
+         }
+         throw e;
       }
    }
 
+   @Override
+   public void stop() {
+      this.deployed = false;
+      this.server.stop();
+   }
+
    private DeploymentInfo deploymentInfo() throws InterruptedException {
       final ResteasyDeployment resteasyDeployment = new ResteasyDeployment();
       Utils.waitForCDIProvider(context);
 
       resteasyDeployment.setResourceFactories(resourceFactories());
       final DeploymentInfo deploymentInfo = this.server.undertowDeployment(resteasyDeployment,
-            String.valueOf(this.context.getProperties().get(HTTP_SERVER_REST_SERVLET_MAPPING_PREFIX)))
-                                                       .setContextPath(String.valueOf(this.context.getProperties().get(HTTP_SERVER_REST_CONTEXT_PATH)))
+            readProperty(HTTP_SERVER_REST_SERVLET_MAPPING_PREFIX))
+                                                       .setContextPath(readProperty(HTTP_SERVER_REST_CONTEXT_PATH))
                                                        .setClassLoader(this.getClass().getClassLoader())
-                                                       .setDeploymentName("Silverware rest deployment");
+                                                       .setDeploymentName("Silverware rest deployment")
+                                                       .addOuterHandlerChainWrapper(this::guard);
       if (this.sslEnabled) {
          deploymentInfo
                .addSecurityConstraint(new SecurityConstraint().addWebResourceCollection(new WebResourceCollection()
@@ -175,6 +187,31 @@ public class HttpServerMicroserviceProvider implements MicroserviceProvider, Htt
       return deploymentInfo;
    }
 
+   /**
+    * Wraps the deployment handler so that requests are counted as invocations in flight and rejected
+    * with 503 Service Unavailable once the platform is shutting down.
+    *
+    * @param next
+    *        The handler to be guarded.
+    * @return The guarding handler.
+    */
+   private HttpHandler guard(final HttpHandler next) {
+      return exchange -> {
+         final InvocationGate gate = this.context.getInvocationGate();
+         if (!gate.enter()) {
+            exchange.setStatusCode(StatusCodes.SERVICE_UNAVAILABLE);
+            exchange.endExchange();
+            return;
+         }
+
+         exchange.addExchangeCompleteListener((completed, nextListener) -> {
+            gate.exit();
+            nextListener.proceed();
+         });
+         next.handleRequest(exchange);
+      };
+   }
+
    /**
     * Creates an instance of {@link SilverwareResourceFactory} for each Microservice
     * with the {@link Path} annotation.
@@ -238,14 +275,10 @@ public class HttpServerMicroserviceProvider implements MicroserviceProvider, Htt
    }
 
    private Integer sslPort() {
-      return Integer.parseInt(readProperty(HTTPS_SERVER_PORT));
+      return this.context.getConfiguration().getInt(HTTPS_SERVER_PORT, 10443);
    }
 
    private String readProperty(final String key) {
-      if (this.context.getProperties().get(key) == null) {
-         return null;
-      } else {
-         return String.valueOf(this.context.getProperties().get(key));
-      }
+      return this.context.getConfiguration().getString(key, null);
    }
 }
@@ -20,9 +20,10 @@
 package io.silverware.microservices.providers.hystrix;
 
 import io.silverware.microservices.Context;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.silver.HttpServerSilverService;
 import io.silverware.microservices.silver.HystrixSilverService;
+import io.silverware.microservices.silver.SilverService;
 import io.silverware.microservices.silver.http.ServletDescriptor;
 import io.silverware.microservices.util.Utils;
 
@@ -32,11 +33,12 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Collections;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Publishes Hystrix metrics stream generated by executed Hystrix commands.
  */
-public class HystrixMicroserviceProvider implements MicroserviceProvider, HystrixSilverService {
+public class HystrixMicroserviceProvider implements LifecycleMicroserviceProvider, HystrixSilverService {
 
    private static final Logger log = LogManager.getLogger(HystrixMicroserviceProvider.class);
 
@@ -52,13 +54,18 @@ public class HystrixMicroserviceProvider implements MicroserviceProvider, Hystri
       context.getProperties().putIfAbsent(HYSTRIX_METRICS_PATH, "hystrix.stream");
    }
 
+   @Override
+   public Set<Class<? extends SilverService>> getDependencies() {
+      return Collections.singleton(HttpServerSilverService.class);
+   }
+
    @Override
    public Context getContext() {
       return context;
    }
 
    @Override
-   public void run() {
+   public void start() throws Exception {
       log.info("Hello from Hystrix microservice provider!");
 
       if (!isMetricsEnabled()) {
@@ -68,44 +75,26 @@ public class HystrixMicroserviceProvider implements MicroserviceProvider, Hystri
          return;
       }
 
-      try {
-         if (log.isDebugEnabled()) {
-            log.debug("Waiting for the HTTP server microservice provider.");
-         }
-
-         HttpServerSilverService http = null;
-         while (!Thread.currentThread().isInterrupted()) {
-            if (http == null) {
-               http = (HttpServerSilverService) context.getProvider(HttpServerSilverService.class);
-
-               if (http != null) {
-                  if (log.isDebugEnabled()) {
-                     log.debug("Discovered HTTP Silverservice: " + http.getClass().getName());
-                  }
+      if (log.isDebugEnabled()) {
+         log.debug("Waiting for the HTTP server microservice provider.");
+      }
 
-                  final String contextPath = (String) context.getProperties().get(HYSTRIX_METRICS_PATH);
-                  final String url = getMetricsStreamUrl(contextPath);
-                  log.info("Deploying Hystrix metrics stream at {}", url);
+      final HttpServerSilverService http = Utils.waitForHttpServer(context);
 
-                  http.deployServlet(contextPath, SERVLET_NAME, Collections.singletonList(createServletDescriptor()));
+      if (log.isDebugEnabled()) {
+         log.debug("Discovered HTTP Silverservice: " + http.getClass().getName());
+      }
 
-                  if (log.isTraceEnabled()) {
-                     log.trace("Waiting for Hystrix metrics stream to appear at {}", url);
-                  }
+      final String contextPath = context.getConfiguration().getString(HYSTRIX_METRICS_PATH, "hystrix.stream");
+      log.info("Deploying Hystrix metrics stream at {}", getMetricsStreamUrl(contextPath));
 
-                  if (!Utils.waitForHttp(url, 200)) {
-                     throw new InterruptedException("Unable to start Hystrix metrics stream.");
-                  }
-               }
-            }
+      // the server is already listening so the stream is available as soon as the deployment returns
+      http.deployServlet(contextPath, SERVLET_NAME, Collections.singletonList(createServletDescriptor()));
+   }
 
-            Thread.sleep(1000);
-         }
-      } catch (InterruptedException ex) {
-         Utils.shutdownLog(log, ex);
-      } catch (Exception ex) {
-         log.error("Hystrix microservice provider failed: ", ex);
-      }
+   @Override
+   public void stop() {
+      // the metrics stream is stopped together with the HTTP server
    }
 
    private ServletDescriptor createServletDescriptor() {
@@ -119,6 +108,6 @@ public class HystrixMicroserviceProvider implements MicroserviceProvider, Hystri
    }
 
    private boolean isMetricsEnabled() {
-      return Boolean.parseBoolean((String) context.getProperties().get(HYSTRIX_METRICS_ENABLED));
+      return context.getConfiguration().getBoolean(HYSTRIX_METRICS_ENABLED, false);
    }
 }
@@ -0,0 +1,50 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled so that allocations per operation are reported next to the timings.
+ * All standard JMH command line options are accepted, e.g. <code>java -jar target/benchmarks.jar ProxyInvocation -p chain=DEFAULT</code>.
+ */
+public final class BenchmarkRunner {
+
+   private BenchmarkRunner() {
+   }
+
+   /**
+    * Runs the benchmarks.
+    *
+    * @param args
+    *       JMH command line options.
+    * @throws Exception
+    *       When the options cannot be parsed or the benchmarks fail.
+    */
+   public static void main(final String... args) throws Exception {
+      new Runner(new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+   }
+}
@@ -0,0 +1,147 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks;
+
+import io.silverware.microservices.providers.cluster.codec.BinaryCodec;
+import io.silverware.microservices.providers.cluster.codec.JavaSerializationCodec;
+import io.silverware.microservices.providers.cluster.codec.MessageCodec;
+import io.silverware.microservices.providers.cluster.codec.MessageCodecs;
+import io.silverware.microservices.providers.cluster.internal.message.request.MicroserviceRemoteCallRequest;
+import io.silverware.microservices.providers.cluster.internal.message.response.MicroserviceRemoteCallResponse;
+import io.silverware.microservices.silver.cluster.Invocation;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of the messages sent between the cluster nodes by the message codecs.
+ * The <code>java</code> codec is the original Java serialization, the size of the encoded messages is reported
+ * as the <code>payloadBytes</code> secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClusterCodecBenchmark {
+
+   /**
+    * Kinds of the benchmarked messages.
+    */
+   public enum MessageType {
+      INDEXED_REQUEST, NAMED_REQUEST, RESPONSE
+   }
+
+   @Param({ "java", "binary" })
+   private String codec;
+
+   @Param({ "INDEXED_REQUEST", "NAMED_REQUEST", "RESPONSE" })
+   private MessageType messageType;
+
+   private final MessageCodecs codecs = MessageCodecs.getInstance();
+
+   private MessageCodec messageCodec;
+
+   private Object message;
+
+   private byte[] encoded;
+
+   /**
+    * Reports the size of the encoded message as a secondary result of the benchmarks.
+    */
+   @State(Scope.Thread)
+   @AuxCounters(AuxCounters.Type.EVENTS)
+   public static class PayloadSize {
+
+      /**
+       * Size of the encoded message in bytes, the same in every iteration.
+       */
+      public long payloadBytes;
+   }
+
+   /**
+    * Encodes the message for the current parameters.
+    *
+    * @throws IOException
+    *       When the message cannot be encoded.
+    */
+   @Setup
+   public void setup() throws IOException {
+      messageCodec = codecs.getCodec("binary".equals(codec) ? BinaryCodec.ID : JavaSerializationCodec.ID);
+
+      switch (messageType) {
+         case INDEXED_REQUEST:
+            message = new MicroserviceRemoteCallRequest(new Invocation(1, 0, 0x5EED, new Object[] { 42L }));
+            break;
+         case NAMED_REQUEST:
+            message = new MicroserviceRemoteCallRequest(new Invocation(1, "echo", new Class[] { long.class }, new Object[] { 42L }));
+            break;
+         default:
+            message = new MicroserviceRemoteCallResponse(42L);
+      }
+
+      encoded = codecs.encode(messageCodec, message);
+   }
+
+   /**
+    * Encodes the message.
+    *
+    * @param size
+    *       Receives the size of the encoded message.
+    * @return The encoded message.
+    * @throws IOException
+    *       When the message cannot be encoded.
+    */
+   @Benchmark
+   public byte[] encode(final PayloadSize size) throws IOException {
+      final byte[] result = codecs.encode(messageCodec, message);
+      size.payloadBytes = result.length;
+      return result;
+   }
+
+   /**
+    * Decodes the message.
+    *
+    * @param size
+    *       Receives the size of the decoded message.
+    * @return The decoded message.
+    * @throws IOException
+    *       When the message cannot be decoded.
+    */
+   @Benchmark
+   public Object decode(final PayloadSize size) throws IOException {
+      size.payloadBytes = encoded.length;
+      return codecs.decode(encoded);
+   }
+}
@@ -0,0 +1,133 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks;
+
+import io.silverware.microservices.benchmarks.support.BenchmarkProvider;
+import io.silverware.microservices.benchmarks.support.BenchmarkService;
+import io.silverware.microservices.benchmarks.support.InvocationChain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calls through a single Microservice proxy shared by an increasing number of threads,
+ * just like a <code>Dependent</code> proxy injected into a bean that serves concurrent requests.
+ * The throughput should grow linearly with the number of threads as long as there are enough CPU cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentProxyInvocationBenchmark {
+
+   @Param({ "firstFoundLocal", "roundRobin", "randomRobin", "leastOutstanding", "localityFirst", "consistentHash", "legacyRoundRobin" })
+   private String strategy;
+
+   @Param({ "4" })
+   private int instances;
+
+   private BenchmarkService proxy;
+
+   /**
+    * Creates the shared proxy for the current parameters.
+    *
+    * @throws Exception
+    *       When the proxy cannot be created.
+    */
+   @Setup
+   public void setUp() throws Exception {
+      proxy = InvocationChain.DEFAULT.createProxy(BenchmarkProvider.createContext(instances), strategy, false);
+   }
+
+   /**
+    * Calls the shared proxy from a single thread.
+    *
+    * @param caller
+    *       State of the calling thread.
+    * @return The echoed value.
+    */
+   @Benchmark
+   @Threads(1)
+   public long threads1(final Caller caller) {
+      return proxy.echo(caller.value++);
+   }
+
+   /**
+    * Calls the shared proxy from two threads.
+    *
+    * @param caller
+    *       State of the calling thread.
+    * @return The echoed value.
+    */
+   @Benchmark
+   @Threads(2)
+   public long threads2(final Caller caller) {
+      return proxy.echo(caller.value++);
+   }
+
+   /**
+    * Calls the shared proxy from four threads.
+    *
+    * @param caller
+    *       State of the calling thread.
+    * @return The echoed value.
+    */
+   @Benchmark
+   @Threads(4)
+   public long threads4(final Caller caller) {
+      return proxy.echo(caller.value++);
+   }
+
+   /**
+    * Calls the shared proxy from eight threads.
+    *
+    * @param caller
+    *       State of the calling thread.
+    * @return The echoed value.
+    */
+   @Benchmark
+   @Threads(8)
+   public long threads8(final Caller caller) {
+      return proxy.echo(caller.value++);
+   }
+
+   /**
+    * Arguments of the calls made by a single thread.
+    */
+   @State(Scope.Thread)
+   public static class Caller {
+
+      private long value;
+   }
+}
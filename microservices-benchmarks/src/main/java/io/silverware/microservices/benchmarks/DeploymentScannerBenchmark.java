@@ -0,0 +1,69 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks;
+
+import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.cdi.internal.MicroserviceMethodHandler;
+import io.silverware.microservices.util.DeploymentScanner;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the classpath scanning done during the platform boot, i.e. the creation of the {@link DeploymentScanner}
+ * and the lookup of the Microservice providers and method handlers, with and without the build-time deployment index.
+ * Every iteration runs in a cold state just like a real boot, the <code>DISABLED</code> mode is the original behaviour.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(3)
+@State(Scope.Benchmark)
+public class DeploymentScannerBenchmark {
+
+   @Param({ "DISABLED", "ENABLED", "STRICT" })
+   private DeploymentScanner.IndexMode indexMode;
+
+   /**
+    * Scans the classpath and looks up the types searched for during the boot.
+    *
+    * @param blackhole
+    *       Consumes the found types.
+    */
+   @Benchmark
+   public void scan(final Blackhole blackhole) {
+      final DeploymentScanner scanner = DeploymentScanner.getInstance(indexMode);
+
+      blackhole.consume(scanner.lookupMicroserviceProviders());
+      blackhole.consume(scanner.lookupSubtypes(MicroserviceMethodHandler.class));
+   }
+}
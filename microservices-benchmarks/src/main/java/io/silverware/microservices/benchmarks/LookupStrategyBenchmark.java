@@ -0,0 +1,106 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks;
+
+import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.benchmarks.support.BenchmarkProvider;
+import io.silverware.microservices.benchmarks.support.BenchmarkService;
+import io.silverware.microservices.benchmarks.support.Injections;
+import io.silverware.microservices.benchmarks.support.InvocationChain;
+import io.silverware.microservices.silver.services.LoadAwareLookupStrategy;
+import io.silverware.microservices.silver.services.LookupStrategy;
+import io.silverware.microservices.silver.services.LookupStrategyFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the service selection of the lookup strategies in isolation from the rest of the invocation chain.
+ * Runs with several threads to expose contention in the strategies.
+ * The <code>legacy</code> strategies are copies of the strategies that copied the lookup result on every call,
+ * they serve as a baseline for the snapshot based ones.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LookupStrategyBenchmark {
+
+   @Param({ "firstFoundLocal", "roundRobin", "randomRobin", "leastOutstanding", "localityFirst", "consistentHash", "legacyRoundRobin", "legacyRandomRobin" })
+   private String strategy;
+
+   @Param({ "1", "4", "16" })
+   private int instances;
+
+   private LookupStrategy lookupStrategy;
+
+   private LoadAwareLookupStrategy loadAwareStrategy;
+
+   /**
+    * Creates the lookup strategy for the current parameters.
+    *
+    * @throws Exception
+    *       When the injection point template does not exist.
+    */
+   @Setup
+   public void setUp() throws Exception {
+      final Set<Annotation> options = new HashSet<>(Arrays.asList(Injections.class.getDeclaredField(strategy).getAnnotations()));
+      final MicroserviceMetaData metaData = new MicroserviceMetaData(InvocationChain.MICROSERVICE_NAME, BenchmarkService.class, Collections.emptySet(), options, null, null);
+
+      lookupStrategy = LookupStrategyFactory.getStrategy(BenchmarkProvider.createContext(instances), metaData, options);
+      loadAwareStrategy = lookupStrategy instanceof LoadAwareLookupStrategy ? (LoadAwareLookupStrategy) lookupStrategy : null;
+   }
+
+   /**
+    * Selects a service. Load aware strategies are told that the invocation has completed immediately.
+    *
+    * @return The selected service.
+    */
+   @Benchmark
+   public Object getService() {
+      final Object service = lookupStrategy.getService();
+
+      if (loadAwareStrategy != null) {
+         loadAwareStrategy.invocationCompleted(service, 0, false);
+      }
+
+      return service;
+   }
+}
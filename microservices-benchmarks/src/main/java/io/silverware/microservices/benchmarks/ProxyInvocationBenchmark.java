@@ -0,0 +1,138 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks;
+
+import io.silverware.microservices.benchmarks.support.BenchmarkProvider;
+import io.silverware.microservices.benchmarks.support.BenchmarkService;
+import io.silverware.microservices.benchmarks.support.BenchmarkServiceImpl;
+import io.silverware.microservices.benchmarks.support.InvocationChain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single call through a Microservice proxy for the different handler chains and lookup strategies.
+ * The direct and reflective calls serve as baselines showing the cost of the proxy layers on top of the service itself.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyInvocationBenchmark {
+
+   @Param({ "DEFAULT", "MONITORING", "HYSTRIX", "HYSTRIX_MONITORING", "FACTORY" })
+   private InvocationChain chain;
+
+   @Param({ "firstFoundLocal", "roundRobin", "randomRobin", "leastOutstanding", "localityFirst", "consistentHash" })
+   private String strategy;
+
+   @Param({ "1", "4" })
+   private int instances;
+
+   private BenchmarkService proxy;
+
+   private long value;
+
+   /**
+    * Creates the proxy for the current parameters.
+    *
+    * @throws Exception
+    *       When the proxy cannot be created.
+    */
+   @Setup
+   public void setUp() throws Exception {
+      proxy = chain.createProxy(BenchmarkProvider.createContext(instances), strategy, false);
+   }
+
+   /**
+    * Calls the service through the proxy.
+    *
+    * @return The echoed value.
+    */
+   @Benchmark
+   public long proxy() {
+      return proxy.echo(value++);
+   }
+
+   /**
+    * Calls the service directly.
+    *
+    * @param baseline
+    *       The baseline state.
+    * @return The echoed value.
+    */
+   @Benchmark
+   public long direct(final Baseline baseline) {
+      return baseline.service.echo(baseline.value++);
+   }
+
+   /**
+    * Calls the service using reflection just like {@link io.silverware.microservices.providers.cdi.internal.DefaultMethodHandler} does.
+    *
+    * @param baseline
+    *       The baseline state.
+    * @return The echoed value.
+    * @throws Exception
+    *       When the reflective call fails.
+    */
+   @Benchmark
+   public Object reflective(final Baseline baseline) throws Exception {
+      return baseline.method.invoke(baseline.service, baseline.value++);
+   }
+
+   /**
+    * Parameter-less state of the baseline benchmarks so that they run only once.
+    */
+   @State(Scope.Benchmark)
+   public static class Baseline {
+
+      private BenchmarkService service;
+
+      private Method method;
+
+      private long value;
+
+      /**
+       * Creates the service and looks up its method.
+       *
+       * @throws Exception
+       *       When the method cannot be found.
+       */
+      @Setup
+      public void setUp() throws Exception {
+         service = new BenchmarkServiceImpl();
+         method = BenchmarkService.class.getMethod("echo", long.class);
+      }
+   }
+}
@@ -0,0 +1,93 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks.support;
+
+import io.silverware.microservices.Context;
+import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.silver.ProvidingSilverService;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * In-memory Microservice provider that answers all {@link BenchmarkService} queries with a fixed set of instances.
+ * It is registered directly in the {@link Context} and never started, so no other provider needs to be booted.
+ */
+public class BenchmarkProvider implements MicroserviceProvider, ProvidingSilverService {
+
+   private final Set<Object> services;
+
+   private Context context;
+
+   /**
+    * Creates the provider with the given number of service instances.
+    *
+    * @param instances
+    *       Number of {@link BenchmarkServiceImpl} instances to offer for each query.
+    */
+   public BenchmarkProvider(final int instances) {
+      final Set<Object> services = new LinkedHashSet<>();
+      for (int i = 0; i < instances; i++) {
+         services.add(new BenchmarkServiceImpl());
+      }
+      this.services = Collections.unmodifiableSet(services);
+   }
+
+   /**
+    * Creates a new context with this provider registered.
+    *
+    * @param instances
+    *       Number of {@link BenchmarkServiceImpl} instances to offer for each query.
+    * @return The new context.
+    */
+   public static Context createContext(final int instances) {
+      final Context context = new Context();
+      final BenchmarkProvider provider = new BenchmarkProvider(instances);
+      provider.initialize(context);
+      context.getProvidersRegistry().put(BenchmarkProvider.class.getName(), provider);
+
+      return context;
+   }
+
+   @Override
+   public void initialize(final Context context) {
+      this.context = context;
+   }
+
+   @Override
+   public void run() {
+   }
+
+   @Override
+   public Context getContext() {
+      return context;
+   }
+
+   @Override
+   public Set<Object> lookupMicroservice(final MicroserviceMetaData metaData) {
+      if (BenchmarkService.class.isAssignableFrom(metaData.getType())) {
+         return services;
+      }
+
+      return Collections.emptySet();
+   }
+}
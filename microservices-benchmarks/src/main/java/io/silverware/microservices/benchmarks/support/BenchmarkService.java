@@ -0,0 +1,36 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks.support;
+
+/**
+ * Trivial Microservice interface invoked by the benchmarks. The implementation does next to no work
+ * so that the measured time is dominated by the invocation chain itself.
+ */
+public interface BenchmarkService {
+
+   /**
+    * Echoes the argument back.
+    *
+    * @param value
+    *       Any value.
+    * @return The same value.
+    */
+   long echo(final long value);
+}
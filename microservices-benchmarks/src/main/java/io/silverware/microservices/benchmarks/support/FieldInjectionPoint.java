@@ -0,0 +1,134 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+/**
+ * Minimal {@link InjectionPoint} backed by a plain field so that method handlers can be created without a running CDI container.
+ * The annotations of the field drive the lookup strategy and Hystrix configuration exactly as they would in a real deployment.
+ */
+public class FieldInjectionPoint implements InjectionPoint {
+
+   private final Field field;
+
+   private final Bean<?> bean;
+
+   private final Annotated annotated;
+
+   /**
+    * Creates the injection point.
+    *
+    * @param field
+    *       The field to describe.
+    * @param bean
+    *       The bean reported as the owner of the injection point.
+    */
+   public FieldInjectionPoint(final Field field, final Bean<?> bean) {
+      this.field = field;
+      this.bean = bean;
+      this.annotated = new FieldAnnotated(field);
+   }
+
+   @Override
+   public Type getType() {
+      return field.getGenericType();
+   }
+
+   @Override
+   public Set<Annotation> getQualifiers() {
+      return Collections.emptySet();
+   }
+
+   @Override
+   public Bean<?> getBean() {
+      return bean;
+   }
+
+   @Override
+   public Member getMember() {
+      return field;
+   }
+
+   @Override
+   public Annotated getAnnotated() {
+      return annotated;
+   }
+
+   @Override
+   public boolean isDelegate() {
+      return false;
+   }
+
+   @Override
+   public boolean isTransient() {
+      return false;
+   }
+
+   /**
+    * {@link Annotated} view of a field.
+    */
+   private static class FieldAnnotated implements Annotated {
+
+      private final Field field;
+
+      private final Set<Annotation> annotations;
+
+      FieldAnnotated(final Field field) {
+         this.field = field;
+         this.annotations = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(field.getAnnotations())));
+      }
+
+      @Override
+      public Type getBaseType() {
+         return field.getGenericType();
+      }
+
+      @Override
+      public Set<Type> getTypeClosure() {
+         return Collections.singleton(field.getGenericType());
+      }
+
+      @Override
+      public <T extends Annotation> T getAnnotation(final Class<T> annotationType) {
+         return field.getAnnotation(annotationType);
+      }
+
+      @Override
+      public Set<Annotation> getAnnotations() {
+         return annotations;
+      }
+
+      @Override
+      public boolean isAnnotationPresent(final Class<? extends Annotation> annotationType) {
+         return field.isAnnotationPresent(annotationType);
+      }
+   }
+}
@@ -0,0 +1,89 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks.support;
+
+import io.silverware.microservices.annotations.InvocationPolicy;
+import io.silverware.microservices.annotations.hystrix.basic.CircuitBreaker;
+import io.silverware.microservices.silver.services.lookup.ConsistentHashLookupStrategy;
+import io.silverware.microservices.silver.services.lookup.FirstFoundLocalLookupStrategy;
+import io.silverware.microservices.silver.services.lookup.LeastOutstandingLookupStrategy;
+import io.silverware.microservices.silver.services.lookup.LocalityFirstLookupStrategy;
+import io.silverware.microservices.silver.services.lookup.RandomRobinLookupStrategy;
+import io.silverware.microservices.silver.services.lookup.RoundRobinLookupStrategy;
+
+/**
+ * Injection point templates. Each field carries the annotations of one benchmarked configuration;
+ * the field name is the lookup strategy name and the <code>Guarded</code> suffix marks fields that activate Hystrix.
+ */
+@SuppressWarnings("unused")
+public final class Injections {
+
+   /**
+    * Suffix of the fields that enable Hystrix.
+    */
+   public static final String GUARDED = "Guarded";
+
+   @InvocationPolicy(lookupStrategy = FirstFoundLocalLookupStrategy.class)
+   private BenchmarkService firstFoundLocal;
+
+   @InvocationPolicy(lookupStrategy = RoundRobinLookupStrategy.class)
+   private BenchmarkService roundRobin;
+
+   @InvocationPolicy(lookupStrategy = RandomRobinLookupStrategy.class)
+   private BenchmarkService randomRobin;
+
+   @InvocationPolicy(lookupStrategy = LeastOutstandingLookupStrategy.class)
+   private BenchmarkService leastOutstanding;
+
+   @InvocationPolicy(lookupStrategy = LocalityFirstLookupStrategy.class)
+   private BenchmarkService localityFirst;
+
+   @InvocationPolicy(lookupStrategy = ConsistentHashLookupStrategy.class)
+   private BenchmarkService consistentHash;
+
+   @InvocationPolicy(lookupStrategy = LegacyRoundRobinLookupStrategy.class)
+   private BenchmarkService legacyRoundRobin;
+
+   @InvocationPolicy(lookupStrategy = LegacyRandomRobinLookupStrategy.class)
+   private BenchmarkService legacyRandomRobin;
+
+   @CircuitBreaker
+   @InvocationPolicy(lookupStrategy = FirstFoundLocalLookupStrategy.class)
+   private BenchmarkService firstFoundLocalGuarded;
+
+   @CircuitBreaker
+   @InvocationPolicy(lookupStrategy = RoundRobinLookupStrategy.class)
+   private BenchmarkService roundRobinGuarded;
+
+   @CircuitBreaker
+   @InvocationPolicy(lookupStrategy = RandomRobinLookupStrategy.class)
+   private BenchmarkService randomRobinGuarded;
+
+   @CircuitBreaker
+   @InvocationPolicy(lookupStrategy = LeastOutstandingLookupStrategy.class)
+   private BenchmarkService leastOutstandingGuarded;
+
+   @CircuitBreaker
+   @InvocationPolicy(lookupStrategy = LocalityFirstLookupStrategy.class)
+   private BenchmarkService localityFirstGuarded;
+
+   private Injections() {
+   }
+}
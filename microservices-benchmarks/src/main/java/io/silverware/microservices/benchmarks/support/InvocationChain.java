@@ -0,0 +1,120 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks.support;
+
+import io.silverware.microservices.Context;
+import io.silverware.microservices.monitoring.MonitoringMethodHandler;
+import io.silverware.microservices.providers.cdi.internal.DefaultMethodHandler;
+import io.silverware.microservices.providers.cdi.internal.MicroserviceMethodHandler;
+import io.silverware.microservices.providers.cdi.internal.MicroserviceProxyBean;
+import io.silverware.microservices.providers.cdi.internal.MicroserviceProxyFactory;
+import io.silverware.microservices.providers.hystrix.execution.HystrixMethodHandler;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import javassist.util.proxy.ProxyFactory;
+
+/**
+ * Combinations of method handlers that can be put in front of {@link DefaultMethodHandler}.
+ * The handlers are stacked in the same order as {@link MicroserviceProxyFactory} would stack them according to their priorities.
+ */
+public enum InvocationChain {
+
+   /**
+    * Just the {@link DefaultMethodHandler}.
+    */
+   DEFAULT(false, false),
+
+   /**
+    * {@link MonitoringMethodHandler} and {@link DefaultMethodHandler}.
+    */
+   MONITORING(true, false),
+
+   /**
+    * {@link HystrixMethodHandler} and {@link DefaultMethodHandler}.
+    */
+   HYSTRIX(false, true),
+
+   /**
+    * {@link HystrixMethodHandler}, {@link MonitoringMethodHandler} and {@link DefaultMethodHandler}.
+    */
+   HYSTRIX_MONITORING(true, true),
+
+   /**
+    * Whatever {@link MicroserviceProxyFactory} discovers on the classpath, i.e. the production path.
+    */
+   FACTORY(false, false);
+
+   /**
+    * Name of the Microservice the proxies are created for.
+    */
+   public static final String MICROSERVICE_NAME = "benchmarkService";
+
+   private final boolean monitoring;
+
+   private final boolean hystrix;
+
+   InvocationChain(final boolean monitoring, final boolean hystrix) {
+      this.monitoring = monitoring;
+      this.hystrix = hystrix;
+   }
+
+   /**
+    * Creates a {@link BenchmarkService} proxy with this handler chain.
+    *
+    * @param context
+    *       Context with the {@link BenchmarkProvider} registered.
+    * @param strategy
+    *       Name of the lookup strategy field in {@link Injections}.
+    * @param guarded
+    *       Whether to use the injection point that activates Hystrix.
+    * @return The proxy.
+    * @throws Exception
+    *       When it was not possible to create the proxy.
+    */
+   public BenchmarkService createProxy(final Context context, final String strategy, final boolean guarded) throws Exception {
+      final MicroserviceProxyBean proxyBean = new MicroserviceProxyBean(MICROSERVICE_NAME, BenchmarkService.class, Collections.emptySet(), null, context);
+      final Field field = Injections.class.getDeclaredField(guarded || hystrix ? strategy + Injections.GUARDED : strategy);
+      final InjectionPoint injectionPoint = new FieldInjectionPoint(field, proxyBean);
+
+      if (this == FACTORY) {
+         return MicroserviceProxyFactory.createProxy(proxyBean, injectionPoint);
+      }
+
+      final Constructor<DefaultMethodHandler> constructor = DefaultMethodHandler.class.getDeclaredConstructor(MicroserviceProxyBean.class, InjectionPoint.class);
+      constructor.setAccessible(true);
+
+      MicroserviceMethodHandler handler = constructor.newInstance(proxyBean, injectionPoint);
+      if (monitoring) {
+         handler = new MonitoringMethodHandler(handler);
+      }
+      if (hystrix) {
+         handler = new HystrixMethodHandler(handler);
+      }
+
+      final ProxyFactory factory = new ProxyFactory();
+      factory.setInterfaces(new Class[] { BenchmarkService.class });
+
+      return (BenchmarkService) factory.create(new Class[0], new Object[0], handler);
+   }
+}
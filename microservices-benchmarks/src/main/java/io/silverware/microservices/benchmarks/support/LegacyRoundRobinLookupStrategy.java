@@ -0,0 +1,46 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.benchmarks.support;
+
+import io.silverware.microservices.silver.services.lookup.AbstractLookupStrategy;
+import io.silverware.microservices.silver.services.lookup.RoundRobinLookupStrategy;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The original {@link RoundRobinLookupStrategy} that copies the looked up services to an array on every call.
+ * Kept as a baseline for the comparison with the snapshot based strategy.
+ */
+public class LegacyRoundRobinLookupStrategy extends AbstractLookupStrategy {
+
+   private AtomicInteger index = new AtomicInteger();
+
+   @Override
+   public Object getService() {
+      Set<Object> microservices = context.lookupMicroservice(metaData);
+      if (microservices.isEmpty()) {
+         throw new RuntimeException("No service found for: " + metaData);
+      }
+      Object[] servicesArray = microservices.toArray();
+      index.compareAndSet(Integer.MAX_VALUE, 0);
+      return servicesArray[index.getAndIncrement() % servicesArray.length];
+   }
+}
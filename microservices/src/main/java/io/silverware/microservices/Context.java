@@ -20,25 +20,38 @@
 package io.silverware.microservices;
 
 import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.ProvidersRegistry;
 import io.silverware.microservices.silver.ProvidingSilverService;
 import io.silverware.microservices.silver.SilverService;
 import io.silverware.microservices.silver.cluster.LocalServiceHandle;
+import io.silverware.microservices.silver.cluster.LocalServiceHandles;
 import io.silverware.microservices.silver.cluster.RemoteServiceHandlesStore;
+import io.silverware.microservices.silver.services.MicroserviceResolutionCache;
+import io.silverware.microservices.silver.services.MicroserviceResolutionCache.Resolution;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+import io.silverware.microservices.util.Configuration;
+import io.silverware.microservices.util.DeployStats;
+import io.silverware.microservices.util.DeploymentScanner;
+import io.silverware.microservices.util.InvocationGate;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * Microservices context carrying all necessary execution information.
@@ -66,6 +79,17 @@ public class Context {
     */
    public static final String DEPLOYMENT_PACKAGES = "silverware.deploy.packages";
 
+   /**
+    * Name of the system property that says how the build-time deployment index is used, one of {@link io.silverware.microservices.util.DeploymentScanner.IndexMode}.
+    * The index is not used unless enabled by this property.
+    */
+   public static final String DEPLOYMENT_INDEX = "silverware.deploy.index";
+
+   /**
+    * Name of the system property with the directory where the classpath scan results are cached between restarts.
+    */
+   public static final String SCAN_CACHE_DIR = "silverware.scan.cache.dir";
+
    /**
     * Property key where a registry with local Microservices is.
     */
@@ -77,14 +101,39 @@ public class Context {
    public static final String WELD_NAME = "silverware.weld.name";
 
    /**
-    * Global properties.
+    * Property key with the {@link Executor} running asynchronous invocations of local Microservices.
+    */
+   public static final String ASYNC_EXECUTOR = "silverware.async.executor";
+
+   /**
+    * Unique identification of this context within the JVM.
+    */
+   private final int id = COUNTER.incrementAndGet();
+
+   /**
+    * Global properties with typed accessors, safe for the providers initialized concurrently.
+    */
+   private final Configuration configuration = new Configuration();
+
+   /**
+    * Raw global properties.
+    */
+   private final Map<String, Object> properties = configuration.getProperties();
+
+   /**
+    * Cached results of Microservice lookups.
     */
-   private final Map<String, Object> properties = new HashMap<>();
+   private final MicroserviceResolutionCache resolutionCache = new MicroserviceResolutionCache();
+
+   /**
+    * Cached results of local Microservice lookups.
+    */
+   private final MicroserviceResolutionCache localResolutionCache = new MicroserviceResolutionCache();
 
    /**
     * Providers registry.
     */
-   private final Map<String, MicroserviceProvider> providers = new ConcurrentHashMap<>();
+   private final ProvidersRegistry providers = new ProvidersRegistry(this::invalidateMicroserviceResolutions);
 
    /**
     * Local Microservices registry.
@@ -94,21 +143,74 @@ public class Context {
    /**
     * Handles created for incoming service queries.
     */
-   private final List<LocalServiceHandle> localHandles = new ArrayList<>();
+   private final LocalServiceHandles localHandles = new LocalServiceHandles();
 
    /**
     * store remote microservices
     */
    private final RemoteServiceHandlesStore remoteServiceHandlesStore;
 
+   /**
+    * Deployment scanners shared by all providers, by the scanned packages.
+    */
+   private final Map<String, DeploymentScanner> deploymentScanners = new ConcurrentHashMap<>();
+
+   /**
+    * Lifecycle milestones published by providers, by their names.
+    */
+   private final Map<String, CompletableFuture<Object>> milestones = new ConcurrentHashMap<>();
+
+   /**
+    * Names of the milestones the providers announced they are going to reach.
+    */
+   private final Set<String> announcedMilestones = ConcurrentHashMap.newKeySet();
+
+   /**
+    * Statistics and timeline of the platform boot.
+    */
+   private final DeployStats deployStats = new DeployStats();
+
+   /**
+    * Invocations in flight through the ingress points of the platform.
+    */
+   private final InvocationGate invocationGate = new InvocationGate();
+
    /**
     * Creates the context and binds the registries to global properties.
     */
    public Context() {
       properties.put(MICROSERVICE_PROVIDERS_REGISTRY, providers);
       properties.put(MICROSERVICES, microservices);
-      properties.put(WELD_NAME, "Silverware-Weld" + COUNTER.incrementAndGet());
-      remoteServiceHandlesStore = new RemoteServiceHandlesStore();
+      properties.put(WELD_NAME, "Silverware-Weld" + id);
+      remoteServiceHandlesStore = new RemoteServiceHandlesStore(this::invalidateMicroserviceResolutions);
+   }
+
+   /**
+    * Gets the unique identification of this context within the JVM.
+    *
+    * @return The unique identification of this context.
+    */
+   public int getId() {
+      return id;
+   }
+
+   /**
+    * Gets the statistics of the platform boot, providers record the phases of their startup in its timeline.
+    *
+    * @return The statistics of the platform boot.
+    */
+   public DeployStats getDeployStats() {
+      return deployStats;
+   }
+
+   /**
+    * Gets the gate counting invocations in flight through the ingress points of the platform.
+    * Ingress points must reject new invocations once the gate is closed on shutdown.
+    *
+    * @return The gate counting invocations in flight.
+    */
+   public InvocationGate getInvocationGate() {
+      return invocationGate;
    }
 
    /**
@@ -120,6 +222,26 @@ public class Context {
       return properties;
    }
 
+   /**
+    * Gets the global properties with typed accessors that parse each value only once.
+    *
+    * @return The global properties with typed accessors.
+    */
+   public Configuration getConfiguration() {
+      return configuration;
+   }
+
+   /**
+    * Gets the executor running asynchronous invocations of local Microservices.
+    * It is the executor stored under {@link #ASYNC_EXECUTOR}, the common fork join pool by default.
+    *
+    * @return The executor running asynchronous invocations.
+    */
+   public Executor getAsyncExecutor() {
+      final Object executor = properties.get(ASYNC_EXECUTOR);
+      return executor instanceof Executor ? (Executor) executor : ForkJoinPool.commonPool();
+   }
+
    /**
     * Gets the registry of Microservices providers.
     *
@@ -129,6 +251,131 @@ public class Context {
       return (Map<String, MicroserviceProvider>) properties.get(MICROSERVICE_PROVIDERS_REGISTRY);
    }
 
+   /**
+    * Gets the deployment scanner for the given scope, it is created only once per context and shared by all providers.
+    *
+    * @param scope
+    *       Identification of the scanned packages and of the scanning options.
+    * @param factory
+    *       Creates the scanner when there is none for the scope yet.
+    * @return The deployment scanner for the given scope.
+    */
+   public DeploymentScanner getDeploymentScanner(final String scope, final Function<String, DeploymentScanner> factory) {
+      return deploymentScanners.computeIfAbsent(scope, factory);
+   }
+
+   /**
+    * Gets the future of a lifecycle milestone, it is completed once a provider reaches the milestone.
+    * The future is created on the first request so that dependents can wait for milestones of providers that did not start yet.
+    *
+    * @param milestone
+    *       Name of the milestone.
+    * @return The future completed with the value published by the provider that reached the milestone.
+    */
+   public CompletableFuture<Object> getMilestone(final String milestone) {
+      return milestones.computeIfAbsent(milestone, name -> new CompletableFuture<>());
+   }
+
+   /**
+    * Publishes that a lifecycle milestone was reached and wakes up all the providers waiting for it.
+    *
+    * @param milestone
+    *       Name of the milestone.
+    * @param value
+    *       The value passed to the waiting providers, usually the provider that reached the milestone.
+    */
+   public void reachMilestone(final String milestone, final Object value) {
+      if (log.isDebugEnabled()) {
+         log.debug("Reached milestone {}.", milestone);
+      }
+
+      deployStats.recordEvent("reached " + milestone);
+      getMilestone(milestone).complete(value);
+   }
+
+   /**
+    * Publishes that a lifecycle milestone will never be reached so that the waiting providers do not need to wait any longer.
+    *
+    * @param milestone
+    *       Name of the milestone.
+    * @param cause
+    *       The reason why the milestone cannot be reached.
+    */
+   public void failMilestone(final String milestone, final Throwable cause) {
+      deployStats.recordEvent("failed " + milestone);
+      getMilestone(milestone).completeExceptionally(cause);
+   }
+
+   /**
+    * Announces that a provider is going to reach or fail a lifecycle milestone.
+    * Providers announce their milestones during their initialization so that the platform knows when the boot is finished.
+    *
+    * @param milestone
+    *       Name of the milestone.
+    * @return The future of the milestone, see {@link #getMilestone(String)}.
+    */
+   public CompletableFuture<Object> announceMilestone(final String milestone) {
+      announcedMilestones.add(milestone);
+      return getMilestone(milestone);
+   }
+
+   /**
+    * Gets the names of all the milestones announced so far. Milestones that are only awaited are not included.
+    *
+    * @return An unmodifiable set of names of the announced milestones.
+    */
+   public Set<String> getMilestoneNames() {
+      return Collections.unmodifiableSet(announcedMilestones);
+   }
+
+   /**
+    * Waits until a lifecycle milestone is reached.
+    *
+    * @param milestone
+    *       Name of the milestone.
+    * @param <T>
+    *       Type of the value published with the milestone.
+    * @return The value published by the provider that reached the milestone.
+    * @throws InterruptedException
+    *       When the current thread was interrupted while waiting.
+    * @throws SilverWareException
+    *       When the milestone cannot be reached.
+    */
+   public <T> T awaitMilestone(final String milestone) throws InterruptedException, SilverWareException {
+      try {
+         return (T) getMilestone(milestone).get();
+      } catch (final ExecutionException e) {
+         throw new SilverWareException("Milestone " + milestone + " cannot be reached.", e.getCause());
+      }
+   }
+
+   /**
+    * Waits until a lifecycle milestone is reached, at most for the given time.
+    *
+    * @param milestone
+    *       Name of the milestone.
+    * @param timeout
+    *       The maximum time to wait.
+    * @param unit
+    *       The time unit of the timeout.
+    * @param <T>
+    *       Type of the value published with the milestone.
+    * @return The value published by the provider that reached the milestone.
+    * @throws InterruptedException
+    *       When the current thread was interrupted while waiting.
+    * @throws SilverWareException
+    *       When the milestone cannot be reached or it was not reached in time.
+    */
+   public <T> T awaitMilestone(final String milestone, final long timeout, final TimeUnit unit) throws InterruptedException, SilverWareException {
+      try {
+         return (T) getMilestone(milestone).get(timeout, unit);
+      } catch (final ExecutionException e) {
+         throw new SilverWareException("Milestone " + milestone + " cannot be reached.", e.getCause());
+      } catch (final TimeoutException e) {
+         throw new SilverWareException("Milestone " + milestone + " was not reached in " + timeout + " " + unit.toString().toLowerCase() + ".", e);
+      }
+   }
+
    /**
     * Adds a Microservice to the registry.
     *
@@ -137,6 +384,7 @@ public class Context {
     */
    public void registerMicroservice(final MicroserviceMetaData metaData) {
       microservices.add(metaData);
+      invalidateMicroserviceResolutions();
    }
 
    /**
@@ -163,13 +411,10 @@ public class Context {
     *
     * @param metaData
     *       Meta-data query.
-    * @return A set of Microservices instances that meets the query.
+    * @return An unmodifiable set of Microservices instances that meets the query.
     */
    public Set<Object> lookupMicroservice(final MicroserviceMetaData metaData) {
-      final Set<Object> microservices = new HashSet<>();
-      getAllProviders(ProvidingSilverService.class).forEach(provider -> microservices.addAll(((ProvidingSilverService) provider).lookupMicroservice(metaData)));
-
-      return microservices;
+      return lookupMicroserviceSnapshot(metaData).asSet();
    }
 
    /**
@@ -178,13 +423,61 @@ public class Context {
     *
     * @param metaData
     *       Meta-data query.
-    * @return A set of Microservices instances that meets the query.
+    * @return An unmodifiable set of Microservices instances that meets the query.
     */
    public Set<Object> lookupLocalMicroservice(final MicroserviceMetaData metaData) {
+      return lookupLocalMicroserviceSnapshot(metaData).asSet();
+   }
+
+   /**
+    * Looks up Microservices based on the provided meta-data query.
+    * All providers are asked to look up all possible services including local and remote.
+    * The result is cached until providers, Microservices or remote handles change.
+    *
+    * @param metaData
+    *       Meta-data query.
+    * @return A snapshot of Microservices instances that meets the query.
+    */
+   public MicroserviceSnapshot lookupMicroserviceSnapshot(final MicroserviceMetaData metaData) {
+      return resolutionCache.get(metaData, version -> resolveMicroservice(metaData, version, false));
+   }
+
+   /**
+    * Looks up Microservices based on the provided meta-data query.
+    * Only local Microservices are searched.
+    * The result is cached until providers, Microservices or remote handles change.
+    *
+    * @param metaData
+    *       Meta-data query.
+    * @return A snapshot of Microservices instances that meets the query.
+    */
+   public MicroserviceSnapshot lookupLocalMicroserviceSnapshot(final MicroserviceMetaData metaData) {
+      return localResolutionCache.get(metaData, version -> resolveMicroservice(metaData, version, true));
+   }
+
+   /**
+    * Drops all cached results of Microservice lookups.
+    * Providers must call this whenever the Microservices they provide change in a way the context cannot see.
+    */
+   public void invalidateMicroserviceResolutions() {
+      resolutionCache.invalidate();
+      localResolutionCache.invalidate();
+   }
+
+   private Resolution resolveMicroservice(final MicroserviceMetaData metaData, final long version, final boolean local) {
       final Set<Object> microservices = new HashSet<>();
-      getAllProviders(ProvidingSilverService.class).forEach(provider -> microservices.addAll(((ProvidingSilverService) provider).lookupLocalMicroservice(metaData)));
+      boolean cacheable = true;
+
+      for (final SilverService silverService : getAllProviders(ProvidingSilverService.class)) {
+         final ProvidingSilverService provider = (ProvidingSilverService) silverService;
+         microservices.addAll(local ? provider.lookupLocalMicroservice(metaData) : provider.lookupMicroservice(metaData));
+         cacheable = cacheable && provider.isLookupCacheable(metaData);
+      }
 
-      return microservices;
+      // empty or null results are not cached as the providers might just not be ready yet
+      cacheable = cacheable && !microservices.isEmpty() && !microservices.contains(null);
+
+      return new Resolution(new MicroserviceSnapshot(version, microservices), cacheable);
    }
 
    /**
@@ -197,13 +490,7 @@ public class Context {
     * @return The appropriate Microservice provider if it exists, null otherwise.
     */
    public SilverService getProvider(final Class<? extends SilverService> clazz) {
-      for (Map.Entry<String, MicroserviceProvider> entry : providers.entrySet()) {
-         if (clazz.isAssignableFrom(entry.getValue().getClass())) {
-            return (SilverService) entry.getValue();
-         }
-      }
-
-      return null;
+      return providers.getProvider(clazz);
    }
 
    /**
@@ -212,10 +499,10 @@ public class Context {
     *
     * @param clazz
     *       An interface or class the implementation of which we are looking for.
-    * @return A set of appropriate Microservice providers if they exists, an empty set otherwise.
+    * @return An unmodifiable set of appropriate Microservice providers if they exists, an empty set otherwise.
     */
    public Set<SilverService> getAllProviders(final Class<? extends SilverService> clazz) {
-      return providers.entrySet().stream().filter(entry -> clazz.isAssignableFrom(entry.getValue().getClass())).map(entry -> (SilverService) entry.getValue()).collect(Collectors.toSet());
+      return providers.getAllProviders(clazz);
    }
 
    /**
@@ -226,22 +513,10 @@ public class Context {
     *
     * @param metaData
     *       The query for which to look up the service handles.
-    * @return A list of {@link LocalServiceHandle Service Handles} that meet the specified query.
+    * @return An unmodifiable list of {@link LocalServiceHandle Service Handles} that meet the specified query.
     */
    public List<LocalServiceHandle> assureLocalHandles(final MicroserviceMetaData metaData) {
-
-      List<LocalServiceHandle> validHandles = localHandles.stream().filter(handle -> metaData.equals(handle.getMetaData())).collect(Collectors.toList());
-      if (validHandles.isEmpty()) {
-         Set<Object> foundProxies = lookupLocalMicroservice(metaData);
-         foundProxies.forEach(proxy -> {
-            final LocalServiceHandle handle = new LocalServiceHandle(metaData, proxy);
-            localHandles.add(handle);
-            validHandles.add(handle);
-         });
-
-      }
-
-      return validHandles;
+      return localHandles.assureHandles(metaData, this::lookupLocalMicroservice);
    }
 
    /**
@@ -252,7 +527,7 @@ public class Context {
     * @return The {@link LocalServiceHandle} with the given handle number.
     */
    public LocalServiceHandle getLocalServiceHandle(final int handle) {
-      return localHandles.stream().filter(serviceHandle -> serviceHandle.getHandle() == handle).findFirst().orElse(null);
+      return localHandles.get(handle);
    }
 
    /**
@@ -263,5 +538,4 @@ public class Context {
    public RemoteServiceHandlesStore getRemoteServiceHandlesStore() {
       return remoteServiceHandlesStore;
    }
-
-}
\ No newline at end of file
+}
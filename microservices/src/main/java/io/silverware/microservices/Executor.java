@@ -19,25 +19,43 @@
  */
 package io.silverware.microservices;
 
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.providers.MicroserviceProvider;
 import io.silverware.microservices.silver.ProvidingSilverService;
+import io.silverware.microservices.silver.SilverService;
 import io.silverware.microservices.util.DeployStats;
 import io.silverware.microservices.util.DeploymentScanner;
+import io.silverware.microservices.util.InvocationGate;
 import io.silverware.microservices.util.Utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * The main Microservice provider that starts all other providers.
@@ -61,12 +79,42 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
     */
    public static final String MAIN_THREAD = "main";
 
+   /**
+    * Name prefix of the threads that initialize Microservice providers during boot.
+    */
+   public static final String INIT_THREAD = "init";
+
    /**
     * Property to omit a shutdown hook. Useful for tests mainly.
     *  and especially BootTest#testFullBoot
     */
    public static final String SHUTDOWN_HOOK = "silverware.shutdown";
 
+   /**
+    * Property with the maximum time in milliseconds to wait for invocations in flight to finish on shutdown.
+    */
+   public static final String SHUTDOWN_DRAIN_TIMEOUT = "silverware.shutdown.drain.timeout";
+
+   /**
+    * Property with the maximum time in milliseconds to wait for the providers to stop on shutdown.
+    */
+   public static final String SHUTDOWN_STOP_TIMEOUT = "silverware.shutdown.stop.timeout";
+
+   /**
+    * Property with the maximum time in milliseconds to wait for the announced milestones before the boot timeline is reported.
+    */
+   public static final String BOOT_TIMELINE_TIMEOUT = "silverware.boot.timeline.timeout";
+
+   /**
+    * Default maximum time in milliseconds of each of the shutdown phases.
+    */
+   private static final long DEFAULT_SHUTDOWN_TIMEOUT = 10_000;
+
+   /**
+    * Default maximum time in milliseconds to wait for the announced milestones.
+    */
+   private static final long DEFAULT_BOOT_TIMELINE_TIMEOUT = 60_000;
+
    /**
     * Logger.
     */
@@ -78,14 +126,24 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
    private final List<MicroserviceProvider> instances = new ArrayList<>();
 
    /**
-    * Pool of threads - each of the providers runs the main code in its own thread.
+    * Lifecycle providers that were started successfully, the last started is the first.
+    */
+   private final Deque<LifecycleMicroserviceProvider> startedInstances = new ConcurrentLinkedDeque<>();
+
+   /**
+    * Pool of threads - each of the providers runs the main code in its own thread, lifecycle providers only start in it.
     */
    private final ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newCachedThreadPool(new DaemonThreadFactory());
 
    /**
     * Statistics about deployed providers.
     */
-   private final DeployStats stats = new DeployStats();
+   private DeployStats stats = null;
+
+   /**
+    * Name of the MBean publishing the statistics.
+    */
+   private ObjectName statsName = null;
 
    /**
     * Context for this instance.
@@ -203,7 +261,8 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
             shutdownThread.start();
 
             try {
-               shutdownThread.join(TimeUnit.SECONDS.toMillis(5));
+               // the hook drains the invocations and then stops the providers, each phase bounded by its timeout
+               shutdownThread.join(getShutdownTimeout(SHUTDOWN_DRAIN_TIMEOUT) + getShutdownTimeout(SHUTDOWN_STOP_TIMEOUT));
             } catch (InterruptedException iee) {
                // we did our best
             }
@@ -211,6 +270,17 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
       }
    }
 
+   /**
+    * Gets the timeout of a shutdown phase in milliseconds.
+    *
+    * @param property
+    *        The configuration property with the timeout.
+    * @return The configured timeout, or the default one if there is none.
+    */
+   private long getShutdownTimeout(final String property) {
+      return context.getConfiguration().getLong(property, DEFAULT_SHUTDOWN_TIMEOUT);
+   }
+
    /**
     * Creates instances of the Microservice provider classes using reflection.
     * Also counts statistics of the created instances.
@@ -235,11 +305,7 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
          } else {
             try {
                final Constructor c = clazz.getConstructor();
-               final MicroserviceProvider m = (MicroserviceProvider) c.newInstance();
-               m.initialize(context);
-               instances.add(m);
-               stats.incDeployed();
-               context.getProvidersRegistry().put(m.getClass().getName(), m);
+               instances.add((MicroserviceProvider) c.newInstance());
             } catch (Error | Exception e) {
                log.warn(String.format("Unable to start microservice provider: %s", clazz.getName()), e);
             }
@@ -248,16 +314,37 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
    }
 
    /**
-    * Starts the instances of prepared Microservice providers.
+    * Initializes and starts the instances of prepared Microservice providers.
+    * A provider is initialized and started once all the providers it depends on are started,
+    * independent providers are initialized concurrently.
+    *
+    * @throws InterruptedException
+    *         When the boot thread was interrupted while waiting for the providers to start.
     */
-   private void startInstances() {
+   private void startInstances() throws InterruptedException {
       log.info("Running microservice providers...");
 
-      for (MicroserviceProvider m : instances) {
-         if (log.isDebugEnabled()) {
-            log.debug("Running microservice provider: " + m.getClass().getName());
+      final AtomicInteger threadNumber = new AtomicInteger(1);
+      final ExecutorService initExecutor = Executors.newFixedThreadPool(Math.max(1, Math.min(instances.size(), Runtime.getRuntime().availableProcessors())), r -> {
+         final Thread t = new Thread(r, THREAD_PREFIX + INIT_THREAD + "-" + threadNumber.getAndIncrement());
+         t.setDaemon(true);
+         return t;
+      });
+
+      try {
+         final Map<MicroserviceProvider, CompletableFuture<Void>> started = new IdentityHashMap<>();
+         for (MicroserviceProvider m : instances) {
+            startInstance(m, started, Collections.newSetFromMap(new IdentityHashMap<>()), initExecutor);
          }
-         executor.submit(m);
+
+         CompletableFuture.allOf(started.values().toArray(new CompletableFuture[started.size()])).get();
+      } catch (ExecutionException e) {
+         log.error("Unable to start microservice providers: ", e.getCause());
+      } catch (InterruptedException ie) {
+         initExecutor.shutdownNow();
+         throw ie;
+      } finally {
+         initExecutor.shutdown();
       }
 
       log.info("Total microservice providers " + stats.toString() + ".");
@@ -265,13 +352,158 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
       executor.shutdown();
    }
 
+   /**
+    * Plans the initialization and start of the given provider after all the providers it depends on are started.
+    *
+    * @param provider
+    *        The provider to be started.
+    * @param started
+    *        Already planned providers.
+    * @param visiting
+    *        Providers on the current dependency path, used to detect cyclic dependencies.
+    * @param initExecutor
+    *        The thread pool where the providers are initialized.
+    * @return A future completed once the provider is started or failed to initialize or start.
+    */
+   private CompletableFuture<Void> startInstance(final MicroserviceProvider provider, final Map<MicroserviceProvider, CompletableFuture<Void>> started,
+         final Set<MicroserviceProvider> visiting, final ExecutorService initExecutor) {
+      CompletableFuture<Void> future = started.get(provider);
+
+      if (future == null) {
+         visiting.add(provider);
+
+         final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+         for (MicroserviceProvider dependency : getDependencies(provider)) {
+            if (visiting.contains(dependency)) {
+               log.warn("Ignoring cyclic dependency of microservice provider {} on {}.", provider.getClass().getName(), dependency.getClass().getName());
+            } else {
+               dependencies.add(startInstance(dependency, started, visiting, initExecutor));
+            }
+         }
+
+         visiting.remove(provider);
+
+         future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[dependencies.size()]))
+                                   .thenComposeAsync(ignored -> initializeInstance(provider), initExecutor);
+         started.put(provider, future);
+      }
+
+      return future;
+   }
+
+   /**
+    * Gets the provider instances implementing any of the services the given provider depends on.
+    *
+    * @param provider
+    *        The provider to get the dependencies for.
+    * @return The provider instances the given provider depends on.
+    */
+   private List<MicroserviceProvider> getDependencies(final MicroserviceProvider provider) {
+      final Set<Class<? extends SilverService>> dependencies = provider.getDependencies();
+
+      return instances.stream()
+                      .filter(instance -> instance != provider && dependencies.stream().anyMatch(type -> type.isInstance(instance)))
+                      .collect(Collectors.toList());
+   }
+
+   /**
+    * Initializes the given provider, registers it in the context and runs it in its own thread.
+    * Also counts statistics of the initialized instances.
+    *
+    * @param provider
+    *        The provider to be initialized and started.
+    * @return A future completed once the start method of a lifecycle provider returns, or once any other provider is running in its thread.
+    */
+   private CompletableFuture<Void> initializeInstance(final MicroserviceProvider provider) {
+      final String name = provider.getClass().getName();
+
+      if (log.isDebugEnabled()) {
+         log.debug("Initializing microservice provider: " + name);
+      }
+
+      final long start = System.nanoTime();
+      try {
+         provider.initialize(context);
+      } catch (Error | Exception e) {
+         log.warn(String.format("Unable to start microservice provider: %s", name), e);
+         return CompletableFuture.completedFuture(null);
+      }
+
+      stats.recordPhase("initialize " + provider.getClass().getSimpleName(), start);
+      stats.incDeployed();
+      context.getProvidersRegistry().put(name, provider);
+
+      if (log.isDebugEnabled()) {
+         log.debug("Running microservice provider: " + name);
+      }
+      stats.recordEvent("run " + provider.getClass().getSimpleName());
+
+      if (provider instanceof LifecycleMicroserviceProvider) {
+         // the thread is needed only until the provider is started
+         return CompletableFuture.runAsync(() -> startLifecycleInstance((LifecycleMicroserviceProvider) provider), executor);
+      } else {
+         executor.submit(provider);
+         return CompletableFuture.completedFuture(null);
+      }
+   }
+
+   /**
+    * Starts the given lifecycle provider and remembers it to be stopped upon shutdown.
+    *
+    * @param provider
+    *        The provider to be started.
+    */
+   private void startLifecycleInstance(final LifecycleMicroserviceProvider provider) {
+      final long start = System.nanoTime();
+
+      try {
+         provider.start();
+         startedInstances.push(provider);
+         stats.recordPhase("start " + provider.getClass().getSimpleName(), start);
+      } catch (InterruptedException ie) {
+         Utils.shutdownLog(log, ie);
+      } catch (Error | Exception e) {
+         log.error(String.format("Unable to start microservice provider: %s", provider.getClass().getName()), e);
+      }
+   }
+
+   /**
+    * Stops all the started lifecycle providers in the reverse order of their start.
+    */
+   private void stopLifecycleInstances() {
+      LifecycleMicroserviceProvider provider;
+
+      while ((provider = startedInstances.poll()) != null) {
+         stopLifecycleInstance(provider);
+      }
+   }
+
+   /**
+    * Stops the given lifecycle provider.
+    *
+    * @param provider
+    *        The provider to be stopped.
+    */
+   private void stopLifecycleInstance(final LifecycleMicroserviceProvider provider) {
+      if (log.isDebugEnabled()) {
+         log.debug("Stopping microservice provider: " + provider.getClass().getName());
+      }
+
+      try {
+         provider.stop();
+      } catch (Error | Exception e) {
+         log.warn(String.format("Unable to stop microservice provider: %s", provider.getClass().getName()), e);
+      }
+   }
+
    @Override
    public void initialize(final Context context) {
       this.context = context;
+      this.stats = context.getDeployStats();
 
       context.getProvidersRegistry().put(this.getClass().getName(), this);
 
-      if (Boolean.parseBoolean((String) context.getProperties().getOrDefault(SHUTDOWN_HOOK, "true"))) {
+      if (context.getConfiguration().getBoolean(SHUTDOWN_HOOK, true)) {
          shutdownHook = new Thread(new ShutdownHook(executor));
          Runtime.getRuntime().addShutdownHook(shutdownHook);
       }
@@ -284,11 +516,20 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
    @Override
    public void run() {
       log.info("Looking up microservice providers...");
+      registerStats();
 
-      createInstances(DeploymentScanner.getContextInstance(context).lookupMicroserviceProviders());
-      startInstances();
+      long start = System.nanoTime();
+      final Set<Class<? extends MicroserviceProvider>> microserviceProviders = DeploymentScanner.getContextInstance(context).lookupMicroserviceProviders();
+      stats.recordPhase("scan", start);
+
+      start = System.nanoTime();
+      createInstances(microserviceProviders);
+      stats.recordPhase("instantiate", start);
 
       try {
+         startInstances();
+         reportTimeline();
+
          int active;
          boolean firstTime = true;
 
@@ -302,10 +543,15 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
                log.debug("Still here ;-) Microservice providers alive: " + active);
             }
 
-            if (active > 0) {
+            if (!executor.isTerminated()) {
                executor.awaitTermination(1, TimeUnit.MINUTES);
             }
-         } while (active > 0);
+         } while (!executor.isTerminated());
+
+         if (!startedInstances.isEmpty()) {
+            log.info("Microservice providers running without a thread: " + startedInstances.size());
+            new CountDownLatch(1).await(); // parks the boot thread until the platform is interrupted
+         }
 
          log.info("All work is done. Graceful termination.");
 
@@ -314,6 +560,59 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
          }
       } catch (InterruptedException ie) {
          Utils.shutdownLog(log, ie);
+      } finally {
+         stopLifecycleInstances();
+         unregisterStats();
+      }
+   }
+
+   /**
+    * Logs the boot timeline once all the milestones announced by the providers are reached or failed, but at most after
+    * the {@link #BOOT_TIMELINE_TIMEOUT}. All the providers are initialized at this point, so all the milestones are already announced.
+    *
+    * @throws InterruptedException
+    *        When the platform is interrupted while waiting for the milestones.
+    */
+   private void reportTimeline() throws InterruptedException {
+      final long timeout = context.getConfiguration().getLong(BOOT_TIMELINE_TIMEOUT, DEFAULT_BOOT_TIMELINE_TIMEOUT);
+      final Set<String> milestones = new HashSet<>(context.getMilestoneNames());
+
+      try {
+         CompletableFuture.allOf(milestones.stream().map(context::getMilestone).toArray(CompletableFuture[]::new)).get(timeout, TimeUnit.MILLISECONDS);
+         stats.recordEvent("ready");
+      } catch (ExecutionException e) {
+         stats.recordEvent("ready"); // failed milestones are finished as well
+      } catch (TimeoutException e) {
+         milestones.removeIf(milestone -> context.getMilestone(milestone).isDone());
+         log.warn("Milestones {} not reached in {} ms, reporting the boot timeline anyway.", milestones, timeout);
+      }
+
+      log.info("Boot timeline (start, duration, phase):\n" + String.join("\n", stats.getTimeline()));
+   }
+
+   /**
+    * Publishes the deployment statistics including the boot timeline into JMX.
+    */
+   private void registerStats() {
+      try {
+         statsName = new ObjectName("io.silverware.microservices:type=DeployStats,context=" + context.getId());
+         ManagementFactory.getPlatformMBeanServer().registerMBean(stats, statsName);
+      } catch (JMException e) {
+         log.warn("Unable to register deployment statistics in JMX: ", e);
+         statsName = null;
+      }
+   }
+
+   /**
+    * Removes the deployment statistics from JMX.
+    */
+   private void unregisterStats() {
+      if (statsName != null) {
+         try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(statsName);
+         } catch (JMException e) {
+            log.warn("Unable to unregister deployment statistics from JMX: ", e);
+         }
       }
    }
 
@@ -343,44 +642,79 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
        */
       private final ThreadPoolExecutor executor;
 
+      /**
+       * The main thread of the platform if there is any.
+       */
+      private Thread mainThread = null;
+
       public ShutdownHook(final ThreadPoolExecutor executor) {
          this.executor = executor;
       }
 
-      private void terminateThread(final Thread thread) {
-         if (log.isDebugEnabled()) {
-            log.debug("Terminating thread {}...", thread.getName());
-         }
+      /**
+       * Closes the ingress points, drains the invocations in flight and stops the providers in the reverse order of their dependencies.
+       * Each of the phases is bounded by its timeout.
+       */
+      @Override
+      public void run() {
+         shutdownHook = null; // make it impossible to unregister the hook once it is already running
 
-         thread.interrupt();
+         log.info("Terminating SilverWare...");
 
-         int tries = 0;
-         while (thread.isAlive() && tries < 20) {
-            tries++;
-            try {
-               Thread.sleep(500);
-            } catch (InterruptedException e) {
-               log.warn("Cannot wait for thread termination: ", e);
-            }
-         }
+         final InvocationGate gate = context.getInvocationGate();
 
-         if (thread.isAlive()) {
-            log.warn("Could not terminate thread {}.", thread.getName());
+         long start = System.nanoTime();
+         gate.close();
+         reportPhase("stop accepting invocations", start);
+
+         start = System.nanoTime();
+         drain(gate, getShutdownTimeout(SHUTDOWN_DRAIN_TIMEOUT));
+         reportPhase("drain invocations in flight", start);
+
+         start = System.nanoTime();
+         final long deadline = start + TimeUnit.MILLISECONDS.toNanos(getShutdownTimeout(SHUTDOWN_STOP_TIMEOUT));
+         final Thread bootThread = stopProviders(deadline);
+         reportPhase("stop providers", start);
+
+         start = System.nanoTime();
+         if (log.isDebugEnabled()) {
+            log.debug("Waiting for main thread cleanup.");
+         }
+         if (bootThread != null) {
+            bootThread.interrupt(); // wakes the boot thread waiting for lifecycle providers
+            join(bootThread, deadline);
          }
+         if (mainThread != null && mainThread != Thread.currentThread()) {
+            join(mainThread, deadline);
+         }
+         reportPhase("main thread cleanup", start);
       }
 
-      @Override
-      public void run() {
-         shutdownHook = null; // make it impossible to unregister the hook once it is already running
-
-         log.info("Terminating SilverWare...");
+      private void drain(final InvocationGate gate, final long timeout) {
+         try {
+            if (!gate.awaitDrained(timeout, TimeUnit.MILLISECONDS)) {
+               log.warn("{} invocations still in flight after {} ms, terminating anyway.", gate.getInFlight(), timeout);
+            }
+         } catch (InterruptedException e) {
+            log.warn("Cannot wait for invocations in flight: ", e);
+         }
+      }
 
+      /**
+       * Interrupts all provider threads and stops the started lifecycle providers, then waits for them until the deadline.
+       * A lifecycle provider is stopped once all the providers depending on it are stopped, independent providers are stopped in parallel.
+       *
+       * @param deadline
+       *        The time as returned by {@link System#nanoTime()} when we stop waiting for the providers.
+       * @return The boot thread to be terminated last, null if there is none.
+       */
+      private Thread stopProviders(final long deadline) {
          final ThreadGroup group = ((DaemonThreadFactory) executor.getThreadFactory()).getGroup();
          final Thread[] threadList = new Thread[group.activeCount() + 1];
          group.enumerate(threadList);
 
          Thread bootThread = null;
-         Thread mainThread = null;
+         final List<Thread> providerThreads = new ArrayList<>();
 
          for (int i = 0; i < threadList.length; i++) {
             if (threadList[i] != null) {
@@ -391,23 +725,76 @@ public class Executor implements MicroserviceProvider, ProvidingSilverService {
                   } else if (threadName.equals(THREAD_PREFIX + BOOT_THREAD)) {
                      bootThread = threadList[i]; // let's keep the boot thread to be terminated last
                   } else {
-                     terminateThread(threadList[i]);
+                     if (log.isDebugEnabled()) {
+                        log.debug("Terminating thread {}...", threadList[i].getName());
+                     }
+                     threadList[i].interrupt();
+                     providerThreads.add(threadList[i]);
                   }
                }
             }
          }
 
-         if (log.isDebugEnabled()) {
-            log.debug("Waiting for main thread cleanup.");
+         final List<Thread> stoppingThreads = new ArrayList<>();
+         final Map<LifecycleMicroserviceProvider, CompletableFuture<Void>> stopped = new IdentityHashMap<>();
+         LifecycleMicroserviceProvider provider;
+         while ((provider = startedInstances.poll()) != null) {
+            // providers are started after their dependencies, so all the providers depending on this one were already polled
+            final LifecycleMicroserviceProvider stopping = provider;
+            final CompletableFuture[] dependents = stopped.entrySet().stream()
+                                                          .filter(entry -> getDependencies(entry.getKey()).contains(stopping))
+                                                          .map(Map.Entry::getValue)
+                                                          .toArray(CompletableFuture[]::new);
+            final CompletableFuture<Void> done = new CompletableFuture<>();
+            stopped.put(stopping, done);
+
+            final Thread stoppingThread = new Thread(() -> {
+               try {
+                  await(CompletableFuture.allOf(dependents), deadline);
+                  stopLifecycleInstance(stopping);
+               } finally {
+                  done.complete(null);
+               }
+            }, THREAD_PREFIX + "stop-" + stopping.getClass().getSimpleName());
+            stoppingThread.setDaemon(true);
+            stoppingThread.start();
+            stoppingThreads.add(stoppingThread);
+         }
 
+         stoppingThreads.forEach(thread -> join(thread, deadline));
+         providerThreads.forEach(thread -> join(thread, deadline));
+
+         return bootThread;
+      }
+
+      private void await(final CompletableFuture<Void> dependents, final long deadline) {
+         try {
+            dependents.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+         } catch (InterruptedException e) {
+            log.warn("Cannot wait for dependent providers to stop: ", e);
+         } catch (ExecutionException | TimeoutException e) {
+            log.warn("Dependent providers did not stop in time, stopping anyway.");
          }
-         while ((mainThread != null && mainThread.isAlive()) || (bootThread != null && bootThread.isAlive())) {
-            try {
-               Thread.sleep(1000);
-            } catch (InterruptedException e) {
-               log.warn(e);
+      }
+
+      private void join(final Thread thread, final long deadline) {
+         try {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+               TimeUnit.NANOSECONDS.timedJoin(thread, remaining);
             }
+         } catch (InterruptedException e) {
+            log.warn("Cannot wait for thread termination: ", e);
+         }
+
+         if (thread.isAlive()) {
+            log.warn("Could not terminate thread {}.", thread.getName());
          }
       }
+
+      private void reportPhase(final String phase, final long start) {
+         log.info("Shutdown phase '{}' took {} ms.", phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+         stats.recordPhase("shutdown: " + phase, start);
+      }
    }
 }
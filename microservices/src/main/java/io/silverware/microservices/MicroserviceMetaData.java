@@ -27,20 +27,35 @@ import com.cedarsoftware.util.io.JsonReader;
 import com.cedarsoftware.util.io.JsonWriter;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.lang.annotation.Annotation;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Immutable meta-data of a discovered Microservice implementation.
+ * The hash code is computed only once as it covers sets of annotations with reflective hash codes.
+ * Instances equal in all fields including the versions can be interned to a single canonical instance, which makes
+ * them cheap keys in maps. Deserialized instances are interned automatically.
+ * The canonical instances are referenced weakly, so meta-data that are no longer used (e.g. received from a node
+ * that left the cluster) do not stay in memory with their classes.
  *
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
 public final class MicroserviceMetaData implements Serializable {
 
+   /**
+    * Canonical instances by their intern keys, guarded by itself.
+    * The keys are referenced only by the canonical instances, so the entries are removed together with them.
+    */
+   private static final Map<InternKey, WeakReference<MicroserviceMetaData>> interned = new WeakHashMap<>();
+
    /**
     * Name of the Microservice.
     */
@@ -71,6 +86,16 @@ public final class MicroserviceMetaData implements Serializable {
     */
    private final String implVersion;
 
+   /**
+    * Cached hash code, zero when not computed yet.
+    */
+   private transient int hash;
+
+   /**
+    * Intern key of the canonical instance, null when this instance was not interned.
+    */
+   private transient InternKey internKey;
+
    /**
     * Create a representation of a discovered Microservice.
     *
@@ -154,6 +179,40 @@ public final class MicroserviceMetaData implements Serializable {
       return implVersion;
    }
 
+   /**
+    * Gets the canonical instance equal to this meta-data, including the versions.
+    *
+    * @return The canonical instance equal to this meta-data.
+    */
+   public MicroserviceMetaData intern() {
+      if (internKey != null) {
+         return this;
+      }
+
+      final InternKey key = new InternKey(this);
+      synchronized (interned) {
+         final WeakReference<MicroserviceMetaData> reference = interned.get(key);
+         final MicroserviceMetaData canonical = reference == null ? null : reference.get();
+         if (canonical != null) {
+            return canonical;
+         }
+
+         internKey = key;
+         interned.put(key, new WeakReference<>(this));
+
+         return this;
+      }
+   }
+
+   /**
+    * Interns deserialized instances.
+    *
+    * @return The canonical instance equal to the deserialized one.
+    */
+   private Object readResolve() {
+      return intern();
+   }
+
    @Override
    public boolean equals(final Object o) {
       if (this == o) {
@@ -165,6 +224,13 @@ public final class MicroserviceMetaData implements Serializable {
 
       final MicroserviceMetaData that = (MicroserviceMetaData) o;
 
+      if (internKey != null && that.internKey != null && Objects.equals(apiVersion, that.apiVersion) && Objects.equals(implVersion, that.implVersion)) {
+         return false; // different canonical instances with the same versions
+      }
+      if (hashCode() != that.hashCode()) {
+         return false;
+      }
+
       if (!getName().equals(that.getName())) {
          return false;
       }
@@ -179,10 +245,16 @@ public final class MicroserviceMetaData implements Serializable {
 
    @Override
    public int hashCode() {
-      int result = getName().hashCode();
-      result = 31 * result + getType().hashCode();
-      result = 31 * result + (getQualifiers() != null ? getQualifiers().hashCode() : 0);
-      result = 31 * result + (getAnnotations() != null ? getAnnotations().hashCode() : 0);
+      int result = hash;
+
+      if (result == 0) {
+         result = getName().hashCode();
+         result = 31 * result + getType().hashCode();
+         result = 31 * result + (getQualifiers() != null ? getQualifiers().hashCode() : 0);
+         result = 31 * result + (getAnnotations() != null ? getAnnotations().hashCode() : 0);
+         hash = result;
+      }
+
       return result;
    }
 
@@ -228,7 +300,7 @@ public final class MicroserviceMetaData implements Serializable {
     *       when something went wrong
     */
    public List<ServiceHandle> query(final Context context, final String host) throws Exception {
-      String urlBase = "http://" + host + "/" + context.getProperties().get(HttpInvokerSilverService.INVOKER_URL) + "/query";
+      String urlBase = "http://" + host + "/" + context.getConfiguration().getString(HttpInvokerSilverService.INVOKER_URL, null) + "/query";
 
       HttpURLConnection con = (HttpURLConnection) new URL(urlBase).openConnection();
       con.setRequestMethod("POST");
@@ -245,4 +317,35 @@ public final class MicroserviceMetaData implements Serializable {
 
       return response;
    }
+
+   /**
+    * Identifies the canonical instances, unlike {@link MicroserviceMetaData#equals(Object)} it covers the versions.
+    */
+   private static final class InternKey {
+
+      private final MicroserviceMetaData metaData;
+
+      private InternKey(final MicroserviceMetaData metaData) {
+         this.metaData = metaData;
+      }
+
+      @Override
+      public boolean equals(final Object o) {
+         if (this == o) {
+            return true;
+         }
+         if (!(o instanceof InternKey)) {
+            return false;
+         }
+
+         final MicroserviceMetaData that = ((InternKey) o).metaData;
+
+         return Objects.equals(metaData.apiVersion, that.apiVersion) && Objects.equals(metaData.implVersion, that.implVersion) && metaData.equals(that);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * (31 * metaData.hashCode() + Objects.hashCode(metaData.apiVersion)) + Objects.hashCode(metaData.implVersion);
+      }
+   }
 }
@@ -0,0 +1,61 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.annotations;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Configures when {@link io.silverware.microservices.silver.services.lookup.LocalityFirstLookupStrategy} spills invocations
+ * from the local Microservice instances to the remote ones.
+ *
+ * The local instance for an invocation is picked by the power of two choices, the less loaded of two randomly sampled
+ * local instances. The invocation spills over when the picked instance reaches the concurrency threshold
+ * or when its average latency reaches the latency threshold.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+@Documented
+@Retention(RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Spillover {
+
+   int DEFAULT_MAX_CONCURRENCY = 16;
+   int DEFAULT_MAX_LATENCY = 0;
+
+   /**
+    * Number of outstanding invocations of a local instance at or above which new invocations spill to remote instances.
+    *
+    * @return concurrency threshold
+    */
+   int maxConcurrency() default DEFAULT_MAX_CONCURRENCY;
+
+   /**
+    * Average latency (in milliseconds) of a local instance at or above which new invocations spill to remote instances.
+    * Zero disables the latency threshold.
+    *
+    * @return latency threshold in milliseconds
+    */
+   int maxLatency() default DEFAULT_MAX_LATENCY;
+}
@@ -0,0 +1,67 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Microservice provider that does not need its own thread while it is running.
+ * Upon boot, the start method is called once the provider is initialized and it returns as soon as the provider is running.
+ * The stop method is called upon the platform shutdown for all the providers that were started successfully,
+ * in the reverse order of their start. A provider is stopped only after all the providers depending on it are stopped,
+ * providers that do not depend on each other can be stopped in parallel.
+ *
+ * For backward compatibility, running the provider as a {@link Runnable} starts it, waits until the thread is
+ * interrupted and stops it.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public interface LifecycleMicroserviceProvider extends MicroserviceProvider {
+
+   /**
+    * Starts the provider and returns once it is running.
+    *
+    * @throws Exception
+    *       When it was not possible to start the provider. The provider must release everything it acquired.
+    */
+   void start() throws Exception;
+
+   /**
+    * Stops the running provider and releases all its resources.
+    */
+   void stop();
+
+   @Override
+   default void run() {
+      try {
+         start();
+      } catch (final Exception e) {
+         throw new IllegalStateException("Unable to start microservice provider " + getClass().getName(), e);
+      }
+
+      try {
+         new CountDownLatch(1).await(); // parks the thread until it is interrupted
+      } catch (final InterruptedException ie) {
+         Thread.currentThread().interrupt();
+      } finally {
+         stop();
+      }
+   }
+}
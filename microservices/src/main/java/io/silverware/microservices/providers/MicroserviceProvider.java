@@ -20,11 +20,17 @@
 package io.silverware.microservices.providers;
 
 import io.silverware.microservices.Context;
+import io.silverware.microservices.silver.SilverService;
+
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Simple minimalistic microservice implementation interface.
  * Upon boot, the initialize method is called. After a successful initialization, all services will be started in their
  * dedicated thread. A proper shutdown must be part of the run() method.
+ * Providers that do not depend on each other are initialized concurrently.
+ * Providers that do not need their own thread while running should implement {@link LifecycleMicroserviceProvider}.
  *
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
@@ -33,6 +39,17 @@ public interface MicroserviceProvider extends Runnable {
    default void initialize(final Context context) {
    }
 
+   /**
+    * Gets the services this provider depends on. The provider is initialized and started only after all the providers
+    * implementing any of these services are started, that is, after the start method of a {@link LifecycleMicroserviceProvider}
+    * returns, or once any other provider is initialized and running in its thread. Services without any provider are ignored.
+    *
+    * @return The services this provider depends on.
+    */
+   default Set<Class<? extends SilverService>> getDependencies() {
+      return Collections.emptySet();
+   }
+
    @Override
    void run();
 }
@@ -0,0 +1,230 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers;
+
+import io.silverware.microservices.silver.SilverService;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of Microservice providers keyed by their class name.
+ * Besides being an ordinary concurrent map, it keeps an index from every type (class or interface) implemented
+ * by the registered {@link SilverService SilverServices} to the providers implementing it. The index is rebuilt
+ * on every change of the registry so that lookups by type are constant time and do not allocate.
+ * All changes go through the few methods that update the index, the key, value and entry views are read-only.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class ProvidersRegistry extends AbstractMap<String, MicroserviceProvider> implements ConcurrentMap<String, MicroserviceProvider> {
+
+   /**
+    * The registered providers.
+    */
+   private final ConcurrentMap<String, MicroserviceProvider> providers = new ConcurrentHashMap<>();
+
+   /**
+    * Read-only view of the registered providers.
+    */
+   private final Map<String, MicroserviceProvider> view = Collections.unmodifiableMap(providers);
+
+   /**
+    * Called after every change of the registry.
+    */
+   private final Runnable changeListener;
+
+   /**
+    * Providers by all the types they implement.
+    */
+   private volatile Map<Class<?>, Set<SilverService>> index = Collections.emptyMap();
+
+   /**
+    * Creates an empty registry.
+    */
+   public ProvidersRegistry() {
+      this(() -> {
+      });
+   }
+
+   /**
+    * Creates an empty registry that notifies the listener after every change.
+    *
+    * @param changeListener
+    *       Called after a provider was added, replaced or removed.
+    */
+   public ProvidersRegistry(final Runnable changeListener) {
+      this.changeListener = changeListener;
+   }
+
+   /**
+    * Gets a provider implementing the given interface or class.
+    *
+    * @param clazz
+    *       An interface or class the implementation of which we are looking for.
+    * @return The first registered provider that implements the given type if it exists, null otherwise.
+    */
+   public SilverService getProvider(final Class<?> clazz) {
+      final Set<SilverService> implementations = index.get(clazz);
+
+      return implementations == null ? null : implementations.iterator().next();
+   }
+
+   /**
+    * Gets all providers implementing the given interface or class.
+    *
+    * @param clazz
+    *       An interface or class the implementation of which we are looking for.
+    * @return An unmodifiable set of providers that implement the given type, an empty set if there are none.
+    */
+   public Set<SilverService> getAllProviders(final Class<?> clazz) {
+      return index.getOrDefault(clazz, Collections.emptySet());
+   }
+
+   @Override
+   public Set<String> keySet() {
+      return view.keySet();
+   }
+
+   @Override
+   public Collection<MicroserviceProvider> values() {
+      return view.values();
+   }
+
+   @Override
+   public Set<Entry<String, MicroserviceProvider>> entrySet() {
+      return view.entrySet();
+   }
+
+   @Override
+   public int size() {
+      return providers.size();
+   }
+
+   @Override
+   public boolean containsKey(final Object key) {
+      return providers.containsKey(key);
+   }
+
+   @Override
+   public MicroserviceProvider get(final Object key) {
+      return providers.get(key);
+   }
+
+   @Override
+   public MicroserviceProvider put(final String key, final MicroserviceProvider value) {
+      final MicroserviceProvider previous = providers.put(key, value);
+      changed();
+      return previous;
+   }
+
+   @Override
+   public MicroserviceProvider putIfAbsent(final String key, final MicroserviceProvider value) {
+      final MicroserviceProvider previous = providers.putIfAbsent(key, value);
+      changed();
+      return previous;
+   }
+
+   @Override
+   public void putAll(final Map<? extends String, ? extends MicroserviceProvider> map) {
+      providers.putAll(map);
+      changed();
+   }
+
+   @Override
+   public MicroserviceProvider remove(final Object key) {
+      final MicroserviceProvider previous = providers.remove(key);
+      changed();
+      return previous;
+   }
+
+   @Override
+   public boolean remove(final Object key, final Object value) {
+      final boolean removed = providers.remove(key, value);
+      changed();
+      return removed;
+   }
+
+   @Override
+   public MicroserviceProvider replace(final String key, final MicroserviceProvider value) {
+      final MicroserviceProvider previous = providers.replace(key, value);
+      changed();
+      return previous;
+   }
+
+   @Override
+   public boolean replace(final String key, final MicroserviceProvider oldValue, final MicroserviceProvider newValue) {
+      final boolean replaced = providers.replace(key, oldValue, newValue);
+      changed();
+      return replaced;
+   }
+
+   @Override
+   public void clear() {
+      providers.clear();
+      changed();
+   }
+
+   /**
+    * Rebuilds the index and notifies the listener.
+    * Every change is followed by a rebuild that starts after the change, so the last rebuild always sees all changes.
+    */
+   private void changed() {
+      synchronized (this) {
+         final Map<Class<?>, Set<SilverService>> newIndex = new HashMap<>();
+
+         providers.values().stream().filter(provider -> provider instanceof SilverService).forEach(provider ->
+               getAllTypes(provider.getClass()).forEach(type ->
+                     newIndex.computeIfAbsent(type, key -> new LinkedHashSet<>()).add((SilverService) provider)));
+
+         newIndex.replaceAll((type, providers) -> Collections.unmodifiableSet(providers));
+         index = newIndex;
+      }
+
+      changeListener.run();
+   }
+
+   private static Set<Class<?>> getAllTypes(final Class<?> clazz) {
+      final Set<Class<?>> types = new HashSet<>();
+      final Deque<Class<?>> toVisit = new ArrayDeque<>();
+      toVisit.add(clazz);
+
+      while (!toVisit.isEmpty()) {
+         final Class<?> type = toVisit.poll();
+         if (types.add(type)) {
+            if (type.getSuperclass() != null) {
+               toVisit.add(type.getSuperclass());
+            }
+            Collections.addAll(toVisit, type.getInterfaces());
+         }
+      }
+
+      return types;
+   }
+}
@@ -36,6 +36,11 @@ public interface CdiSilverService extends ProvidingSilverService {
     */
    String CDI_CONTAINER = "silverware.cdi.container";
 
+   /**
+    * Context milestone reached with this service once the CDI container is deployed.
+    */
+   String CDI_DEPLOYED = "silverware.cdi.deployed";
+
    boolean isDeployed();
 
    /**
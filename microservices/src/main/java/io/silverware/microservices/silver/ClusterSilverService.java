@@ -42,4 +42,19 @@ public interface ClusterSilverService extends ProvidingSilverService {
     */
    String CLUSTER_LOOKUP_TIMEOUT = "silverware.cluster.lookup.timeout";
 
+   /**
+    * Maximum number of remote invocations sent to a single instance that wait for the response, further invocations are queued.
+    */
+   String CLUSTER_MAX_OUTSTANDING_REQUESTS = "silverware.cluster.max.outstanding.requests";
+
+   /**
+    * Maximum number of threads processing the remote invocations received by this node.
+    */
+   String CLUSTER_INVOCATION_THREADS = "silverware.cluster.invocation.threads";
+
+   /**
+    * Maximum number of received remote invocations waiting for a thread, further invocations are rejected with an error.
+    */
+   String CLUSTER_INVOCATION_QUEUE_SIZE = "silverware.cluster.invocation.queue.size";
+
 }
@@ -37,6 +37,11 @@ public interface HttpServerSilverService extends SilverService {
     */
    String HTTP_SERVER = "silverware.http.server";
 
+   /**
+    * Context milestone reached with this service once the HTTP server listens for requests.
+    */
+   String HTTP_LISTENING = "silverware.http.listening";
+
    /**
     * Property with the HTTP port number on which the server listens.
     */
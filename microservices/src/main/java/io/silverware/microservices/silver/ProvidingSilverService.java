@@ -48,4 +48,16 @@ public interface ProvidingSilverService extends SilverService {
    default Set<Object> lookupLocalMicroservice(final MicroserviceMetaData metaData) {
       return lookupMicroservice(metaData);
    }
+
+   /**
+    * Tells whether the results of lookups for the given query can be cached by the {@link io.silverware.microservices.Context}.
+    * Providers that create a new instance for every lookup (e.g. connections) must return false for such queries.
+    * Cached results are dropped whenever providers, Microservices or remote handles change.
+    *
+    * @param metaData Meta-data query.
+    * @return True if the lookup results for the given query can be reused.
+    */
+   default boolean isLookupCacheable(final MicroserviceMetaData metaData) {
+      return true;
+   }
 }
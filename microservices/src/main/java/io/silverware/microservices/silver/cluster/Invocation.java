@@ -21,12 +21,16 @@ package io.silverware.microservices.silver.cluster;
 
 import io.silverware.microservices.Context;
 import io.silverware.microservices.SilverWareException;
+import io.silverware.microservices.util.Utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Carries information needed to invoke a Microservice remotely.
@@ -36,6 +40,12 @@ import java.util.Arrays;
  */
 public class Invocation implements Serializable {
 
+   /**
+    * The identifier computed for the class before the method index was added, so that the nodes of both versions
+    * can exchange invocations. The nodes of the older version send invocations without the method index.
+    */
+   private static final long serialVersionUID = 5643946450238197578L;
+
    private static final Logger log = LogManager.getLogger(Invocation.class);
 
    private final int handle;
@@ -46,11 +56,46 @@ public class Invocation implements Serializable {
 
    private final Object[] params;
 
+   /**
+    * Index of the method in the {@link MethodDispatchTable} of the Microservice type.
+    */
+   private final int methodIndex;
+
+   /**
+    * Fingerprint of the {@link MethodDispatchTable} the method index belongs to.
+    */
+   private final int dispatchFingerprint;
+
    public Invocation(final int handle, final String method, final Class[] paramTypes, final Object[] params) {
       this.handle = handle;
       this.method = method;
       this.paramTypes = paramTypes;
       this.params = params;
+      this.methodIndex = MethodDispatchTable.UNKNOWN_METHOD;
+      this.dispatchFingerprint = 0;
+   }
+
+   /**
+    * Creates an invocation that addresses the method by its index instead of its name and parameter types.
+    * This can be used only when the caller knows that the remote Microservice type has the same
+    * {@link MethodDispatchTable} fingerprint.
+    *
+    * @param handle
+    *       Number of the handle of the remote Microservice.
+    * @param methodIndex
+    *       Index of the method in the {@link MethodDispatchTable}.
+    * @param dispatchFingerprint
+    *       Fingerprint of the {@link MethodDispatchTable}.
+    * @param params
+    *       Parameters of the method.
+    */
+   public Invocation(final int handle, final int methodIndex, final int dispatchFingerprint, final Object[] params) {
+      this.handle = handle;
+      this.method = null;
+      this.paramTypes = null;
+      this.params = params;
+      this.methodIndex = methodIndex;
+      this.dispatchFingerprint = dispatchFingerprint;
    }
 
    public int getHandle() {
@@ -69,6 +114,14 @@ public class Invocation implements Serializable {
       return params;
    }
 
+   public int getMethodIndex() {
+      return methodIndex;
+   }
+
+   public int getDispatchFingerprint() {
+      return dispatchFingerprint;
+   }
+
    @Override
    public boolean equals(final Object o) {
       if (this == o) {
@@ -83,7 +136,10 @@ public class Invocation implements Serializable {
       if (handle != that.handle) {
          return false;
       }
-      if (!method.equals(that.method)) {
+      if (methodIndex != that.methodIndex || dispatchFingerprint != that.dispatchFingerprint) {
+         return false;
+      }
+      if (!Objects.equals(method, that.method)) {
          return false;
       }
       // Probably incorrect - comparing Object[] arrays with Arrays.equals
@@ -98,7 +154,8 @@ public class Invocation implements Serializable {
    @Override
    public int hashCode() {
       int result = handle;
-      result = 31 * result + method.hashCode();
+      result = 31 * result + Objects.hashCode(method);
+      result = 31 * result + methodIndex;
       result = 31 * result + Arrays.hashCode(paramTypes);
       result = 31 * result + Arrays.hashCode(params);
       return result;
@@ -106,11 +163,11 @@ public class Invocation implements Serializable {
 
    @Override
    public String toString() {
-      return "Invocation{" + "handle=" + handle + ", method='" + method + '\'' + ", paramTypes=" + Arrays.toString(paramTypes) + ", params=" + Arrays.toString(params) + '}';
+      return "Invocation{" + "handle=" + handle + ", method='" + method + '\'' + ", methodIndex=" + methodIndex + ", paramTypes=" + Arrays.toString(paramTypes) + ", params=" + Arrays.toString(params) + '}';
    }
 
    /**
-    * Invokes a method with given context
+    * Invokes a method with given context, waits for asynchronous results to complete.
     *
     * @param context
     *       context which will be used to invoke method
@@ -119,11 +176,41 @@ public class Invocation implements Serializable {
     *       when some error occurs
     */
    public Object invoke(final Context context) throws Exception {
+      return Utils.awaitResult(invokeHandle(context));
+   }
+
+   /**
+    * Invokes a method with given context without waiting for asynchronous results.
+    *
+    * @param context
+    *       context which will be used to invoke method
+    * @return future that completes with the result of the invocation, or exceptionally when some error occurs
+    */
+   @SuppressWarnings("unchecked")
+   public CompletableFuture<Object> invokeAsync(final Context context) {
+      try {
+         final Object result = invokeHandle(context);
+         if (result instanceof CompletionStage) {
+            return ((CompletionStage<Object>) result).toCompletableFuture();
+         }
+         return CompletableFuture.completedFuture(result);
+      } catch (Exception e) {
+         final CompletableFuture<Object> failure = new CompletableFuture<>();
+         failure.completeExceptionally(e);
+         return failure;
+      }
+   }
+
+   private Object invokeHandle(final Context context) throws Exception {
       log.trace("Invoking Microservice with invocation {}.", this);
       final LocalServiceHandle serviceHandle = context.getLocalServiceHandle(handle);
       if (serviceHandle == null) {
          throw new SilverWareException(String.format("Handle no. %d. No such handle found.", getHandle()));
       }
+      // invocations deserialized from the older nodes have the method name and no method index
+      if (method == null) {
+         return serviceHandle.invoke(context, this.methodIndex, this.dispatchFingerprint, this.params);
+      }
       return serviceHandle.invoke(context, this.method, this.paramTypes, this.params);
    }
 
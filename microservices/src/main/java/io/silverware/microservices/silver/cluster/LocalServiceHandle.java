@@ -21,6 +21,7 @@ package io.silverware.microservices.silver.cluster;
 
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.SilverWareException;
 
 import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -42,10 +43,13 @@ public class LocalServiceHandle implements ServiceHandle {
 
    private final transient Object proxy;
 
+   private final transient MethodDispatchTable dispatchTable;
+
    public LocalServiceHandle(final MicroserviceMetaData query, final Object proxy) {
       this.handle = handleSource.getAndIncrement();
       this.query = query;
       this.proxy = proxy;
+      this.dispatchTable = MethodDispatchTable.forType(query.getType());
    }
 
    public int getHandle() {
@@ -66,6 +70,15 @@ public class LocalServiceHandle implements ServiceHandle {
       return query;
    }
 
+   /**
+    * Gets the fingerprint of the {@link MethodDispatchTable} used to invoke methods by their index.
+    *
+    * @return The fingerprint of the {@link MethodDispatchTable} of the Microservice type.
+    */
+   public int getDispatchFingerprint() {
+      return dispatchTable.getFingerprint();
+   }
+
    @Override
    public boolean equals(final Object o) {
       if (this == o) {
@@ -112,9 +125,37 @@ public class LocalServiceHandle implements ServiceHandle {
     */
    @Override
    public Object invoke(final Context context, final String methodName, final Class[] paramTypes, final Object[] params) throws Exception {
+      final int methodIndex = dispatchTable.indexOf(methodName, paramTypes);
+      if (methodIndex != MethodDispatchTable.UNKNOWN_METHOD) {
+         return dispatchTable.invoke(methodIndex, proxy, params);
+      }
+
+      // the method is not part of the Microservice type, try the implementation
       final Method method = proxy.getClass().getDeclaredMethod(methodName, paramTypes);
       return method.invoke(proxy, params);
+   }
+
+   /**
+    * Invokes the method with the given index in the {@link MethodDispatchTable} of the Microservice type.
+    *
+    * @param context
+    *       Local microservice context
+    * @param methodIndex
+    *       index of the method to be invoked
+    * @param dispatchFingerprint
+    *       fingerprint of the dispatch table the caller used to compute the index
+    * @param params
+    *       parameters of method called
+    * @return result of the invocation
+    * @throws Exception
+    *       in case of any error
+    */
+   public Object invoke(final Context context, final int methodIndex, final int dispatchFingerprint, final Object[] params) throws Exception {
+      if (dispatchFingerprint != dispatchTable.getFingerprint()) {
+         throw new SilverWareException(String.format("Handle no. %d. Incompatible method dispatch table of %s.", handle, query.getType().getName()));
+      }
 
+      return dispatchTable.invoke(methodIndex, proxy, params);
    }
 
 }
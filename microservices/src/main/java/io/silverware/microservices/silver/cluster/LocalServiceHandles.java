@@ -0,0 +1,116 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.cluster;
+
+import io.silverware.microservices.MicroserviceMetaData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Concurrent table of {@link LocalServiceHandle Local Service Handles} created for incoming service queries.
+ * Handles are addressable by their number in constant time without locking, as they are stored in an array indexed
+ * by the handle number. The array is replaced by a larger copy when a new handle does not fit in.
+ * Handles are also indexed by the query they were created for.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class LocalServiceHandles {
+
+   private static final int INITIAL_CAPACITY = 16;
+
+   /**
+    * Handles by the query they were created for.
+    */
+   private final Map<MicroserviceMetaData, List<LocalServiceHandle>> handlesByMetaData = new ConcurrentHashMap<>();
+
+   /**
+    * Handles by their number.
+    */
+   private volatile LocalServiceHandle[] handles = new LocalServiceHandle[INITIAL_CAPACITY];
+
+   /**
+    * Gets the handles for the given query, they are created with the given lookup function if they do not exist yet.
+    * Handles are created at most once for each query even under concurrent access. When the lookup does not find
+    * any Microservice, nothing is remembered and the lookup is repeated next time.
+    *
+    * @param metaData
+    *       The query for which to look up the service handles.
+    * @param lookup
+    *       Looks up the local Microservices for the query.
+    * @return An unmodifiable list of handles for the given query.
+    */
+   public List<LocalServiceHandle> assureHandles(final MicroserviceMetaData metaData, final Function<MicroserviceMetaData, Set<Object>> lookup) {
+      final List<LocalServiceHandle> existingHandles = handlesByMetaData.get(metaData);
+      if (existingHandles != null) {
+         return existingHandles;
+      }
+
+      final List<LocalServiceHandle> createdHandles = handlesByMetaData.computeIfAbsent(metaData, query -> {
+         final Set<Object> proxies = lookup.apply(query);
+         if (proxies.isEmpty()) {
+            return null;
+         }
+
+         final List<LocalServiceHandle> newHandles = new ArrayList<>(proxies.size());
+         proxies.forEach(proxy -> {
+            final LocalServiceHandle handle = new LocalServiceHandle(query, proxy);
+            register(handle);
+            newHandles.add(handle);
+         });
+
+         return Collections.unmodifiableList(newHandles);
+      });
+
+      return createdHandles != null ? createdHandles : Collections.emptyList();
+   }
+
+   /**
+    * Gets the handle with the given number.
+    *
+    * @param handle
+    *       The handle number.
+    * @return The handle with the given number, null if there is no such handle in this table.
+    */
+   public LocalServiceHandle get(final int handle) {
+      final LocalServiceHandle[] table = handles;
+
+      return handle >= 0 && handle < table.length ? table[handle] : null;
+   }
+
+   private synchronized void register(final LocalServiceHandle handle) {
+      LocalServiceHandle[] table = handles;
+
+      if (handle.getHandle() >= table.length) {
+         table = Arrays.copyOf(table, Math.max(table.length * 2, handle.getHandle() + 1));
+      } else {
+         table = table.clone();
+      }
+
+      table[handle.getHandle()] = handle;
+      handles = table;
+   }
+}
@@ -0,0 +1,228 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.cluster;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precompiled invokers of all public methods of a Microservice type.
+ * The methods are sorted by their signature, so the index of a method is the same on all nodes that share the same
+ * version of the type. The fingerprint of the table allows nodes to verify that before they start addressing
+ * methods by their index.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public final class MethodDispatchTable {
+
+   /**
+    * Index returned for unknown methods.
+    */
+   public static final int UNKNOWN_METHOD = -1;
+
+   private static final ClassValue<MethodDispatchTable> TABLES = new ClassValue<MethodDispatchTable>() {
+      @Override
+      protected MethodDispatchTable computeValue(final Class<?> type) {
+         return new MethodDispatchTable(type);
+      }
+   };
+
+   private final Method[] methods;
+
+   private final Class<?>[][] parameterTypes;
+
+   private final MethodHandle[] invokers;
+
+   private final Map<String, int[]> indicesByName = new HashMap<>();
+
+   private final int fingerprint;
+
+   private MethodDispatchTable(final Class<?> type) {
+      // bridge methods would share the signature with the methods they bridge to, and their mutual order is not specified
+      methods = Arrays.stream(type.getMethods()).filter(method -> !method.isBridge()).sorted(Comparator.comparing(MethodDispatchTable::getSignature)).toArray(Method[]::new);
+
+      parameterTypes = new Class<?>[methods.length][];
+      invokers = new MethodHandle[methods.length];
+
+      final StringBuilder signatures = new StringBuilder();
+      for (int i = 0; i < methods.length; i++) {
+         final Method method = methods[i];
+         final int index = i;
+
+         parameterTypes[i] = method.getParameterTypes();
+         invokers[i] = createInvoker(method);
+         indicesByName.merge(method.getName(), new int[] { index }, (existing, added) -> {
+            final int[] merged = Arrays.copyOf(existing, existing.length + 1);
+            merged[existing.length] = index;
+            return merged;
+         });
+         signatures.append(getSignature(method)).append(';');
+      }
+
+      fingerprint = signatures.toString().hashCode();
+   }
+
+   /**
+    * Gets the dispatch table for the given type. Tables are created only once per type.
+    *
+    * @param type
+    *       The Microservice type.
+    * @return The dispatch table for the given type.
+    */
+   public static MethodDispatchTable forType(final Class<?> type) {
+      return TABLES.get(type);
+   }
+
+   /**
+    * Gets the fingerprint of all method signatures in this table.
+    *
+    * @return The fingerprint of all method signatures in this table.
+    */
+   public int getFingerprint() {
+      return fingerprint;
+   }
+
+   /**
+    * Gets the number of methods in this table.
+    *
+    * @return The number of methods in this table.
+    */
+   public int size() {
+      return methods.length;
+   }
+
+   /**
+    * Gets the method with the given index.
+    *
+    * @param index
+    *       Index of the method.
+    * @return The method with the given index.
+    */
+   public Method getMethod(final int index) {
+      return methods[index];
+   }
+
+   /**
+    * Finds the index of the method with the given name and parameter types.
+    *
+    * @param name
+    *       Name of the method.
+    * @param types
+    *       Parameter types of the method.
+    * @return The index of the method or {@link #UNKNOWN_METHOD} when there is no such method.
+    */
+   public int indexOf(final String name, final Class<?>[] types) {
+      final int[] candidates = indicesByName.get(name);
+
+      if (candidates != null) {
+         for (final int candidate : candidates) {
+            if (Arrays.equals(parameterTypes[candidate], types)) {
+               return candidate;
+            }
+         }
+      }
+
+      return UNKNOWN_METHOD;
+   }
+
+   /**
+    * Invokes the method with the given index.
+    * The semantics are the same as of {@link Method#invoke(Object, Object...)}, the exceptions thrown by the method
+    * are wrapped in {@link InvocationTargetException}.
+    *
+    * @param index
+    *       Index of the method.
+    * @param target
+    *       The object on which the method is invoked.
+    * @param params
+    *       Parameters of the method.
+    * @return The result of the invocation.
+    * @throws Exception
+    *       When it was not possible to invoke the method or the method has thrown an exception.
+    */
+   public Object invoke(final int index, final Object target, final Object[] params) throws Exception {
+      if (index < 0 || index >= invokers.length) {
+         throw new IllegalArgumentException(String.format("Method index %d is out of range of the dispatch table with %d methods.", index, invokers.length));
+      }
+
+      final Object[] arguments = params == null ? new Object[0] : params;
+      if (arguments.length != parameterTypes[index].length) {
+         throw new IllegalArgumentException(String.format("Wrong number of arguments for method %s: %d.", methods[index], arguments.length));
+      }
+
+      final MethodHandle invoker = invokers[index];
+      if (invoker == null) {
+         return methods[index].invoke(target, arguments);
+      }
+
+      try {
+         return invoker.invokeExact(target, arguments);
+      } catch (ClassCastException | NullPointerException e) {
+         final Method method = methods[index];
+         if (!Modifier.isStatic(method.getModifiers()) && !method.getDeclaringClass().isInstance(target)) {
+            throw new IllegalArgumentException(String.format("Cannot invoke method %s on %s.", method, target), e);
+         }
+         throw new InvocationTargetException(e);
+      } catch (Throwable t) {
+         throw new InvocationTargetException(t);
+      }
+   }
+
+   /**
+    * Creates an invoker with the signature (Object target, Object[] params)Object.
+    * When the method is not accessible, null is returned and the method is invoked using reflection.
+    */
+   private static MethodHandle createInvoker(final Method method) {
+      try {
+         method.setAccessible(true);
+      } catch (RuntimeException e) {
+         // we will try with the public lookup
+      }
+
+      try {
+         MethodHandle handle = MethodHandles.lookup().unreflect(method);
+         if (Modifier.isStatic(method.getModifiers())) {
+            // static methods ignore the target just like with reflection
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+         }
+
+         return handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+      } catch (IllegalAccessException e) {
+         return null;
+      }
+   }
+
+   private static String getSignature(final Method method) {
+      final StringBuilder signature = new StringBuilder(method.getName()).append('(');
+      for (final Class<?> parameterType : method.getParameterTypes()) {
+         signature.append(parameterType.getName()).append(',');
+      }
+
+      // covariant overrides inherited from several interfaces differ only in the return type
+      return signature.append(')').append(method.getReturnType().getName()).toString();
+   }
+}
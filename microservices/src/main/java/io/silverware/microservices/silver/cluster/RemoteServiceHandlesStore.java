@@ -37,8 +37,21 @@ public class RemoteServiceHandlesStore {
 
    private final Map<MicroserviceMetaData, Set<ServiceHandle>> outboundHandles;
 
+   private final Runnable changeListener;
+
    public RemoteServiceHandlesStore() {
+      this(() -> {
+      });
+   }
+
+   /**
+    * Creates the store that notifies the listener after every change of the stored handles.
+    *
+    * @param changeListener - called after handles were added or removed
+    */
+   public RemoteServiceHandlesStore(final Runnable changeListener) {
       this.outboundHandles = new ConcurrentHashMap<>();
+      this.changeListener = changeListener;
    }
 
    /**
@@ -52,6 +65,9 @@ public class RemoteServiceHandlesStore {
       Set<ServiceHandle> serviceHandles = outboundHandles.getOrDefault(metaData, new HashSet<>());
       serviceHandles.addAll(handles);
       outboundHandles.putIfAbsent(metaData, serviceHandles);
+      if (!handles.isEmpty()) {
+         changeListener.run();
+      }
    }
 
    /**
@@ -65,6 +81,7 @@ public class RemoteServiceHandlesStore {
       Set<ServiceHandle> serviceHandles = outboundHandles.getOrDefault(metaData, new HashSet<>());
       serviceHandles.add(handle);
       outboundHandles.putIfAbsent(metaData, serviceHandles);
+      changeListener.run();
    }
 
    /**
@@ -77,6 +94,7 @@ public class RemoteServiceHandlesStore {
          serviceHandles = serviceHandles.stream().filter(serviceHandle -> availableNodes.contains(serviceHandle.getHost())).collect(Collectors.toSet());
          outboundHandles.put(metaData, serviceHandles);
       });
+      changeListener.run();
    }
 
    /**
@@ -0,0 +1,44 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services;
+
+/**
+ * Lookup strategy that is informed about the outcome of every invocation of the service it has selected.
+ * Every service returned by {@link #getService()} or {@link #getService(java.lang.reflect.Method, Object[])} is followed
+ * by exactly one call to {@link #invocationCompleted(Object, long, boolean)} once the invocation has finished.
+ * Asynchronous invocations finish on another thread than the one that selected the service, so they are reported only
+ * to strategies that are {@link #isThreadSafe() thread-safe}.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public interface LoadAwareLookupStrategy extends LookupStrategy {
+
+   /**
+    * Reports that an invocation of a service previously returned by this strategy has finished.
+    *
+    * @param service
+    *       The service that was invoked.
+    * @param duration
+    *       Duration of the invocation in nanoseconds.
+    * @param failed
+    *       True if the invocation has thrown an exception.
+    */
+   void invocationCompleted(final Object service, final long duration, final boolean failed);
+}
@@ -23,6 +23,7 @@ import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.util.Set;
 
 /**
@@ -33,4 +34,28 @@ public interface LookupStrategy {
    void initialize(final Context context, final MicroserviceMetaData metaData, final Set<Annotation> options);
 
    Object getService();
+
+   /**
+    * Gets a service for the invocation of the given method.
+    * Strategies that do not take the invocation into account use {@link #getService()}.
+    *
+    * @param method
+    *       The method that is going to be invoked.
+    * @param args
+    *       Arguments of the invocation.
+    * @return The service on which the method will be invoked.
+    */
+   default Object getService(final Method method, final Object[] args) {
+      return getService();
+   }
+
+   /**
+    * Tells whether a single instance of this strategy can be used by concurrent callers.
+    * Strategies that are not thread-safe get a separate instance for every calling thread.
+    *
+    * @return True if and only if this strategy can be used by multiple threads at the same time.
+    */
+   default boolean isThreadSafe() {
+      return false;
+   }
 }
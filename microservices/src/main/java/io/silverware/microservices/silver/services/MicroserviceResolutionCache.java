@@ -0,0 +1,141 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services;
+
+import io.silverware.microservices.MicroserviceMetaData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * Cache of Microservice lookup results keyed by the meta-data query.
+ * Any change that can affect lookup results (a new provider, a new Microservice, a change in remote handles etc.)
+ * must call {@link #invalidate()}. Invalidation replaces the whole cache so that results that are being resolved
+ * concurrently with the change can never be stored in the new cache.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class MicroserviceResolutionCache {
+
+   private volatile Generation current = new Generation(0);
+
+   /**
+    * Gets a cached snapshot or resolves a new one.
+    * Resolutions that are not cacheable are returned but not stored, so they are resolved again on the next call.
+    *
+    * @param metaData
+    *       Meta-data query.
+    * @param resolver
+    *       Resolves the snapshot for the given cache version.
+    * @return The snapshot for the given query.
+    */
+   public MicroserviceSnapshot get(final MicroserviceMetaData metaData, final LongFunction<Resolution> resolver) {
+      final Generation generation = current;
+      final MicroserviceSnapshot cached = generation.snapshots.get(metaData);
+
+      if (cached != null) {
+         return cached;
+      }
+
+      final Resolution resolution = resolver.apply(generation.version);
+      if (resolution.isCacheable()) {
+         final MicroserviceSnapshot previous = generation.snapshots.putIfAbsent(metaData, resolution.getSnapshot());
+         if (previous != null) {
+            return previous;
+         }
+      }
+
+      return resolution.getSnapshot();
+   }
+
+   /**
+    * Drops all cached snapshots.
+    */
+   public void invalidate() {
+      synchronized (this) {
+         current = new Generation(current.version + 1);
+      }
+   }
+
+   /**
+    * Gets the version of the currently cached snapshots, it changes on every invalidation.
+    *
+    * @return The version of the currently cached snapshots.
+    */
+   public long getVersion() {
+      return current.version;
+   }
+
+   /**
+    * Result of a lookup together with the information whether it can be cached.
+    */
+   public static final class Resolution {
+
+      private final MicroserviceSnapshot snapshot;
+
+      private final boolean cacheable;
+
+      /**
+       * Creates the resolution.
+       *
+       * @param snapshot
+       *       The resolved snapshot.
+       * @param cacheable
+       *       True if the snapshot can be cached.
+       */
+      public Resolution(final MicroserviceSnapshot snapshot, final boolean cacheable) {
+         this.snapshot = snapshot;
+         this.cacheable = cacheable;
+      }
+
+      /**
+       * Gets the resolved snapshot.
+       *
+       * @return The resolved snapshot.
+       */
+      public MicroserviceSnapshot getSnapshot() {
+         return snapshot;
+      }
+
+      /**
+       * Checks whether the snapshot can be cached.
+       *
+       * @return True if the snapshot can be cached.
+       */
+      public boolean isCacheable() {
+         return cacheable;
+      }
+   }
+
+   /**
+    * Snapshots resolved between two invalidations.
+    */
+   private static final class Generation {
+
+      private final long version;
+
+      private final Map<MicroserviceMetaData, MicroserviceSnapshot> snapshots = new ConcurrentHashMap<>();
+
+      private Generation(final long version) {
+         this.version = version;
+      }
+   }
+}
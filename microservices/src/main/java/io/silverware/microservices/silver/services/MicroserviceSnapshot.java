@@ -0,0 +1,117 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable result of a Microservice lookup.
+ * The services are available both as an array for index based selection and as an unmodifiable set.
+ * The version identifies the state of the {@link io.silverware.microservices.Context} the snapshot was resolved in,
+ * snapshots with the same version contain the same services.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public final class MicroserviceSnapshot {
+
+   /**
+    * Snapshot with no services.
+    */
+   public static final MicroserviceSnapshot EMPTY = new MicroserviceSnapshot(-1, Collections.emptySet());
+
+   private final long version;
+
+   private final Object[] services;
+
+   private final Set<Object> servicesSet;
+
+   /**
+    * Creates a snapshot of the given services.
+    *
+    * @param version
+    *       Version of the resolution this snapshot belongs to.
+    * @param services
+    *       The services, the collection is copied.
+    */
+   public MicroserviceSnapshot(final long version, final Collection<Object> services) {
+      this.version = version;
+      this.servicesSet = Collections.unmodifiableSet(new LinkedHashSet<>(services));
+      this.services = this.servicesSet.toArray();
+   }
+
+   /**
+    * Gets the version of the resolution this snapshot belongs to.
+    *
+    * @return The version of the resolution this snapshot belongs to.
+    */
+   public long getVersion() {
+      return version;
+   }
+
+   /**
+    * Gets the number of services in this snapshot.
+    *
+    * @return The number of services in this snapshot.
+    */
+   public int size() {
+      return services.length;
+   }
+
+   /**
+    * Checks whether there are no services in this snapshot.
+    *
+    * @return True if and only if there are no services in this snapshot.
+    */
+   public boolean isEmpty() {
+      return services.length == 0;
+   }
+
+   /**
+    * Gets the service at the given position.
+    *
+    * @param index
+    *       Position of the service, must be between 0 (inclusive) and {@link #size()} (exclusive).
+    * @return The service at the given position.
+    */
+   public Object get(final int index) {
+      return services[index];
+   }
+
+   /**
+    * Gets the services as an unmodifiable set in the same order as they are available by {@link #get(int)}.
+    *
+    * @return The services as an unmodifiable set.
+    */
+   public Set<Object> asSet() {
+      return servicesSet;
+   }
+
+   @Override
+   public String toString() {
+      return "MicroserviceSnapshot{" +
+            "version=" + version +
+            ", services=" + Arrays.toString(services) +
+            '}';
+   }
+}
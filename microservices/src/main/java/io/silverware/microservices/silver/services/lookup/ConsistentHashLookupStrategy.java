@@ -0,0 +1,115 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import io.silverware.microservices.annotations.AffinityKey;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Routes all invocations with the same affinity key to the same implementation.
+ * The affinity key consists of the arguments marked with {@link AffinityKey}, or of all the arguments when none is marked.
+ * Implementations are placed on a consistent hash ring, so when an implementation appears or disappears
+ * (e.g. a cluster node joins or leaves), only the keys that belonged to it are routed elsewhere.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class ConsistentHashLookupStrategy extends AbstractLookupStrategy {
+
+   /**
+    * Number of points on the ring for every implementation.
+    */
+   static final int VIRTUAL_NODES = 100;
+
+   private final Map<Method, int[]> keyParameters = new ConcurrentHashMap<>();
+
+   private volatile ConsistentHashRing ring = new ConsistentHashRing(MicroserviceSnapshot.EMPTY, VIRTUAL_NODES);
+
+   @Override
+   public Object getService() {
+      return getService(0);
+   }
+
+   @Override
+   public Object getService(final Method method, final Object[] args) {
+      return getService(getKeyHash(method, args));
+   }
+
+   @Override
+   public boolean isThreadSafe() {
+      return true;
+   }
+
+   private Object getService(final int keyHash) {
+      final MicroserviceSnapshot services = context.lookupMicroserviceSnapshot(metaData);
+      if (services.isEmpty()) {
+         throw new RuntimeException("No service found for: " + metaData);
+      }
+
+      ConsistentHashRing current = ring;
+      if (current.getSnapshot() != services) {
+         current = new ConsistentHashRing(services, VIRTUAL_NODES);
+         ring = current;
+      }
+
+      return current.get(keyHash);
+   }
+
+   private int getKeyHash(final Method method, final Object[] args) {
+      if (args == null || args.length == 0) {
+         return 0;
+      }
+
+      final int[] parameters = keyParameters.computeIfAbsent(method, ConsistentHashLookupStrategy::findKeyParameters);
+      if (parameters.length == 0) {
+         return Arrays.deepHashCode(args);
+      }
+
+      int hash = 1;
+      for (final int parameter : parameters) {
+         hash = 31 * hash + hashOf(args[parameter]);
+      }
+
+      return hash;
+   }
+
+   private static int hashOf(final Object arg) {
+      if (arg != null && arg.getClass().isArray()) {
+         return Arrays.deepHashCode(new Object[] { arg });
+      }
+
+      return Objects.hashCode(arg);
+   }
+
+   private static int[] findKeyParameters(final Method method) {
+      final Annotation[][] annotations = method.getParameterAnnotations();
+
+      return IntStream.range(0, annotations.length)
+                      .filter(parameter -> Arrays.stream(annotations[parameter]).anyMatch(annotation -> annotation.annotationType() == AffinityKey.class))
+                      .toArray();
+   }
+}
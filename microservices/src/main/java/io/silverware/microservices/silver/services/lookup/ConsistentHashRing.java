@@ -0,0 +1,131 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable consistent hash ring over the services of a lookup snapshot.
+ * Every service is placed on the ring at several points (virtual nodes) derived from its hash code, a key belongs to
+ * the service owning the first point at or after the hash of the key. As the points of a service do not depend on the
+ * other services, adding or removing a service only moves the keys that belong to that service.
+ * Services with equal hash codes are told apart by their order among the services sharing the hash code, so each of
+ * them gets its own points.
+ *
+ * Remote service handles have hash codes derived from their node address and handle number, so their positions
+ * stay the same across cluster membership changes.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+final class ConsistentHashRing {
+
+   /**
+    * Spreads the seeds of the services with equal hash codes (the 64-bit golden ratio).
+    */
+   private static final long DUPLICATE_SEED = 0x9e3779b97f4a7c15L;
+
+   private final MicroserviceSnapshot snapshot;
+
+   private final int[] points;
+
+   private final int[] owners;
+
+   /**
+    * Creates a ring of the services in the given snapshot.
+    *
+    * @param snapshot
+    *       The services to place on the ring.
+    * @param virtualNodes
+    *       Number of points of every service.
+    */
+   ConsistentHashRing(final MicroserviceSnapshot snapshot, final int virtualNodes) {
+      this.snapshot = snapshot;
+
+      final long[] entries = new long[snapshot.size() * virtualNodes];
+      final Map<Integer, Integer> duplicates = new HashMap<>();
+      for (int service = 0; service < snapshot.size(); service++) {
+         final int hashCode = snapshot.get(service).hashCode();
+         final long duplicate = duplicates.merge(hashCode, 1, Integer::sum) - 1;
+         final long serviceSeed = (((long) hashCode) << 32) + duplicate * DUPLICATE_SEED;
+         for (int node = 0; node < virtualNodes; node++) {
+            final int point = mix(serviceSeed ^ node);
+            entries[service * virtualNodes + node] = ((long) point << 32) | service;
+         }
+      }
+      Arrays.sort(entries);
+
+      points = new int[entries.length];
+      owners = new int[entries.length];
+      for (int i = 0; i < entries.length; i++) {
+         points[i] = (int) (entries[i] >> 32);
+         owners[i] = (int) entries[i];
+      }
+   }
+
+   /**
+    * Gets the snapshot this ring was created for.
+    *
+    * @return The snapshot this ring was created for.
+    */
+   MicroserviceSnapshot getSnapshot() {
+      return snapshot;
+   }
+
+   /**
+    * Gets the service the given key belongs to.
+    *
+    * @param keyHash
+    *       Hash code of the key.
+    * @return The service the key belongs to.
+    */
+   Object get(final int keyHash) {
+      final int hash = mix(keyHash);
+      int position = Arrays.binarySearch(points, hash);
+
+      if (position < 0) {
+         position = -position - 1;
+      } else {
+         // there might be more points with the same value, the first one wins
+         while (position > 0 && points[position - 1] == hash) {
+            position--;
+         }
+      }
+
+      return snapshot.get(owners[position == points.length ? 0 : position]);
+   }
+
+   /**
+    * Spreads the bits of the value over the whole int range (the finalization step of MurmurHash3).
+    */
+   static int mix(final long value) {
+      long h = value;
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb3fe1a85ec53L;
+      h ^= h >>> 33;
+
+      return (int) h;
+   }
+}
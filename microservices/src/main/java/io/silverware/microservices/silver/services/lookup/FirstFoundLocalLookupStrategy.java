@@ -19,7 +19,7 @@
  */
 package io.silverware.microservices.silver.services.lookup;
 
-import java.util.Set;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
 
 /**
  * Lookup just local service implementations.
@@ -30,12 +30,16 @@ public class FirstFoundLocalLookupStrategy extends AbstractLookupStrategy {
 
    @Override
    public Object getService() {
-      Set<Object> services = context.lookupLocalMicroservice(metaData);
+      final MicroserviceSnapshot services = context.lookupLocalMicroserviceSnapshot(metaData);
       if (services.isEmpty()) {
          throw new RuntimeException("No service found for: " + metaData);
       }
-      return services.iterator().next();
+      return services.get(0);
 
    }
 
+   @Override
+   public boolean isThreadSafe() {
+      return true;
+   }
 }
@@ -0,0 +1,64 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import io.silverware.microservices.silver.services.LoadAwareLookupStrategy;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+/**
+ * Chooses the less loaded of two randomly picked implementations (the power of two choices).
+ * The load of an implementation is estimated from the number of its outstanding invocations and the moving average
+ * of its latency, so slow cluster nodes receive proportionally fewer calls.
+ * Any kind of implementation (a local instance, a remote service handle) is treated the same way.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class LeastOutstandingLookupStrategy extends AbstractLookupStrategy implements LoadAwareLookupStrategy {
+
+   private final ServiceStatisticsTracker tracker = new ServiceStatisticsTracker();
+
+   @Override
+   public Object getService() {
+      final MicroserviceSnapshot services = context.lookupMicroserviceSnapshot(metaData);
+      if (services.isEmpty()) {
+         throw new RuntimeException("No service found for: " + metaData);
+      }
+
+      final ServiceStatistics[] statistics = tracker.forSnapshot(services);
+      final int chosen = ServiceStatistics.chooseLeastLoaded(statistics);
+      statistics[chosen].invocationStarted();
+
+      return services.get(chosen);
+   }
+
+   @Override
+   public void invocationCompleted(final Object service, final long duration, final boolean failed) {
+      final ServiceStatistics statistics = tracker.get(service);
+
+      if (statistics != null) {
+         statistics.invocationCompleted(duration, failed);
+      }
+   }
+
+   @Override
+   public boolean isThreadSafe() {
+      return true;
+   }
+}
@@ -0,0 +1,175 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import io.silverware.microservices.Context;
+import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.annotations.Spillover;
+import io.silverware.microservices.silver.services.LoadAwareLookupStrategy;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always prefers local implementations and spills invocations to remote implementations only when the local ones are overloaded.
+ * A local implementation is overloaded when the number of its outstanding invocations or its average latency reaches
+ * the threshold configured by {@link Spillover}. Remote implementations are all the implementations that were not
+ * found by the local lookup. When there is no local implementation, the remote ones are used.
+ *
+ * Both local and remote implementations are selected by the power of two choices, just like in {@link LeastOutstandingLookupStrategy}.
+ * The spilled invocations are counted in the deployment statistics of the context.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class LocalityFirstLookupStrategy extends AbstractLookupStrategy implements LoadAwareLookupStrategy {
+
+   /**
+    * Logger.
+    */
+   private static final Logger log = LogManager.getLogger(LocalityFirstLookupStrategy.class);
+
+   private final ServiceStatisticsTracker localTracker = new ServiceStatisticsTracker();
+
+   private final ServiceStatisticsTracker remoteTracker = new ServiceStatisticsTracker();
+
+   private final LongAdder spilled = new LongAdder();
+
+   private volatile Candidates candidates = new Candidates(MicroserviceSnapshot.EMPTY, MicroserviceSnapshot.EMPTY, MicroserviceSnapshot.EMPTY);
+
+   private int maxConcurrency = Spillover.DEFAULT_MAX_CONCURRENCY;
+
+   private double maxLatency = Double.POSITIVE_INFINITY;
+
+   @Override
+   public void initialize(final Context context, final MicroserviceMetaData metaData, final Set<Annotation> options) {
+      super.initialize(context, metaData, options);
+
+      options.stream().filter(option -> option instanceof Spillover).findFirst().ifPresent(option -> {
+         final Spillover spillover = (Spillover) option;
+         maxConcurrency = spillover.maxConcurrency();
+         maxLatency = spillover.maxLatency() > 0 ? TimeUnit.MILLISECONDS.toNanos(spillover.maxLatency()) : Double.POSITIVE_INFINITY;
+      });
+   }
+
+   @Override
+   public Object getService() {
+      final MicroserviceSnapshot allServices = context.lookupMicroserviceSnapshot(metaData);
+      final MicroserviceSnapshot localServices = context.lookupLocalMicroserviceSnapshot(metaData);
+      final MicroserviceSnapshot remoteServices = getRemoteServices(allServices, localServices);
+
+      if (!localServices.isEmpty()) {
+         final ServiceStatistics[] statistics = localTracker.forSnapshot(localServices);
+         final int chosen = ServiceStatistics.chooseLeastLoaded(statistics);
+
+         if (remoteServices.isEmpty() || !isOverloaded(statistics[chosen])) {
+            statistics[chosen].invocationStarted();
+            return localServices.get(chosen);
+         }
+
+         spilled.increment();
+         context.getDeployStats().incSpilled(metaData.getName());
+         log.debug("Local implementations of {} are overloaded, spilling the invocation to a remote implementation.", metaData);
+      } else if (remoteServices.isEmpty()) {
+         throw new RuntimeException("No service found for: " + metaData);
+      }
+
+      final ServiceStatistics[] statistics = remoteTracker.forSnapshot(remoteServices);
+      final int chosen = ServiceStatistics.chooseLeastLoaded(statistics);
+      statistics[chosen].invocationStarted();
+
+      return remoteServices.get(chosen);
+   }
+
+   @Override
+   public void invocationCompleted(final Object service, final long duration, final boolean failed) {
+      ServiceStatistics statistics = localTracker.get(service);
+      if (statistics == null) {
+         statistics = remoteTracker.get(service);
+      }
+
+      if (statistics != null) {
+         statistics.invocationCompleted(duration, failed);
+      }
+   }
+
+   @Override
+   public boolean isThreadSafe() {
+      return true;
+   }
+
+   /**
+    * Gets the number of invocations that were sent to a remote implementation because the local ones were overloaded.
+    * The invocations of all the strategy instances are counted in the {@link io.silverware.microservices.util.DeployStats}
+    * published in JMX.
+    *
+    * @return The number of invocations that spilled over to remote implementations.
+    */
+   public long getSpilledInvocations() {
+      return spilled.sum();
+   }
+
+   private boolean isOverloaded(final ServiceStatistics statistics) {
+      return statistics.getOutstanding() >= maxConcurrency || statistics.getLatency() >= maxLatency;
+   }
+
+   private MicroserviceSnapshot getRemoteServices(final MicroserviceSnapshot allServices, final MicroserviceSnapshot localServices) {
+      Candidates current = candidates;
+
+      if (current.allServices != allServices || current.localServices != localServices) {
+         final List<Object> remoteServices = new ArrayList<>();
+         for (int i = 0; i < allServices.size(); i++) {
+            if (!localServices.asSet().contains(allServices.get(i))) {
+               remoteServices.add(allServices.get(i));
+            }
+         }
+
+         current = new Candidates(allServices, localServices, new MicroserviceSnapshot(allServices.getVersion(), remoteServices));
+         candidates = current;
+      }
+
+      return current.remoteServices;
+   }
+
+   /**
+    * Remote services derived from a pair of lookup snapshots.
+    */
+   private static final class Candidates {
+
+      private final MicroserviceSnapshot allServices;
+
+      private final MicroserviceSnapshot localServices;
+
+      private final MicroserviceSnapshot remoteServices;
+
+      private Candidates(final MicroserviceSnapshot allServices, final MicroserviceSnapshot localServices, final MicroserviceSnapshot remoteServices) {
+         this.allServices = allServices;
+         this.localServices = localServices;
+         this.remoteServices = remoteServices;
+      }
+   }
+}
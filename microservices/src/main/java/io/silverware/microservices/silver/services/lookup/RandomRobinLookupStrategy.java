@@ -19,20 +19,28 @@
  */
 package io.silverware.microservices.silver.services.lookup;
 
-import java.util.Set;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
+ * Chooses a random implementation from an immutable snapshot of the lookup result.
+ *
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
 public class RandomRobinLookupStrategy extends AbstractLookupStrategy {
 
    @Override
    public Object getService() {
-      Set<Object> services = context.lookupMicroservice(metaData);
+      final MicroserviceSnapshot services = context.lookupMicroserviceSnapshot(metaData);
       if (services.isEmpty()) {
          throw new RuntimeException("No service found for: " + metaData);
       }
-      return services.toArray()[ThreadLocalRandom.current().nextInt(services.size())];
+      return services.get(ThreadLocalRandom.current().nextInt(services.size()));
+   }
+
+   @Override
+   public boolean isThreadSafe() {
+      return true;
    }
 }
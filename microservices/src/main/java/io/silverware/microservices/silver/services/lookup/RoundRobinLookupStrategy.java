@@ -19,26 +19,32 @@
  */
 package io.silverware.microservices.silver.services.lookup;
 
-import java.util.Set;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Round robin choose which implementation is used in circular order.
+ * The services are selected from an immutable snapshot of the lookup result, the counter is never reset,
+ * instead its sign bit is masked out so that it keeps cycling after an overflow.
  *
  * @author Slavomír Krupa (slavomir.krupa@gmail.com)
  */
 public class RoundRobinLookupStrategy extends AbstractLookupStrategy {
 
-   private AtomicInteger index = new AtomicInteger();
+   private final AtomicInteger index = new AtomicInteger();
 
    @Override
    public Object getService() {
-      Set<Object> microservices = context.lookupMicroservice(metaData);
+      final MicroserviceSnapshot microservices = context.lookupMicroserviceSnapshot(metaData);
       if (microservices.isEmpty()) {
          throw new RuntimeException("No service found for: " + metaData);
       }
-      Object[] servicesArray = microservices.toArray();
-      index.compareAndSet(Integer.MAX_VALUE, 0);
-      return servicesArray[index.getAndIncrement() % servicesArray.length];
+      return microservices.get((index.getAndIncrement() & Integer.MAX_VALUE) % microservices.size());
+   }
+
+   @Override
+   public boolean isThreadSafe() {
+      return true;
    }
 }
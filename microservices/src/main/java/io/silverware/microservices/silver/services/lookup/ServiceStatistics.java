@@ -0,0 +1,159 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Load statistics of a single service instance.
+ * Keeps the number of outstanding invocations and an exponentially weighted moving average of the invocation latency.
+ * The average decays towards zero while the service is not invoked, so that a service that was slow in the past
+ * eventually gets another chance.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+final class ServiceStatistics {
+
+   /**
+    * Weight of a new latency sample in the moving average.
+    */
+   static final double SAMPLE_WEIGHT = 0.3;
+
+   /**
+    * Time after which the average latency of an idle service decays to approximately one third.
+    */
+   static final long DECAY_TIME = TimeUnit.SECONDS.toNanos(10);
+
+   /**
+    * Failed invocations are recorded as if they took at least this long, so that quickly failing services do not attract load.
+    */
+   static final long FAILURE_LATENCY = TimeUnit.SECONDS.toNanos(1);
+
+   private final AtomicInteger outstanding = new AtomicInteger();
+
+   /**
+    * The average latency together with the time of its last update, so that both are always updated at once.
+    */
+   private final AtomicReference<Latency> latency = new AtomicReference<>(new Latency(0d, System.nanoTime()));
+
+   /**
+    * Records the start of an invocation.
+    */
+   void invocationStarted() {
+      outstanding.incrementAndGet();
+   }
+
+   /**
+    * Records the end of an invocation.
+    *
+    * @param duration
+    *       Duration of the invocation in nanoseconds.
+    * @param failed
+    *       True if the invocation has failed.
+    */
+   void invocationCompleted(final long duration, final boolean failed) {
+      outstanding.decrementAndGet();
+
+      final long now = System.nanoTime();
+      final double sample = failed ? Math.max(duration, FAILURE_LATENCY) : duration;
+      Latency current;
+      Latency updated;
+      do {
+         current = latency.get();
+         final double average = current.decay(now);
+         // a concurrent update might have recorded a later time already
+         updated = new Latency(average + SAMPLE_WEIGHT * (sample - average), now - current.updated > 0 ? now : current.updated);
+      } while (!latency.compareAndSet(current, updated));
+   }
+
+   /**
+    * Gets the number of invocations that have started and not yet completed.
+    *
+    * @return The number of outstanding invocations.
+    */
+   int getOutstanding() {
+      return outstanding.get();
+   }
+
+   /**
+    * Gets the current average latency.
+    *
+    * @return The average latency in nanoseconds.
+    */
+   double getLatency() {
+      return latency.get().decay(System.nanoTime());
+   }
+
+   /**
+    * Gets the estimated cost of sending another invocation to this service.
+    * It is the expected latency multiplied by the number of invocations the service would have to handle.
+    *
+    * @return The estimated cost of another invocation.
+    */
+   double getCost() {
+      return (getLatency() + 1) * (getOutstanding() + 1);
+   }
+
+   /**
+    * Chooses the less loaded of two randomly picked services (the power of two choices).
+    *
+    * @param statistics
+    *       Statistics of the candidate services, there must be at least one.
+    * @return Index of the chosen service.
+    */
+   static int chooseLeastLoaded(final ServiceStatistics[] statistics) {
+      if (statistics.length == 1) {
+         return 0;
+      }
+
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+      final int first = random.nextInt(statistics.length);
+      int second = random.nextInt(statistics.length - 1);
+      if (second >= first) {
+         second++;
+      }
+
+      return statistics[second].getCost() < statistics[first].getCost() ? second : first;
+   }
+
+   /**
+    * Immutable average latency with the time of its last update.
+    */
+   private static final class Latency {
+
+      private final double average;
+
+      private final long updated;
+
+      private Latency(final double average, final long updated) {
+         this.average = average;
+         this.updated = updated;
+      }
+
+      private double decay(final long now) {
+         final long idle = now - updated;
+
+         return idle <= 0 ? average : average * Math.exp(-(double) idle / DECAY_TIME);
+      }
+   }
+}
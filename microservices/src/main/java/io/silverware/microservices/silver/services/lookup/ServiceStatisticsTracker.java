@@ -0,0 +1,99 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Keeps {@link ServiceStatistics} of the services in the most recent lookup snapshot.
+ * Services are identified by identity, which works the same for local instances and for remote service handles.
+ * When the snapshot changes, statistics of the services that are still present are carried over.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+final class ServiceStatisticsTracker {
+
+   private volatile Table table = new Table(MicroserviceSnapshot.EMPTY, new ServiceStatistics[0], new IdentityHashMap<>());
+
+   /**
+    * Gets the statistics of the services in the given snapshot.
+    *
+    * @param snapshot
+    *       The lookup snapshot.
+    * @return Statistics of the services in the snapshot, in the same order as the services in the snapshot.
+    */
+   ServiceStatistics[] forSnapshot(final MicroserviceSnapshot snapshot) {
+      Table current = table;
+
+      if (current.snapshot != snapshot) {
+         current = current.update(snapshot);
+         table = current;
+      }
+
+      return current.statistics;
+   }
+
+   /**
+    * Gets the statistics of the given service.
+    *
+    * @param service
+    *       The service.
+    * @return The statistics of the service, null when the service is not in the most recent snapshot.
+    */
+   ServiceStatistics get(final Object service) {
+      return table.byService.get(service);
+   }
+
+   /**
+    * Immutable association of a snapshot with the statistics of its services.
+    */
+   private static final class Table {
+
+      private final MicroserviceSnapshot snapshot;
+
+      private final ServiceStatistics[] statistics;
+
+      private final Map<Object, ServiceStatistics> byService;
+
+      private Table(final MicroserviceSnapshot snapshot, final ServiceStatistics[] statistics, final Map<Object, ServiceStatistics> byService) {
+         this.snapshot = snapshot;
+         this.statistics = statistics;
+         this.byService = byService;
+      }
+
+      private Table update(final MicroserviceSnapshot newSnapshot) {
+         final ServiceStatistics[] newStatistics = new ServiceStatistics[newSnapshot.size()];
+         final Map<Object, ServiceStatistics> newByService = new IdentityHashMap<>(newSnapshot.size());
+
+         for (int i = 0; i < newStatistics.length; i++) {
+            final Object service = newSnapshot.get(i);
+            final ServiceStatistics existing = byService.get(service);
+
+            newStatistics[i] = existing != null ? existing : new ServiceStatistics();
+            newByService.put(service, newStatistics[i]);
+         }
+
+         return new Table(newSnapshot, newStatistics, newByService);
+      }
+   }
+}
@@ -0,0 +1,360 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread-safe global properties of the platform with typed accessors.
+ * The raw properties stay available as a map, typed values are parsed once for each raw value and cached
+ * until the property changes. Listeners can be registered to be notified about changes of a property.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class Configuration {
+
+   /**
+    * Logger.
+    */
+   private static final Logger log = LogManager.getLogger(Configuration.class);
+
+   /**
+    * Parses a string value.
+    */
+   public static final Function<Object, String> STRING = String::valueOf;
+
+   /**
+    * Parses a boolean value.
+    */
+   public static final Function<Object, Boolean> BOOLEAN = value -> value instanceof Boolean ? (Boolean) value : Boolean.valueOf(String.valueOf(value));
+
+   /**
+    * Parses an integer value.
+    */
+   public static final Function<Object, Integer> INTEGER = value -> value instanceof Number ? ((Number) value).intValue() : Integer.valueOf(value.toString());
+
+   /**
+    * Parses a long value.
+    */
+   public static final Function<Object, Long> LONG = value -> value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString());
+
+   /**
+    * Raw properties.
+    */
+   private final Properties properties = new Properties();
+
+   /**
+    * Parsed values by their parsers and property names.
+    */
+   private final Map<Function<Object, ?>, Map<String, Parsed>> parsed = new ConcurrentHashMap<>();
+
+   /**
+    * Change listeners by property names.
+    */
+   private final Map<String, List<ChangeListener>> listeners = new ConcurrentHashMap<>();
+
+   /**
+    * Gets the raw properties. The map is safe for concurrent use and changes made through it are visible
+    * to the typed accessors and reported to the change listeners. Null values are not supported.
+    *
+    * @return The raw properties.
+    */
+   public Map<String, Object> getProperties() {
+      return properties;
+   }
+
+   /**
+    * Gets the property as a string.
+    *
+    * @param key
+    *       The property name.
+    * @param defaultValue
+    *       The value returned when the property is not set.
+    * @return The property value or the default value when the property is not set.
+    */
+   public String getString(final String key, final String defaultValue) {
+      return get(key, STRING, defaultValue);
+   }
+
+   /**
+    * Gets the property as a boolean.
+    *
+    * @param key
+    *       The property name.
+    * @param defaultValue
+    *       The value returned when the property is not set.
+    * @return The property value or the default value when the property is not set.
+    */
+   public boolean getBoolean(final String key, final boolean defaultValue) {
+      return get(key, BOOLEAN, defaultValue);
+   }
+
+   /**
+    * Gets the property as an integer.
+    *
+    * @param key
+    *       The property name.
+    * @param defaultValue
+    *       The value returned when the property is not set.
+    * @return The property value or the default value when the property is not set.
+    * @throws NumberFormatException
+    *       When the property is not a valid integer.
+    */
+   public int getInt(final String key, final int defaultValue) {
+      return get(key, INTEGER, defaultValue);
+   }
+
+   /**
+    * Gets the property as a long.
+    *
+    * @param key
+    *       The property name.
+    * @param defaultValue
+    *       The value returned when the property is not set.
+    * @return The property value or the default value when the property is not set.
+    * @throws NumberFormatException
+    *       When the property is not a valid long.
+    */
+   public long getLong(final String key, final long defaultValue) {
+      return get(key, LONG, defaultValue);
+   }
+
+   /**
+    * Gets the property parsed by the given parser. The parsed value is cached for the parser until the property changes,
+    * so the parser should be a shared constant and must not depend on anything else than the raw value.
+    *
+    * @param key
+    *       The property name.
+    * @param parser
+    *       Converts the raw value to the required type.
+    * @param defaultValue
+    *       The value returned when the property is not set.
+    * @param <T>
+    *       The type of the value.
+    * @return The parsed property value or the default value when the property is not set.
+    */
+   @SuppressWarnings("unchecked")
+   public <T> T get(final String key, final Function<Object, T> parser, final T defaultValue) {
+      final Object raw = properties.get(key);
+
+      if (raw == null) {
+         return defaultValue;
+      }
+
+      final Map<String, Parsed> values = parsed.computeIfAbsent(parser, p -> new ConcurrentHashMap<>());
+      Parsed value = values.get(key);
+
+      if (value == null || value.raw != raw) {
+         value = new Parsed(raw, parser.apply(raw));
+         values.put(key, value);
+      }
+
+      return (T) value.value;
+   }
+
+   /**
+    * Registers a listener notified whenever the property changes its value.
+    *
+    * @param key
+    *       The property name.
+    * @param listener
+    *       The listener to be notified.
+    */
+   public void addChangeListener(final String key, final ChangeListener listener) {
+      listeners.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(listener);
+   }
+
+   /**
+    * Removes a previously registered listener.
+    *
+    * @param key
+    *       The property name.
+    * @param listener
+    *       The listener to be removed.
+    */
+   public void removeChangeListener(final String key, final ChangeListener listener) {
+      final List<ChangeListener> keyListeners = listeners.get(key);
+      if (keyListeners != null) {
+         keyListeners.remove(listener);
+      }
+   }
+
+   private void changed(final Object key, final Object oldValue, final Object newValue) {
+      if (oldValue == newValue || !(key instanceof String)) {
+         return;
+      }
+
+      parsed.values().forEach(values -> values.remove(key));
+
+      final List<ChangeListener> keyListeners = listeners.get(key);
+      if (keyListeners != null && !Objects.equals(oldValue, newValue)) {
+         keyListeners.forEach(listener -> {
+            try {
+               listener.propertyChanged((String) key, oldValue, newValue);
+            } catch (RuntimeException e) {
+               log.warn(String.format("Property change listener failed for %s: ", key), e);
+            }
+         });
+      }
+   }
+
+   /**
+    * Listener of property changes.
+    */
+   @FunctionalInterface
+   public interface ChangeListener {
+
+      /**
+       * Called after the property value has changed.
+       *
+       * @param key
+       *       The property name.
+       * @param oldValue
+       *       The previous value, null when the property was not set.
+       * @param newValue
+       *       The new value, null when the property was removed.
+       */
+      void propertyChanged(final String key, final Object oldValue, final Object newValue);
+   }
+
+   /**
+    * A parsed value together with the raw value it was parsed from.
+    */
+   private static final class Parsed {
+
+      private final Object raw;
+
+      private final Object value;
+
+      private Parsed(final Object raw, final Object value) {
+         this.raw = raw;
+         this.value = value;
+      }
+   }
+
+   /**
+    * Raw properties reporting their changes.
+    */
+   private final class Properties extends ConcurrentHashMap<String, Object> {
+
+      private static final long serialVersionUID = -2911372548370271539L;
+
+      @Override
+      public Object put(final String key, final Object value) {
+         final Object oldValue = super.put(key, value);
+         changed(key, oldValue, value);
+         return oldValue;
+      }
+
+      @Override
+      public void putAll(final Map<? extends String, ?> map) {
+         map.forEach(this::put);
+      }
+
+      @Override
+      public Object putIfAbsent(final String key, final Object value) {
+         final Object oldValue = super.putIfAbsent(key, value);
+         if (oldValue == null) {
+            changed(key, null, value);
+         }
+         return oldValue;
+      }
+
+      @Override
+      public Object remove(final Object key) {
+         final Object oldValue = super.remove(key);
+         changed(key, oldValue, null);
+         return oldValue;
+      }
+
+      @Override
+      public boolean remove(final Object key, final Object value) {
+         final boolean removed = super.remove(key, value);
+         if (removed) {
+            changed(key, value, null);
+         }
+         return removed;
+      }
+
+      @Override
+      public Object replace(final String key, final Object value) {
+         final Object oldValue = super.replace(key, value);
+         if (oldValue != null) {
+            changed(key, oldValue, value);
+         }
+         return oldValue;
+      }
+
+      @Override
+      public boolean replace(final String key, final Object oldValue, final Object newValue) {
+         final boolean replaced = super.replace(key, oldValue, newValue);
+         if (replaced) {
+            changed(key, oldValue, newValue);
+         }
+         return replaced;
+      }
+
+      @Override
+      public Object compute(final String key, final BiFunction<? super String, ? super Object, ?> function) {
+         final Object oldValue = get(key);
+         final Object newValue = super.compute(key, function);
+         changed(key, oldValue, newValue);
+         return newValue;
+      }
+
+      @Override
+      public Object computeIfAbsent(final String key, final Function<? super String, ?> function) {
+         final Object oldValue = get(key);
+         final Object newValue = super.computeIfAbsent(key, function);
+         changed(key, oldValue, newValue);
+         return newValue;
+      }
+
+      @Override
+      public Object computeIfPresent(final String key, final BiFunction<? super String, ? super Object, ?> function) {
+         final Object oldValue = get(key);
+         final Object newValue = super.computeIfPresent(key, function);
+         changed(key, oldValue, newValue);
+         return newValue;
+      }
+
+      @Override
+      public Object merge(final String key, final Object value, final BiFunction<? super Object, ? super Object, ?> function) {
+         final Object oldValue = get(key);
+         final Object newValue = super.merge(key, value, function);
+         changed(key, oldValue, newValue);
+         return newValue;
+      }
+
+      @Override
+      public void clear() {
+         keySet().forEach(this::remove);
+      }
+   }
+}
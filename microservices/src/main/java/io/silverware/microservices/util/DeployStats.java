@@ -20,14 +20,24 @@
 package io.silverware.microservices.util;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Deployment statistics. Counts the number of discovered, skipped and deployed instances.
+ * Deployment statistics. Counts the number of discovered, skipped and deployed instances
+ * and records a timeline of the deployment phases relative to the creation of the statistics.
+ * Also counts the invocations that spilled over from overloaded local Microservices to remote ones.
  *
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
-public class DeployStats implements Serializable {
+public class DeployStats implements DeployStatsMBean, Serializable {
 
    private static final long serialVersionUID = 5176533100828970885L;
 
@@ -46,6 +56,21 @@ public class DeployStats implements Serializable {
     */
    private final AtomicLong deployed = new AtomicLong(0);
 
+   /**
+    * The time when the statistics were created in nanoseconds, the timeline is relative to it.
+    */
+   private final long origin = System.nanoTime();
+
+   /**
+    * Recorded deployment phases.
+    */
+   private final ConcurrentLinkedQueue<Phase> phases = new ConcurrentLinkedQueue<>();
+
+   /**
+    * Invocations spilled over to remote instances by Microservice names.
+    */
+   private final ConcurrentHashMap<String, LongAdder> spilled = new ConcurrentHashMap<>();
+
    /**
     * Sets the number of discovered instances.
     *
@@ -69,6 +94,35 @@ public class DeployStats implements Serializable {
       deployed.incrementAndGet();
    }
 
+   /**
+    * Records a deployment phase that has just finished.
+    *
+    * @param name The name of the phase.
+    * @param start The time when the phase started as returned by {@link System#nanoTime()}.
+    */
+   public void recordPhase(final String name, final long start) {
+      final long end = System.nanoTime();
+      phases.add(new Phase(name, TimeUnit.NANOSECONDS.toMillis(start - origin), TimeUnit.NANOSECONDS.toMillis(end - start)));
+   }
+
+   /**
+    * Records a deployment event that has just happened, it is a phase with zero duration.
+    *
+    * @param name The name of the event.
+    */
+   public void recordEvent(final String name) {
+      phases.add(new Phase(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - origin), 0));
+   }
+
+   /**
+    * Increases the number of invocations of the given Microservice that spilled over to a remote instance.
+    *
+    * @param microservice The name of the Microservice.
+    */
+   public void incSpilled(final String microservice) {
+      spilled.computeIfAbsent(microservice, name -> new LongAdder()).increment();
+   }
+
    /**
     * Gets the number of discovered instances.
     *
@@ -96,6 +150,33 @@ public class DeployStats implements Serializable {
       return deployed.get();
    }
 
+   /**
+    * Gets the recorded deployment phases.
+    *
+    * @return The recorded deployment phases ordered by their start.
+    */
+   public List<Phase> getPhases() {
+      final List<Phase> timeline = new ArrayList<>(phases);
+      timeline.sort(Comparator.comparingLong(Phase::getStart));
+
+      return timeline;
+   }
+
+   @Override
+   public String[] getTimeline() {
+      return getPhases().stream().map(Phase::toString).toArray(String[]::new);
+   }
+
+   @Override
+   public long getSpilledInvocations() {
+      return spilled.values().stream().mapToLong(LongAdder::sum).sum();
+   }
+
+   @Override
+   public String[] getSpilledInvocationsPerMicroservice() {
+      return spilled.entrySet().stream().sorted(Map.Entry.comparingByKey()).map(entry -> entry.getKey() + ": " + entry.getValue().sum()).toArray(String[]::new);
+   }
+
    /**
     * Gets the string representation of the statistics in a user friendly format.
     *
@@ -105,4 +186,70 @@ public class DeployStats implements Serializable {
    public String toString() {
       return String.format("found %d, deployed %d, skipped deployment %d", getFound(), getDeployed(), getSkipped());
    }
+
+   /**
+    * A deployment phase with its start relative to the creation of the statistics.
+    */
+   public static class Phase implements Serializable {
+
+      private static final long serialVersionUID = -2437905213473582413L;
+
+      /**
+       * The name of the phase.
+       */
+      private final String name;
+
+      /**
+       * The start of the phase in milliseconds.
+       */
+      private final long start;
+
+      /**
+       * The duration of the phase in milliseconds.
+       */
+      private final long duration;
+
+      private Phase(final String name, final long start, final long duration) {
+         this.name = name;
+         this.start = start;
+         this.duration = duration;
+      }
+
+      /**
+       * Gets the name of the phase.
+       *
+       * @return The name of the phase.
+       */
+      public String getName() {
+         return name;
+      }
+
+      /**
+       * Gets the start of the phase relative to the creation of the statistics.
+       *
+       * @return The start of the phase in milliseconds.
+       */
+      public long getStart() {
+         return start;
+      }
+
+      /**
+       * Gets the duration of the phase.
+       *
+       * @return The duration of the phase in milliseconds.
+       */
+      public long getDuration() {
+         return duration;
+      }
+
+      /**
+       * Gets the string representation of the phase with its start and duration.
+       *
+       * @return The string representation of the phase with its start and duration.
+       */
+      @Override
+      public String toString() {
+         return String.format("%6d ms %6d ms  %s", start, duration, name);
+      }
+   }
 }
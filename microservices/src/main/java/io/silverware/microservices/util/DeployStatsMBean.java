@@ -0,0 +1,70 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+/**
+ * Interface for MBean publishing deployment statistics into JMX.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public interface DeployStatsMBean {
+
+   /**
+    * Gets the number of discovered instances.
+    *
+    * @return The number of discovered instances.
+    */
+   long getFound();
+
+   /**
+    * Gets the number of skipped instances.
+    *
+    * @return The number of skipped instances.
+    */
+   long getSkipped();
+
+   /**
+    * Gets the number of deployed instances.
+    *
+    * @return The number of deployed instances.
+    */
+   long getDeployed();
+
+   /**
+    * Gets the timeline of recorded deployment phases, one phase per line with its start and duration in milliseconds.
+    *
+    * @return The timeline of recorded deployment phases ordered by their start.
+    */
+   String[] getTimeline();
+
+   /**
+    * Gets the number of invocations that spilled over from overloaded local Microservices to remote instances.
+    *
+    * @return The number of spilled invocations.
+    */
+   long getSpilledInvocations();
+
+   /**
+    * Gets the number of spilled invocations of the individual Microservices, one Microservice per line.
+    *
+    * @return The number of spilled invocations of the individual Microservices ordered by their names.
+    */
+   String[] getSpilledInvocationsPerMicroservice();
+}
@@ -0,0 +1,200 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+/**
+ * Index of the classes in the deployment and their supertypes created at build time by {@link DeploymentIndexProcessor}.
+ * Every classpath entry (a jar or a directory) carries its own index in {@link #LOCATION}. The index has a line per class,
+ * the binary name of the class is followed by '=' and the comma separated binary names of all its supertypes.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class DeploymentIndex {
+
+   /**
+    * Location of the index in a classpath entry.
+    */
+   public static final String LOCATION = "META-INF/silverware/index";
+
+   /**
+    * Logger.
+    */
+   private static final Logger log = LogManager.getLogger(DeploymentIndex.class);
+
+   /**
+    * Names of the indexed classes by the names of their supertypes.
+    */
+   private final Map<String, Set<String>> subtypes = new HashMap<>();
+
+   /**
+    * Adds the index of the given classpath entry, if it has any.
+    *
+    * @param url
+    *        The classpath entry.
+    * @param filter
+    *        Only the classes with names accepted by this filter are added.
+    * @return True if and only if the classpath entry was indexed.
+    */
+   public boolean add(final URL url, final Predicate<String> filter) {
+      try (InputStream stream = open(url)) {
+         if (stream == null) {
+            return false;
+         }
+
+         read(new InputStreamReader(stream, StandardCharsets.UTF_8)).forEach((className, supertypes) -> {
+            if (filter.test(className)) {
+               supertypes.forEach(supertype -> subtypes.computeIfAbsent(supertype, key -> new LinkedHashSet<>()).add(className));
+            }
+         });
+
+         return true;
+      } catch (IOException | URISyntaxException e) {
+         log.warn("Unable to read deployment index of {}, it will be scanned instead: {}", url, e);
+         return false;
+      }
+   }
+
+   /**
+    * Gets the names of all indexed subtypes of the given type.
+    *
+    * @param typeName
+    *        Binary name of the type.
+    * @return The names of all indexed subtypes of the given type.
+    */
+   public Set<String> getSubtypes(final String typeName) {
+      return subtypes.getOrDefault(typeName, Collections.emptySet());
+   }
+
+   /**
+    * Opens the index of the given classpath entry.
+    *
+    * @return The index content or null when the classpath entry does not have an index.
+    */
+   private static InputStream open(final URL url) throws IOException, URISyntaxException {
+      if (!"file".equals(url.getProtocol())) {
+         return null;
+      }
+
+      final File file = new File(url.toURI());
+      if (file.isDirectory()) {
+         final File index = new File(file, LOCATION);
+         return index.isFile() ? Files.newInputStream(index.toPath()) : null;
+      }
+
+      if (!file.isFile() || !file.getName().endsWith(".jar")) {
+         return null;
+      }
+
+      final JarFile jar = new JarFile(file);
+      final ZipEntry entry = jar.getEntry(LOCATION);
+      if (entry == null) {
+         jar.close();
+         return null;
+      }
+
+      return new FilterInputStream(jar.getInputStream(entry)) {
+         @Override
+         public void close() throws IOException {
+            try {
+               super.close();
+            } finally {
+               jar.close();
+            }
+         }
+      };
+   }
+
+   /**
+    * Reads the supertypes of the classes from an index.
+    *
+    * @param reader
+    *        The index content.
+    * @return The names of the supertypes by the names of the classes.
+    * @throws IOException
+    *         When it was not possible to read the index.
+    */
+   static Map<String, Set<String>> read(final Reader reader) throws IOException {
+      final Map<String, Set<String>> classes = new TreeMap<>();
+      final BufferedReader lines = new BufferedReader(reader);
+
+      String line;
+      while ((line = lines.readLine()) != null) {
+         line = line.trim();
+         final int separator = line.indexOf('=');
+         if (line.isEmpty() || line.startsWith("#") || separator < 0) {
+            continue;
+         }
+
+         final Set<String> supertypes = new TreeSet<>();
+         for (final String supertype : line.substring(separator + 1).split(",")) {
+            if (!supertype.trim().isEmpty()) {
+               supertypes.add(supertype.trim());
+            }
+         }
+         classes.put(line.substring(0, separator).trim(), supertypes);
+      }
+
+      return classes;
+   }
+
+   /**
+    * Writes the supertypes of the classes to an index.
+    *
+    * @param writer
+    *        Where to write the index.
+    * @param classes
+    *        The names of the supertypes by the names of the classes.
+    * @throws IOException
+    *         When it was not possible to write the index.
+    */
+   static void write(final Writer writer, final Map<String, Set<String>> classes) throws IOException {
+      writer.write("# SilverWare deployment index, generated by " + DeploymentIndexProcessor.class.getName() + "\n");
+
+      for (final Map.Entry<String, Set<String>> entry : new TreeMap<>(classes).entrySet()) {
+         writer.write(entry.getKey() + "=" + String.join(",", new TreeSet<>(entry.getValue())) + "\n");
+      }
+   }
+}
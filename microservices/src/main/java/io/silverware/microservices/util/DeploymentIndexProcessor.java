@@ -0,0 +1,152 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes the {@link DeploymentIndex} of the compiled classes so that {@link DeploymentScanner}
+ * does not need to scan them at runtime. The index is used only when enabled by the {@link io.silverware.microservices.Context#DEPLOYMENT_INDEX}
+ * property, so the processor is not registered as a service and the modules that want to be indexed have to name it explicitly:
+ *
+ * <pre>
+ * &lt;plugin&gt;
+ *    &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *    &lt;configuration&gt;
+ *       &lt;annotationProcessorPaths&gt;
+ *          &lt;path&gt;
+ *             &lt;groupId&gt;io.silverware&lt;/groupId&gt;
+ *             &lt;artifactId&gt;microservices&lt;/artifactId&gt;
+ *             &lt;version&gt;${version.silverware}&lt;/version&gt;
+ *          &lt;/path&gt;
+ *       &lt;/annotationProcessorPaths&gt;
+ *       &lt;annotationProcessors&gt;
+ *          &lt;annotationProcessor&gt;io.silverware.microservices.util.DeploymentIndexProcessor&lt;/annotationProcessor&gt;
+ *       &lt;/annotationProcessors&gt;
+ *    &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ *
+ * Naming the processor turns off the discovery of the other processors, they have to be listed as well.
+ *
+ * An existing index in the output directory is merged with the newly compiled classes, so that incremental compilation
+ * does not lose the classes that were not recompiled.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+@SupportedAnnotationTypes("*")
+public class DeploymentIndexProcessor extends AbstractProcessor {
+
+   /**
+    * Names of the supertypes by the names of the compiled classes.
+    */
+   private final Map<String, Set<String>> classes = new TreeMap<>();
+
+   @Override
+   public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+   }
+
+   @Override
+   public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+      if (roundEnv.processingOver()) {
+         if (!classes.isEmpty()) {
+            writeIndex();
+         }
+      } else {
+         roundEnv.getRootElements().forEach(this::index);
+      }
+
+      return false;
+   }
+
+   private void index(final Element element) {
+      if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.INTERFACE) {
+         return;
+      }
+
+      final TypeElement type = (TypeElement) element;
+      final Set<String> supertypes = new LinkedHashSet<>();
+      collectSupertypes(type.asType(), supertypes);
+      supertypes.remove(Object.class.getName());
+
+      if (!supertypes.isEmpty()) {
+         classes.put(processingEnv.getElementUtils().getBinaryName(type).toString(), supertypes);
+      }
+
+      type.getEnclosedElements().forEach(this::index);
+   }
+
+   private void collectSupertypes(final TypeMirror type, final Set<String> supertypes) {
+      for (final TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+         if (supertype.getKind() == TypeKind.DECLARED) {
+            final TypeElement element = (TypeElement) ((DeclaredType) supertype).asElement();
+            if (supertypes.add(processingEnv.getElementUtils().getBinaryName(element).toString())) {
+               collectSupertypes(supertype, supertypes);
+            }
+         }
+      }
+   }
+
+   private void writeIndex() {
+      try {
+         final FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", DeploymentIndex.LOCATION);
+         try (InputStreamReader reader = new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8)) {
+            DeploymentIndex.read(reader).forEach((className, supertypes) -> {
+               if (!classes.containsKey(className) && processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                  classes.put(className, supertypes);
+               }
+            });
+         }
+      } catch (IOException | IllegalArgumentException e) {
+         // there is no previous index
+      }
+
+      try {
+         final FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", DeploymentIndex.LOCATION);
+         try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+            DeploymentIndex.write(writer, classes);
+         }
+      } catch (IOException e) {
+         processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Unable to write SilverWare deployment index: " + e.getMessage());
+      }
+   }
+}
@@ -24,8 +24,10 @@ import io.silverware.microservices.providers.MicroserviceProvider;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.reflections.ReflectionUtils;
 import org.reflections.Reflections;
 import org.reflections.scanners.ResourcesScanner;
+import org.reflections.scanners.Scanner;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
@@ -41,15 +43,28 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * Scanner of classpath to search for given classes, interface implementations and others.
+ * When the deployment index is enabled, subtypes are looked up in the {@link DeploymentIndex} of the classpath entries first
+ * and only the entries without the index are scanned for classes. See {@link IndexMode} for how the index is used.
+ *
+ * All the information needed by the providers is collected in a single pass over every classpath entry,
+ * the results of the lookups are cached, so a scanner should be shared as much as possible, see {@link #getContextInstance(Context)}.
  *
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
@@ -66,9 +81,29 @@ public class DeploymentScanner {
    private static DeploymentScanner defaultScanner = null;
 
    /**
-    * Main scanning utility.
+    * Results of the classpath scan.
+    */
+   private final ScanResults results;
+
+   /**
+    * Index of the classpath entries that were indexed at build time.
+    */
+   private final DeploymentIndex index = new DeploymentIndex();
+
+   /**
+    * Class loaders to load the indexed classes.
+    */
+   private final ClassLoader[] classLoaders;
+
+   /**
+    * Results of the subtype lookups.
+    */
+   private final Map<Class<?>, Set<?>> subtypesCache = new ConcurrentHashMap<>();
+
+   /**
+    * Results of the resource lookups.
     */
-   private final Reflections reflections;
+   private final Map<String, Set<String>> resourcesCache = new ConcurrentHashMap<>();
 
    /**
     * Make it possible to search in WAR files when the platform is deployed in this packaging.
@@ -78,29 +113,129 @@ public class DeploymentScanner {
    }
 
    /**
-    * Creates a default instance of the scanner that scans through the whole classpath.
+    * Creates an instance of the scanner.
+    *
+    * @param indexMode
+    *        How to use the build-time deployment index.
+    * @param cacheDirectory
+    *        Directory of the persistent scan cache, null to disable the cache.
+    * @param packages
+    *        Packages to limit scanning to, the whole classpath is scanned when there are none.
     */
-   private DeploymentScanner() {
-      final ConfigurationBuilder builder = ConfigurationBuilder.build("");
-      addNestedClasspathUrls(builder);
+   private DeploymentScanner(final IndexMode indexMode, final File cacheDirectory, final String... packages) {
+      final ConfigurationBuilder builder;
+      if (packages.length == 0) {
+         builder = ConfigurationBuilder.build("");
+         addNestedClasspathUrls(builder);
+      } else {
+         builder = ConfigurationBuilder.build((Object[]) packages);
+      }
       removeSysLibUrls(builder);
-      builder.addScanners(new ResourcesScanner());
+      classLoaders = ClasspathHelper.classLoaders(builder.getClassLoaders());
+
+      final Set<URL> classUrls = new LinkedHashSet<>(builder.getUrls());
+      if (indexMode != IndexMode.DISABLED) {
+         classUrls.removeIf(url -> index.add(url, className -> builder.getInputsFilter() == null || builder.getInputsFilter().apply(className)));
+
+         if (log.isDebugEnabled()) {
+            log.debug("Deployment index found in {} classpath entries, {} entries are not indexed.", builder.getUrls().size() - classUrls.size(), classUrls.size());
+         }
+
+         if (indexMode == IndexMode.STRICT) {
+            classUrls.clear();
+         }
+      }
 
-      reflections = new Reflections(builder);
+      results = scan(builder, classUrls, cacheDirectory == null ? null : new ScanCache(cacheDirectory), String.join(",", packages));
    }
 
    /**
-    * Creates an instance of the scanner that scans only in the given packages.
+    * Scans the classpath entries in parallel, each of them by its own {@link Reflections} instance, and merges the results.
+    * The entries that are not in the given set are searched just for resources.
     *
-    * @param packages
-    *        Packages to limit scanning to.
+    * @param builder
+    *        Configuration with the classpath entries to scan.
+    * @param classUrls
+    *        Classpath entries to be scanned also for classes.
+    * @param cache
+    *        Persistent cache of the scan results, null when disabled.
+    * @param scope
+    *        Identification of the scan configuration in the cache.
+    * @return The merged results of the scans.
     */
-   private DeploymentScanner(final String... packages) {
-      final ConfigurationBuilder builder = ConfigurationBuilder.build((Object[]) packages);
-      removeSysLibUrls(builder);
-      builder.addScanners(new ResourcesScanner());
+   private ScanResults scan(final ConfigurationBuilder builder, final Set<URL> classUrls, final ScanCache cache, final String scope) {
+      final long start = System.currentTimeMillis();
+      final Set<URL> urls = builder.getUrls();
+      final ScanResults result = new ScanResults();
+
+      if (urls.isEmpty()) {
+         return result;
+      }
+
+      final ForkJoinPool pool = new ForkJoinPool(Math.min(urls.size(), Runtime.getRuntime().availableProcessors()));
+      try {
+         final List<ForkJoinTask<ScanResults>> scans = urls.stream()
+                                                           .map(url -> pool.submit(() -> scan(builder, url, classUrls.contains(url), cache, scope)))
+                                                           .collect(Collectors.toList());
+
+         scans.forEach(scan -> result.merge(scan.join()));
+
+         if (log.isDebugEnabled()) {
+            log.debug("Scanned {} classpath entries in {} ms.", urls.size(), System.currentTimeMillis() - start);
+         }
 
-      reflections = new Reflections(builder);
+         return result;
+      } finally {
+         pool.shutdown();
+      }
+   }
+
+   /**
+    * Scans a single classpath entry or loads its scan results from the cache.
+    *
+    * @param builder
+    *        Configuration of the whole scan.
+    * @param url
+    *        The classpath entry.
+    * @param scanClasses
+    *        Whether to scan classes or just resources.
+    * @param cache
+    *        Persistent cache of the scan results, null when disabled.
+    * @param scope
+    *        Identification of the scan configuration in the cache.
+    * @return The results of the scan.
+    */
+   private ScanResults scan(final ConfigurationBuilder builder, final URL url, final boolean scanClasses, final ScanCache cache, final String scope) {
+      final long start = System.currentTimeMillis();
+      final ScanCache.Entry cacheEntry = cache == null ? null : cache.getEntry(url, scope + (scanClasses ? ":classes" : ":resources"));
+
+      if (cacheEntry != null) {
+         final ScanResults cached = cacheEntry.load();
+         if (cached != null) {
+            if (log.isDebugEnabled()) {
+               log.debug("Loaded scan results of {} from the cache in {} ms.", url, System.currentTimeMillis() - start);
+            }
+
+            return cached;
+         }
+      }
+
+      final Reflections reflections = new Reflections(new ConfigurationBuilder()
+            .setUrls(url)
+            .setScanners(scanClasses ? new Scanner[] { new SubTypesScanner(), new ResourcesScanner() } : new Scanner[] { new ResourcesScanner() })
+            .setInputsFilter(builder.getInputsFilter())
+            .setClassLoaders(classLoaders));
+      final ScanResults scanned = ScanResults.of(reflections, scanClasses);
+
+      if (cacheEntry != null) {
+         cacheEntry.store(scanned);
+      }
+
+      if (log.isDebugEnabled()) {
+         log.debug("Scanned {} {} in {} ms.", scanClasses ? "classes and resources of" : "resources of", url, System.currentTimeMillis() - start);
+      }
+
+      return scanned;
    }
 
    /**
@@ -110,7 +245,7 @@ public class DeploymentScanner {
     */
    public static synchronized DeploymentScanner getDefaultInstance() {
       if (defaultScanner == null) {
-         defaultScanner = new DeploymentScanner();
+         defaultScanner = new DeploymentScanner(IndexMode.DISABLED, getCacheDirectory(System.getProperty(Context.SCAN_CACHE_DIR)));
       }
 
       return defaultScanner;
@@ -124,11 +259,25 @@ public class DeploymentScanner {
     * @return An instance of the scanner that is limited to the given packages.
     */
    public static DeploymentScanner getInstance(final String... packages) {
-      return new DeploymentScanner(packages);
+      return getInstance(IndexMode.DISABLED, packages);
+   }
+
+   /**
+    * Gets an instance of the scanner that is limited to the given packages and uses the deployment index in the given way.
+    *
+    * @param indexMode
+    *        How to use the build-time deployment index.
+    * @param packages
+    *        Packages to limit scanning to, the whole classpath is scanned when there are none.
+    * @return An instance of the scanner that is limited to the given packages.
+    */
+   public static DeploymentScanner getInstance(final IndexMode indexMode, final String... packages) {
+      return new DeploymentScanner(indexMode, getCacheDirectory(System.getProperty(Context.SCAN_CACHE_DIR)), packages);
    }
 
    /**
     * Gets an instance of the scanner based on the information already stored in the provided {@link Context}.
+    * The scanner is created only once for the same packages and shared by all callers using the same {@link Context}.
     *
     * @param context
     *        A {@link Context} carrying the information needed to create the scanner.
@@ -136,14 +285,19 @@ public class DeploymentScanner {
     */
    public static DeploymentScanner getContextInstance(final Context context) {
       final String packages = (String) context.getProperties().get(Context.DEPLOYMENT_PACKAGES);
-      if (packages != null) {
+      final IndexMode indexMode = IndexMode.fromProperty(context.getProperties().get(Context.DEPLOYMENT_INDEX));
+      final File cacheDirectory = getCacheDirectory(context.getProperties().get(Context.SCAN_CACHE_DIR));
+      if (packages == null && indexMode == IndexMode.DISABLED && Objects.equals(cacheDirectory, getCacheDirectory(System.getProperty(Context.SCAN_CACHE_DIR)))) {
+         return DeploymentScanner.getDefaultInstance();
+      }
+
+      final String[] packageNames = packages == null ? new String[0] : Arrays.stream(packages.split("[ ]*,[ ]*")).map(String::trim).filter(name -> !name.isEmpty()).sorted().distinct().toArray(String[]::new);
+      return context.getDeploymentScanner(indexMode + ":" + cacheDirectory + ":" + String.join(",", packageNames), scope -> {
          if (log.isDebugEnabled()) {
             log.debug("Limited deployment packages: " + packages);
          }
-         return getInstance(packages.split("[ ]*,[ ]*"));
-      } else {
-         return DeploymentScanner.getDefaultInstance();
-      }
+         return new DeploymentScanner(indexMode, cacheDirectory, packageNames);
+      });
    }
 
    /**
@@ -152,7 +306,7 @@ public class DeploymentScanner {
     * @return All available Microservice provider classes.
     */
    public Set<Class<? extends MicroserviceProvider>> lookupMicroserviceProviders() {
-      return reflections.getSubTypesOf(MicroserviceProvider.class);
+      return lookupSubtypes(MicroserviceProvider.class);
    }
 
    /**
@@ -160,11 +314,30 @@ public class DeploymentScanner {
     *
     * @param clazz
     *        A class to search subtypes of.
-    * @return All available classes of the given subtype.
+    * @return An unmodifiable set of all available classes of the given subtype.
     */
    @SuppressWarnings("unchecked")
    public <T> Set<Class<? extends T>> lookupSubtypes(final Class<T> clazz) {
-      return reflections.getSubTypesOf(clazz);
+      return (Set<Class<? extends T>>) subtypesCache.computeIfAbsent(clazz, this::findSubtypes);
+   }
+
+   @SuppressWarnings("unchecked")
+   private <T> Set<Class<? extends T>> findSubtypes(final Class<T> clazz) {
+      final Set<String> names = new HashSet<>(results.getSubtypes(clazz.getName()));
+      for (final String indexed : index.getSubtypes(clazz.getName())) {
+         names.add(indexed);
+         // scanned classes can extend the indexed ones
+         names.addAll(results.getSubtypes(indexed));
+      }
+
+      final Set<Class<? extends T>> subtypes = new HashSet<>();
+      for (final Class<?> subtype : ReflectionUtils.forNames(names, classLoaders)) {
+         if (clazz.isAssignableFrom(subtype)) {
+            subtypes.add((Class<? extends T>) subtype);
+         }
+      }
+
+      return Collections.unmodifiableSet(subtypes);
       /*final Set s1 = reflections.getSubTypesOf(clazz);
       final Set s2 = Sets.newHashSet(ReflectionUtils.forNames(
             reflections.getStore().getAll(TransitiveInterfacesScanner.class.getSimpleName(), Collections.singletonList(clazz.getName())), reflections.getConfiguration().getClassLoaders()));
@@ -177,11 +350,11 @@ public class DeploymentScanner {
     *
     * @param pattern
     *        The pattern to match.
-    * @return All available resources matching the given pattern.
+    * @return An unmodifiable set of all available resources matching the given pattern.
     */
    @SuppressWarnings("unchecked")
    public Set<String> lookupResources(final String pattern) {
-      return reflections.getResources(Pattern.compile(pattern));
+      return resourcesCache.computeIfAbsent(pattern, key -> Collections.unmodifiableSet(results.getResources(Pattern.compile(key))));
    }
 
    /**
@@ -220,6 +393,17 @@ public class DeploymentScanner {
       return instances;
    }
 
+   /**
+    * Gets the directory of the persistent scan cache.
+    *
+    * @param property
+    *        Value of the {@link Context#SCAN_CACHE_DIR} property.
+    * @return The directory of the persistent scan cache, null when the cache is disabled.
+    */
+   private static File getCacheDirectory(final Object property) {
+      return property == null || property.toString().trim().isEmpty() ? null : new File(property.toString().trim()).getAbsoluteFile();
+   }
+
    /**
     * Add ClasspathUrls from MANIFEST Class-Path directive into builder.
     *
@@ -242,6 +426,57 @@ public class DeploymentScanner {
       builder.setUrls(urls);
    }
 
+   /**
+    * Ways of using the build-time {@link DeploymentIndex}.
+    */
+   public enum IndexMode {
+
+      /**
+       * The index is ignored and all classpath entries are scanned. This is the default.
+       */
+      DISABLED,
+
+      /**
+       * The index is used for the indexed classpath entries, the other ones are scanned.
+       * The index only knows the classes compiled by javac with {@link DeploymentIndexProcessor}, so this is suitable
+       * only when the indexed entries contain no classes produced by other compilers or added after the compilation (e.g. by shading).
+       */
+      ENABLED,
+
+      /**
+       * Only the index is used, the classpath entries without the index are searched just for resources.
+       * This is suitable when all the deployed code was compiled with {@link DeploymentIndexProcessor}.
+       */
+      STRICT;
+
+      /**
+       * Gets the mode configured by the {@link Context#DEPLOYMENT_INDEX} property.
+       *
+       * @param value
+       *        The value of the property.
+       * @return The configured mode, {@link #DISABLED} when the property is not set.
+       */
+      public static IndexMode fromProperty(final Object value) {
+         if (value == null) {
+            return DISABLED;
+         }
+
+         final String mode = value.toString().trim().toUpperCase(Locale.ENGLISH);
+         if ("TRUE".equals(mode)) {
+            return ENABLED;
+         } else if ("FALSE".equals(mode)) {
+            return DISABLED;
+         }
+
+         try {
+            return valueOf(mode);
+         } catch (IllegalArgumentException e) {
+            log.warn("Unknown deployment index mode {}, using {}.", value, DISABLED);
+            return DISABLED;
+         }
+      }
+   }
+
    /**
     * {@link org.reflections.vfs.Vfs.UrlType} for WAR files.
     */
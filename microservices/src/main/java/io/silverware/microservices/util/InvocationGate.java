@@ -0,0 +1,159 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts invocations in flight through the ingress points of the platform (HTTP, cluster, messaging).
+ * Once the gate is closed on shutdown, no new invocations are accepted and the platform can wait for those in flight to finish.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class InvocationGate {
+
+   /**
+    * Logger.
+    */
+   private static final Logger log = LogManager.getLogger(InvocationGate.class);
+
+   /**
+    * Number of invocations in flight.
+    */
+   private final AtomicLong inFlight = new AtomicLong();
+
+   /**
+    * Called when the gate closes, used by ingress points that cannot check the gate themselves.
+    */
+   private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
+   /**
+    * Monitor notified when the last invocation in flight finishes.
+    */
+   private final Object drained = new Object();
+
+   /**
+    * Whether new invocations are rejected.
+    */
+   private volatile boolean closed = false;
+
+   /**
+    * Registers an invocation that enters the platform. Each successful call must be paired with {@link #exit()}.
+    *
+    * @return True when the invocation can proceed, false when the gate is closed and the invocation must be rejected.
+    */
+   public boolean enter() {
+      inFlight.incrementAndGet();
+
+      if (closed) {
+         exit();
+         return false;
+      }
+
+      return true;
+   }
+
+   /**
+    * Registers that an invocation admitted by {@link #enter()} has finished.
+    */
+   public void exit() {
+      if (inFlight.decrementAndGet() == 0 && closed) {
+         synchronized (drained) {
+            drained.notifyAll();
+         }
+      }
+   }
+
+   /**
+    * Adds a listener called when the gate closes.
+    *
+    * @param listener
+    *       The listener to be called when the gate closes.
+    */
+   public void addCloseListener(final Runnable listener) {
+      closeListeners.add(listener);
+   }
+
+   /**
+    * Closes the gate so that no new invocations are accepted.
+    */
+   public void close() {
+      closed = true;
+
+      closeListeners.forEach(listener -> {
+         try {
+            listener.run();
+         } catch (RuntimeException e) {
+            log.warn("Unable to stop accepting invocations: ", e);
+         }
+      });
+   }
+
+   /**
+    * Checks whether the gate is closed.
+    *
+    * @return True when no new invocations are accepted.
+    */
+   public boolean isClosed() {
+      return closed;
+   }
+
+   /**
+    * Gets the number of invocations in flight.
+    *
+    * @return The number of invocations in flight.
+    */
+   public long getInFlight() {
+      return inFlight.get();
+   }
+
+   /**
+    * Waits until all the invocations in flight finish, at most for the given time.
+    *
+    * @param timeout
+    *       The maximum time to wait.
+    * @param unit
+    *       The time unit of the timeout.
+    * @return True when there are no invocations in flight, false when the time elapsed.
+    * @throws InterruptedException
+    *       When the current thread was interrupted while waiting.
+    */
+   public boolean awaitDrained(final long timeout, final TimeUnit unit) throws InterruptedException {
+      final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+      synchronized (drained) {
+         while (inFlight.get() > 0) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+               return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(drained, remaining);
+         }
+      }
+
+      return true;
+   }
+}
@@ -0,0 +1,199 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Persistent cache of the scan results of the individual jar files.
+ * A cache entry is valid as long as the jar has the same path, size, modification time and content hash.
+ * The content hash is computed from the central directory of the jar, i.e. from the names, sizes and CRCs of all its entries,
+ * so that the jar does not need to be read as a whole. Directories are never cached as their content changes often.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+final class ScanCache {
+
+   /**
+    * Logger.
+    */
+   private static final Logger log = LogManager.getLogger(ScanCache.class);
+
+   private static final String FINGERPRINT = "fingerprint\t";
+
+   /**
+    * Directory with the cache entries.
+    */
+   private final File directory;
+
+   /**
+    * Creates a cache in the given directory.
+    *
+    * @param directory
+    *        Directory with the cache entries, it is created when it does not exist.
+    */
+   ScanCache(final File directory) {
+      this.directory = directory;
+   }
+
+   /**
+    * Gets the cache entry of the given classpath entry.
+    *
+    * @param url
+    *        The classpath entry.
+    * @param scope
+    *        Identification of the scan configuration, the results of different configurations are cached separately.
+    * @return The cache entry or null when the classpath entry cannot be cached.
+    */
+   Entry getEntry(final URL url, final String scope) {
+      if (!"file".equals(url.getProtocol()) || !url.getPath().endsWith(".jar")) {
+         return null;
+      }
+
+      try {
+         final File jar = new File(url.toURI());
+         if (!jar.isFile()) {
+            return null;
+         }
+
+         final String path = jar.getCanonicalPath();
+         final String fingerprint = path + "\t" + jar.length() + "\t" + jar.lastModified() + "\t" + hash(jar) + "\t" + scope;
+
+         return new Entry(new File(directory, hex(digest(path + "\t" + scope)) + ".scan"), fingerprint);
+      } catch (IOException | URISyntaxException e) {
+         log.debug("Unable to compute the fingerprint of {}, it will not be cached: {}", url, e);
+         return null;
+      }
+   }
+
+   /**
+    * Hashes the names, sizes and CRCs of all the entries of a jar.
+    */
+   private static String hash(final File jar) throws IOException {
+      final MessageDigest digest = newDigest();
+
+      try (ZipFile zip = new ZipFile(jar)) {
+         final Enumeration<? extends ZipEntry> entries = zip.entries();
+         while (entries.hasMoreElements()) {
+            final ZipEntry entry = entries.nextElement();
+            digest.update((entry.getName() + "\t" + entry.getSize() + "\t" + entry.getCrc() + "\n").getBytes(StandardCharsets.UTF_8));
+         }
+      }
+
+      return hex(digest.digest());
+   }
+
+   private static byte[] digest(final String value) {
+      return newDigest().digest(value.getBytes(StandardCharsets.UTF_8));
+   }
+
+   private static MessageDigest newDigest() {
+      try {
+         return MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException("SHA-256 is not supported by the platform.", e);
+      }
+   }
+
+   private static String hex(final byte[] bytes) {
+      final StringBuilder result = new StringBuilder(bytes.length * 2);
+      for (final byte b : bytes) {
+         result.append(String.format("%02x", b));
+      }
+
+      return result.toString();
+   }
+
+   /**
+    * Cached scan results of a single classpath entry.
+    */
+   final class Entry {
+
+      private final File file;
+
+      private final String fingerprint;
+
+      private Entry(final File file, final String fingerprint) {
+         this.file = file;
+         this.fingerprint = fingerprint;
+      }
+
+      /**
+       * Loads the cached scan results.
+       *
+       * @return The cached scan results or null when there are none or they are out of date.
+       */
+      ScanResults load() {
+         if (!file.isFile()) {
+            return null;
+         }
+
+         try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!(FINGERPRINT + fingerprint).equals(reader.readLine())) {
+               return null;
+            }
+
+            return ScanResults.read(reader);
+         } catch (IOException e) {
+            log.warn("Unable to read scan cache entry {}, the classpath entry will be scanned: {}", file, e);
+            return null;
+         }
+      }
+
+      /**
+       * Stores the scan results.
+       *
+       * @param results
+       *        The scan results.
+       */
+      void store(final ScanResults results) {
+         try {
+            Files.createDirectories(directory.toPath());
+
+            final Path temp = Files.createTempFile(directory.toPath(), file.getName(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+               writer.write(FINGERPRINT + fingerprint + "\n");
+               results.write(writer);
+            }
+
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         } catch (IOException e) {
+            log.warn("Unable to write scan cache entry {}: {}", file, e);
+         }
+      }
+   }
+}
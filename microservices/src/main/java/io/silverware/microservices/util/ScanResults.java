@@ -0,0 +1,190 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.ResourcesScanner;
+import org.reflections.scanners.SubTypesScanner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Results of a classpath scan, i.e. the direct subtypes of the types and the paths of the resources.
+ * Results of the individual classpath entries can be merged together, written to and read from a text form.
+ *
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+final class ScanResults {
+
+   private static final String SUBTYPES = "subtypes";
+
+   private static final String RESOURCES = "resources";
+
+   /**
+    * Names of the direct subtypes by the names of the types.
+    */
+   private final Map<String, Set<String>> subtypes = new HashMap<>();
+
+   /**
+    * Relative paths of the resources by the names of the resources.
+    */
+   private final Map<String, Set<String>> resources = new HashMap<>();
+
+   /**
+    * Takes the results of the scan done by {@link Reflections}.
+    *
+    * @param reflections
+    *        The finished scan.
+    * @param scannedClasses
+    *        Whether the classes were scanned or just the resources.
+    * @return The results of the scan.
+    */
+   static ScanResults of(final Reflections reflections, final boolean scannedClasses) {
+      final ScanResults results = new ScanResults();
+
+      if (scannedClasses) {
+         reflections.getStore().get(SubTypesScanner.class.getSimpleName()).entries().forEach(entry -> add(results.subtypes, entry.getKey(), entry.getValue()));
+      }
+      reflections.getStore().get(ResourcesScanner.class.getSimpleName()).entries().forEach(entry -> add(results.resources, entry.getKey(), entry.getValue()));
+
+      return results;
+   }
+
+   /**
+    * Adds all the given results to these ones.
+    *
+    * @param other
+    *        The results to add.
+    */
+   void merge(final ScanResults other) {
+      other.subtypes.forEach((type, values) -> values.forEach(value -> add(subtypes, type, value)));
+      other.resources.forEach((name, values) -> values.forEach(value -> add(resources, name, value)));
+   }
+
+   /**
+    * Gets the names of all direct and indirect subtypes of the given type.
+    *
+    * @param typeName
+    *        Name of the type.
+    * @return The names of all direct and indirect subtypes of the given type.
+    */
+   Set<String> getSubtypes(final String typeName) {
+      final Set<String> result = new LinkedHashSet<>();
+      final Deque<String> types = new ArrayDeque<>(Collections.singleton(typeName));
+
+      while (!types.isEmpty()) {
+         for (final String subtype : subtypes.getOrDefault(types.poll(), Collections.emptySet())) {
+            if (result.add(subtype)) {
+               types.add(subtype);
+            }
+         }
+      }
+
+      return result;
+   }
+
+   /**
+    * Gets the paths of all resources with the name matching the given pattern.
+    *
+    * @param pattern
+    *        Pattern of the resource names.
+    * @return The paths of the matching resources.
+    */
+   Set<String> getResources(final Pattern pattern) {
+      final Set<String> result = new HashSet<>();
+
+      resources.forEach((name, paths) -> {
+         if (pattern.matcher(name).matches()) {
+            result.addAll(paths);
+         }
+      });
+
+      return result;
+   }
+
+   /**
+    * Writes the results in a text form with a tab separated line for every entry.
+    *
+    * @param writer
+    *        Where to write the results.
+    * @throws IOException
+    *         When it was not possible to write the results.
+    */
+   void write(final Writer writer) throws IOException {
+      write(writer, SUBTYPES, subtypes);
+      write(writer, RESOURCES, resources);
+   }
+
+   /**
+    * Reads the results written by {@link #write(Writer)}.
+    *
+    * @param reader
+    *        The results in the text form.
+    * @return The results.
+    * @throws IOException
+    *         When it was not possible to read the results or they were malformed.
+    */
+   static ScanResults read(final Reader reader) throws IOException {
+      final ScanResults results = new ScanResults();
+      final BufferedReader lines = new BufferedReader(reader);
+
+      String line;
+      while ((line = lines.readLine()) != null) {
+         final String[] entry = line.split("\t", -1);
+         if (entry.length != 3) {
+            throw new IOException("Malformed scan results entry: " + line);
+         }
+
+         if (SUBTYPES.equals(entry[0])) {
+            add(results.subtypes, entry[1], entry[2]);
+         } else if (RESOURCES.equals(entry[0])) {
+            add(results.resources, entry[1], entry[2]);
+         } else {
+            throw new IOException("Unknown scan results entry: " + line);
+         }
+      }
+
+      return results;
+   }
+
+   private static void write(final Writer writer, final String kind, final Map<String, Set<String>> entries) throws IOException {
+      for (final Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+         for (final String value : entry.getValue()) {
+            writer.write(kind + "\t" + entry.getKey() + "\t" + value + "\n");
+         }
+      }
+   }
+
+   private static void add(final Map<String, Set<String>> entries, final String key, final String value) {
+      entries.computeIfAbsent(key, k -> new HashSet<>()).add(value);
+   }
+}
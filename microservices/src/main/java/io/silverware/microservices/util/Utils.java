@@ -20,7 +20,9 @@
 package io.silverware.microservices.util;
 
 import io.silverware.microservices.Context;
+import io.silverware.microservices.SilverWareException;
 import io.silverware.microservices.silver.CdiSilverService;
+import io.silverware.microservices.silver.HttpServerSilverService;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,8 +31,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 
@@ -51,6 +62,21 @@ public class Utils {
     */
    private static final int MAX_WAIT_TRIES = 60;
 
+   /**
+    * Maximum number of seconds to wait for the CDI provider to deploy.
+    */
+   private static final int MAX_CDI_WAIT_SECONDS = 12;
+
+   /**
+    * Maximum number of seconds to wait for the HTTP server to start listening, the same as waiting for an URL.
+    */
+   private static final int MAX_HTTP_WAIT_SECONDS = MAX_WAIT_TRIES;
+
+   /**
+    * Main attributes of all manifests visible to a class loader, read only once for each class loader.
+    */
+   private static final Map<ClassLoader, List<Attributes>> manifests = Collections.synchronizedMap(new WeakHashMap<>());
+
    /**
     * Logs a shutdown message with the given exception.
     *
@@ -109,18 +135,29 @@ public class Utils {
     * @param context
     *       context where the provider will be stored
     * @throws InterruptedException
-    *       if thread was interrupted during sleep
+    *       if thread was interrupted during waiting
     */
    public static void waitForCDIProvider(Context context) throws InterruptedException {
-
-      for (int i = 0; i < MAX_WAIT_TRIES; ++i) {
-         if (context.getProvider(CdiSilverService.class) != null && ((CdiSilverService) context.getProvider(CdiSilverService.class)).isDeployed()) {
-            return;
-         }
-         Thread.sleep(200);
+      try {
+         context.awaitMilestone(CdiSilverService.CDI_DEPLOYED, MAX_CDI_WAIT_SECONDS, TimeUnit.SECONDS);
+      } catch (SilverWareException e) {
+         throw new RuntimeException("Cdi provider was not started", e);
       }
-      throw new RuntimeException("Cdi provider was not started");
+   }
 
+   /**
+    * Waits for the HTTP server provider to start listening.
+    *
+    * @param context
+    *       context where the provider will be stored
+    * @return The HTTP server provider.
+    * @throws InterruptedException
+    *       if thread was interrupted during waiting
+    * @throws SilverWareException
+    *       when the HTTP server did not start listening in time
+    */
+   public static HttpServerSilverService waitForHttpServer(final Context context) throws InterruptedException, SilverWareException {
+      return context.awaitMilestone(HttpServerSilverService.HTTP_LISTENING, MAX_HTTP_WAIT_SECONDS, TimeUnit.SECONDS);
    }
 
    /**
@@ -148,21 +185,35 @@ public class Utils {
     *       When it was not possible to get the manifest file.
     */
    public static String getManifestEntry(final Class clazz, final String entryName) throws IOException {
-      Enumeration<URL> resources = clazz.getClassLoader().getResources("META-INF/MANIFEST.MF");
-      while (resources.hasMoreElements()) {
-         try (final InputStream is = resources.nextElement().openStream()) {
-            Manifest manifest = new Manifest(is);
-            Attributes attr = manifest.getMainAttributes();
-            String value = attr.getValue(entryName);
-            if (value != null && value.length() > 0) {
-               return value;
-            }
+      for (final Attributes attr : getManifests(clazz.getClassLoader())) {
+         String value = attr.getValue(entryName);
+         if (value != null && value.length() > 0) {
+            return value;
          }
       }
 
       return null;
    }
 
+   private static List<Attributes> getManifests(final ClassLoader classLoader) throws IOException {
+      List<Attributes> attributes = manifests.get(classLoader);
+
+      if (attributes == null) {
+         attributes = new ArrayList<>();
+         Enumeration<URL> resources = classLoader.getResources("META-INF/MANIFEST.MF");
+         while (resources.hasMoreElements()) {
+            try (final InputStream is = resources.nextElement().openStream()) {
+               attributes.add(new Manifest(is).getMainAttributes());
+            }
+         }
+
+         attributes = Collections.unmodifiableList(attributes);
+         manifests.put(classLoader, attributes);
+      }
+
+      return attributes;
+   }
+
    /**
     * Do the best to sleep for the given time. Ignores {@link InterruptedException}.
     *
@@ -177,6 +228,38 @@ public class Utils {
       }
    }
 
+   /**
+    * Checks whether methods with the given return type are invoked asynchronously.
+    *
+    * @param returnType
+    *       The return type of the method.
+    * @return True when the method returns a {@link CompletableFuture} or a {@link CompletionStage}.
+    */
+   public static boolean isAsynchronous(final Class<?> returnType) {
+      return returnType == CompletableFuture.class || returnType == CompletionStage.class;
+   }
+
+   /**
+    * Waits for the result of an asynchronous invocation so that it can be sent over the wire.
+    *
+    * @param result
+    *       The result of an invocation.
+    * @return The value the result completed with when it is a {@link CompletionStage}, the result itself otherwise.
+    * @throws Exception
+    *       When the asynchronous invocation failed.
+    */
+   public static Object awaitResult(final Object result) throws Exception {
+      if (result instanceof CompletionStage) {
+         try {
+            return ((CompletionStage<?>) result).toCompletableFuture().get();
+         } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+         }
+      }
+
+      return result;
+   }
+
    public static String toLowerCamelCase(String upperCamelCase) {
       return upperCamelCase.substring(0, 1).toLowerCase() + upperCamelCase.substring(1);
    }
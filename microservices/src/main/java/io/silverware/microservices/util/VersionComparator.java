@@ -23,11 +23,16 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 
 import io.silverware.microservices.MicroserviceMetaData;
 
+import com.vdurmont.semver4j.Requirement;
 import com.vdurmont.semver4j.Semver;
 import com.vdurmont.semver4j.SemverException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
 /**
  * Adapter for a Java Sem-Ver
  * Created because the project is in beta and the api can change.
@@ -38,12 +43,34 @@ import org.apache.logging.log4j.Logger;
  * If a version has a prerelease tag (for example, 1.2.3-alpha.3) then it will only be allowed
  * to satisfy comparator sets if at least one comparator with the same [major, minor, patch] tuple also has a prerelease tag.
  *
+ * Parsed versions and requirement expressions are cached, each cache is dropped once it reaches {@link #MAX_CACHED_ENTRIES}.
+ *
  * @author Slavomír Krupa (slavomir.krupa@gmail.com)
  */
 public class VersionComparator {
 
    private static final Logger log = LogManager.getLogger(VersionComparator.class);
 
+   /**
+    * Maximum number of entries in each of the caches.
+    */
+   static final int MAX_CACHED_ENTRIES = 1024;
+
+   /**
+    * Comparator of a missing or invalid version, satisfies any expression.
+    */
+   private static final VersionComparator NO_VERSION = new VersionComparator(null);
+
+   /**
+    * Parsed versions.
+    */
+   private static final Map<String, VersionComparator> versions = new ConcurrentHashMap<>();
+
+   /**
+    * Parsed requirement expressions.
+    */
+   private static final Map<String, Requirement> requirements = new ConcurrentHashMap<>();
+
    private final Semver semVersion;
 
    private VersionComparator(String version) {
@@ -78,12 +105,18 @@ public class VersionComparator {
     *       when the format of the semVersion is wrong
     */
    public static VersionComparator forVersion(MicroserviceMetaData metaData, String version) {
-      try {
-         return new VersionComparator(version);
-      } catch (SemverException e) {
-         //         log.error("Wrong version in metadata: " + metaData, e);
-         return new VersionComparator(null);
+      if (isNullOrEmpty(version)) {
+         return NO_VERSION;
       }
+
+      return cached(versions, version, v -> {
+         try {
+            return new VersionComparator(v);
+         } catch (SemverException e) {
+            //         log.error("Wrong version in metadata: " + metaData, e);
+            return NO_VERSION;
+         }
+      });
    }
 
    /**
@@ -100,12 +133,25 @@ public class VersionComparator {
          return true;
       }
       try {
-         return semVersion.satisfies(expression);
+         return semVersion.satisfies(cached(requirements, expression, Requirement::buildNPM));
       } catch (SemverException e) {
          throw new IllegalArgumentException(e);
       }
    }
 
+   private static <T> T cached(final Map<String, T> cache, final String key, final Function<String, T> factory) {
+      final T value = cache.get(key);
+      if (value != null) {
+         return value;
+      }
+
+      if (cache.size() >= MAX_CACHED_ENTRIES) {
+         cache.clear();
+      }
+
+      return cache.computeIfAbsent(key, factory);
+   }
+
    private static String buildVersionWithPatch(String originalValue, int index, String missingVersions) {
       return originalValue.substring(0, index) + missingVersions + originalValue.substring(index, originalValue.length());
    }
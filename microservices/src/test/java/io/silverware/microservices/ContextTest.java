@@ -0,0 +1,212 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.silver.ProvidingSilverService;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class ContextTest {
+
+   private static final MicroserviceMetaData META_DATA = new MicroserviceMetaData("contextTest", ContextTest.class, Collections.emptySet(), Collections.emptySet(), null, null);
+
+   @Test
+   public void testLookupIsCached() {
+      final Context context = new Context();
+      final CountingProvider provider = register(context, true, "service");
+
+      final MicroserviceSnapshot first = context.lookupMicroserviceSnapshot(META_DATA);
+      final MicroserviceSnapshot second = context.lookupMicroserviceSnapshot(META_DATA);
+
+      assertThat(second).isSameAs(first);
+      assertThat(first.asSet()).containsExactly("service");
+      assertThat(provider.lookups.get()).isEqualTo(1);
+   }
+
+   @Test
+   public void testLookupIsInvalidated() {
+      final Context context = new Context();
+      final CountingProvider provider = register(context, true, "service");
+
+      final MicroserviceSnapshot first = context.lookupMicroserviceSnapshot(META_DATA);
+      context.registerMicroservice(META_DATA);
+      final MicroserviceSnapshot second = context.lookupMicroserviceSnapshot(META_DATA);
+      context.getRemoteServiceHandlesStore().keepHandlesFor(Collections.emptySet());
+      context.lookupMicroserviceSnapshot(META_DATA);
+
+      assertThat(second).isNotSameAs(first);
+      assertThat(second.getVersion()).isGreaterThan(first.getVersion());
+      assertThat(provider.lookups.get()).isEqualTo(3);
+   }
+
+   @Test
+   public void testNewProviderInvalidatesLookup() {
+      final Context context = new Context();
+      register(context, true, "service");
+
+      assertThat(context.lookupMicroservice(META_DATA)).containsOnly("service");
+
+      context.getProvidersRegistry().put("another", new CountingProvider(true, "another"));
+
+      assertThat(context.lookupMicroservice(META_DATA)).containsOnly("service", "another");
+   }
+
+   @Test
+   public void testNonCacheableLookup() {
+      final Context context = new Context();
+      final CountingProvider provider = register(context, false, "service");
+
+      context.lookupMicroservice(META_DATA);
+      context.lookupMicroservice(META_DATA);
+
+      assertThat(provider.lookups.get()).isEqualTo(2);
+   }
+
+   @Test
+   public void testEmptyLookupIsNotCached() {
+      final Context context = new Context();
+      final CountingProvider provider = register(context, true);
+
+      assertThat(context.lookupMicroservice(META_DATA)).isEmpty();
+      assertThat(context.lookupMicroservice(META_DATA)).isEmpty();
+      assertThat(provider.lookups.get()).isEqualTo(2);
+   }
+
+   @Test
+   public void testLocalLookupIsCachedSeparately() {
+      final Context context = new Context();
+      final CountingProvider provider = register(context, true, "service");
+
+      context.lookupMicroservice(META_DATA);
+      context.lookupLocalMicroservice(META_DATA);
+      context.lookupLocalMicroservice(META_DATA);
+
+      assertThat(provider.lookups.get()).isEqualTo(2);
+   }
+
+   @Test
+   public void testMilestoneAwaitedBeforeReached() throws Exception {
+      final Context context = new Context();
+      final CompletableFuture<Object> awaited = CompletableFuture.supplyAsync(() -> {
+         try {
+            return context.awaitMilestone("milestone", 10, TimeUnit.SECONDS);
+         } catch (InterruptedException | SilverWareException e) {
+            throw new IllegalStateException(e);
+         }
+      });
+
+      context.reachMilestone("milestone", "provider");
+
+      assertThat(awaited.get(10, TimeUnit.SECONDS)).isEqualTo("provider");
+      assertThat((Object) context.awaitMilestone("milestone")).isEqualTo("provider");
+   }
+
+   @Test(expectedExceptions = SilverWareException.class)
+   public void testMilestoneNotReachedInTime() throws Exception {
+      new Context().awaitMilestone("milestone", 10, TimeUnit.MILLISECONDS);
+   }
+
+   @Test
+   public void testFailedMilestone() throws Exception {
+      final Context context = new Context();
+      final IllegalStateException cause = new IllegalStateException("failed");
+      context.failMilestone("milestone", cause);
+
+      try {
+         context.awaitMilestone("milestone");
+         fail("Failed milestone must not be awaited successfully.");
+      } catch (final SilverWareException e) {
+         assertThat(e.getCause()).isSameAs(cause);
+      }
+   }
+
+   @Test
+   public void testOnlyAnnouncedMilestonesAreListed() {
+      final Context context = new Context();
+      context.announceMilestone("announced");
+      context.getMilestone("awaited");
+
+      assertThat(context.getMilestoneNames()).containsOnly("announced");
+   }
+
+   private static CountingProvider register(final Context context, final boolean cacheable, final Object... services) {
+      final CountingProvider provider = new CountingProvider(cacheable, services);
+      context.getProvidersRegistry().put(CountingProvider.class.getName(), provider);
+
+      return provider;
+   }
+
+   /**
+    * Provider counting its lookups, not deployable by the platform as it has no public constructor.
+    */
+   private static class CountingProvider implements MicroserviceProvider, ProvidingSilverService {
+
+      private final AtomicInteger lookups = new AtomicInteger();
+
+      private final boolean cacheable;
+
+      private final Set<Object> services;
+
+      private CountingProvider(final boolean cacheable, final Object... services) {
+         this.cacheable = cacheable;
+         this.services = new LinkedHashSet<>(Arrays.asList(services));
+      }
+
+      @Override
+      public void initialize(final Context context) {
+      }
+
+      @Override
+      public void run() {
+      }
+
+      @Override
+      public Context getContext() {
+         return null;
+      }
+
+      @Override
+      public Set<Object> lookupMicroservice(final MicroserviceMetaData metaData) {
+         lookups.incrementAndGet();
+         return services;
+      }
+
+      @Override
+      public boolean isLookupCacheable(final MicroserviceMetaData metaData) {
+         return cacheable;
+      }
+   }
+}
@@ -0,0 +1,97 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.silver.SilverService;
+import io.silverware.microservices.util.BootUtil;
+
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class ExecutorTest {
+
+   private static final List<String> events = new CopyOnWriteArrayList<>();
+
+   @Test
+   public void testDependenciesInitializeFirst() throws InterruptedException {
+      events.clear();
+
+      final Thread platform = (new BootUtil()).getMicroservicePlatform(ExecutorTest.class.getPackage().getName());
+      platform.start();
+      platform.join();
+
+      assertThat(events).contains("dependency initialized", "dependency run", "dependent initialized", "dependent run");
+      assertThat(events.indexOf("dependency initialized")).isLessThan(events.indexOf("dependent initialized"));
+   }
+
+   public interface DependencySilverService extends SilverService {
+   }
+
+   public static class DependencyMicroservice implements MicroserviceProvider, DependencySilverService {
+
+      private Context context;
+
+      @Override
+      public void initialize(final Context context) {
+         this.context = context;
+         events.add("dependency initialized");
+      }
+
+      @Override
+      public Context getContext() {
+         return context;
+      }
+
+      @Override
+      public void run() {
+         events.add("dependency run");
+      }
+   }
+
+   public static class DependentMicroservice implements MicroserviceProvider {
+
+      @Override
+      public void initialize(final Context context) {
+         if (context.getProvider(DependencySilverService.class) != null) {
+            events.add("dependent initialized");
+         }
+      }
+
+      @Override
+      public Set<Class<? extends SilverService>> getDependencies() {
+         return Collections.singleton(DependencySilverService.class);
+      }
+
+      @Override
+      public void run() {
+         events.add("dependent run");
+      }
+   }
+}
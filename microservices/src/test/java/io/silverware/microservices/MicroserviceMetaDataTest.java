@@ -0,0 +1,73 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class MicroserviceMetaDataTest {
+
+   @Test
+   public void testInterning() {
+      MicroserviceMetaData first = new MicroserviceMetaData("internedService", String.class, Collections.emptySet(), Collections.emptySet(), "1.0", "1.0");
+      MicroserviceMetaData second = new MicroserviceMetaData("internedService", String.class, Collections.emptySet(), Collections.emptySet(), "1.0", "1.0");
+      MicroserviceMetaData other = new MicroserviceMetaData("internedService", Integer.class, Collections.emptySet(), Collections.emptySet(), "1.0", "1.0");
+
+      assertThat(second).isNotSameAs(first).isEqualTo(first);
+      assertThat(second.hashCode()).isEqualTo(first.hashCode());
+
+      assertThat(second.intern()).isSameAs(first.intern());
+      assertThat(other.intern()).isNotEqualTo(first.intern());
+   }
+
+   @Test
+   public void testInterningKeepsVersions() {
+      MicroserviceMetaData first = new MicroserviceMetaData("versionedService", String.class, Collections.emptySet(), Collections.emptySet(), "1.0", "1.0").intern();
+      MicroserviceMetaData newer = new MicroserviceMetaData("versionedService", String.class, Collections.emptySet(), Collections.emptySet(), "1.0", "1.1");
+
+      assertThat(newer).isEqualTo(first);
+      assertThat(newer.intern()).isNotSameAs(first).isEqualTo(first);
+      assertThat(newer.intern().getImplVersion()).isEqualTo("1.1");
+   }
+
+   @Test
+   public void testDeserializedInstanceIsInterned() throws Exception {
+      MicroserviceMetaData metaData = new MicroserviceMetaData("serializedService", String.class, Collections.emptySet(), Collections.emptySet(), null, null).intern();
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+         out.writeObject(metaData);
+      }
+
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+         assertThat(in.readObject()).isSameAs(metaData);
+      }
+   }
+}
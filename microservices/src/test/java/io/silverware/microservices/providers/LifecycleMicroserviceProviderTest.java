@@ -0,0 +1,64 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class LifecycleMicroserviceProviderTest {
+
+   @Test
+   public void testRunStartsAndStopsOnInterrupt() throws InterruptedException {
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch stopped = new CountDownLatch(1);
+
+      // anonymous, so that it is not picked up by the platform booted in other tests
+      final LifecycleMicroserviceProvider provider = new LifecycleMicroserviceProvider() {
+         @Override
+         public void start() {
+            started.countDown();
+         }
+
+         @Override
+         public void stop() {
+            stopped.countDown();
+         }
+      };
+
+      final Thread thread = new Thread(provider);
+      thread.start();
+
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(stopped.getCount()).isEqualTo(1);
+
+      thread.interrupt();
+
+      assertThat(stopped.await(10, TimeUnit.SECONDS)).isTrue();
+      thread.join(TimeUnit.SECONDS.toMillis(10));
+      assertThat(thread.isAlive()).isFalse();
+   }
+}
@@ -0,0 +1,147 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.providers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.silverware.microservices.Context;
+import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.silver.HttpServerSilverService;
+import io.silverware.microservices.silver.ProvidingSilverService;
+import io.silverware.microservices.silver.SilverService;
+
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class ProvidersRegistryTest {
+
+   @Test
+   public void testLookupByType() {
+      final ProvidersRegistry registry = new ProvidersRegistry();
+      final TestProvider provider = new TestProvider();
+      registry.put(TestProvider.class.getName(), provider);
+      registry.put(PlainProvider.class.getName(), new PlainProvider());
+
+      assertThat(registry.getProvider(TestSilverService.class)).isSameAs(provider);
+      assertThat(registry.getProvider(ProvidingSilverService.class)).isSameAs(provider);
+      assertThat(registry.getProvider(TestProvider.class)).isSameAs(provider);
+      assertThat(registry.getProvider(HttpServerSilverService.class)).isNull();
+      assertThat(registry.getAllProviders(SilverService.class)).containsOnly(provider);
+      assertThat(registry.getAllProviders(HttpServerSilverService.class)).isEmpty();
+   }
+
+   @Test
+   public void testIndexFollowsChanges() {
+      final AtomicInteger changes = new AtomicInteger();
+      final ProvidersRegistry registry = new ProvidersRegistry(changes::incrementAndGet);
+      final TestProvider first = new TestProvider();
+      final TestProvider second = new TestProvider();
+
+      registry.put("first", first);
+      registry.put("second", second);
+      assertThat(registry.getAllProviders(TestSilverService.class)).containsOnly(first, second);
+
+      registry.remove("first");
+      assertThat(registry.getAllProviders(TestSilverService.class)).containsOnly(second);
+      assertThat(registry.getProvider(TestSilverService.class)).isSameAs(second);
+
+      registry.clear();
+      assertThat(registry.getProvider(TestSilverService.class)).isNull();
+      assertThat(changes.get()).isEqualTo(4);
+   }
+
+   @Test
+   public void testIndexFollowsDefaultMethods() {
+      final ProvidersRegistry registry = new ProvidersRegistry();
+      final TestProvider first = new TestProvider();
+      final TestProvider second = new TestProvider();
+
+      registry.computeIfAbsent("first", key -> first);
+      registry.merge("second", second, (previous, value) -> value);
+      assertThat(registry.getAllProviders(TestSilverService.class)).containsOnly(first, second);
+
+      registry.computeIfPresent("first", (key, value) -> null);
+      assertThat(registry.getAllProviders(TestSilverService.class)).containsOnly(second);
+
+      registry.replaceAll((key, value) -> new PlainProvider());
+      assertThat(registry.getProvider(TestSilverService.class)).isNull();
+      assertThat(registry).hasSize(1);
+   }
+
+   @Test
+   public void testViewsAreReadOnly() {
+      final ProvidersRegistry registry = new ProvidersRegistry();
+      registry.put("first", new TestProvider());
+
+      assertThatThrownBy(() -> registry.keySet().remove("first")).isInstanceOf(UnsupportedOperationException.class);
+      assertThatThrownBy(() -> registry.values().clear()).isInstanceOf(UnsupportedOperationException.class);
+      assertThatThrownBy(() -> registry.entrySet().iterator().next().setValue(new PlainProvider())).isInstanceOf(UnsupportedOperationException.class);
+      assertThat(registry.getProvider(TestSilverService.class)).isNotNull();
+   }
+
+   /**
+    * Service implemented by the test provider.
+    */
+   private interface TestSilverService extends ProvidingSilverService {
+   }
+
+   /**
+    * Not deployable by the platform as it has no public constructor.
+    */
+   private static class TestProvider implements MicroserviceProvider, TestSilverService, ProvidingSilverService {
+
+      private TestProvider() {
+      }
+
+      @Override
+      public void run() {
+      }
+
+      @Override
+      public Context getContext() {
+         return null;
+      }
+
+      @Override
+      public Set<Object> lookupMicroservice(final MicroserviceMetaData metaData) {
+         return Collections.emptySet();
+      }
+   }
+
+   /**
+    * Provider that is not a SilverService.
+    */
+   private static class PlainProvider implements MicroserviceProvider {
+
+      private PlainProvider() {
+      }
+
+      @Override
+      public void run() {
+      }
+   }
+}
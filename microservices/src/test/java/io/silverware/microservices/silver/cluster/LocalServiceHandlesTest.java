@@ -0,0 +1,110 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.silverware.microservices.MicroserviceMetaData;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class LocalServiceHandlesTest {
+
+   private static final MicroserviceMetaData META_DATA = new MicroserviceMetaData("handlesTest", LocalServiceHandlesTest.class, Collections.emptySet(), Collections.emptySet(), null, null);
+
+   @Test
+   public void testHandlesAreCreatedOnce() {
+      final LocalServiceHandles handles = new LocalServiceHandles();
+      final AtomicInteger lookups = new AtomicInteger();
+
+      final List<LocalServiceHandle> first = handles.assureHandles(META_DATA, metaData -> {
+         lookups.incrementAndGet();
+         return Collections.singleton("service");
+      });
+      final List<LocalServiceHandle> second = handles.assureHandles(META_DATA, metaData -> {
+         lookups.incrementAndGet();
+         return Collections.singleton("service");
+      });
+
+      assertThat(first).hasSize(1);
+      assertThat(second).isSameAs(first);
+      assertThat(lookups.get()).isEqualTo(1);
+      assertThat(handles.get(first.get(0).getHandle())).isSameAs(first.get(0));
+      assertThat(first.get(0).getProxy()).isEqualTo("service");
+   }
+
+   @Test
+   public void testEmptyLookupIsRepeated() {
+      final LocalServiceHandles handles = new LocalServiceHandles();
+      final AtomicInteger lookups = new AtomicInteger();
+
+      assertThat(handles.assureHandles(META_DATA, metaData -> {
+         lookups.incrementAndGet();
+         return Collections.emptySet();
+      })).isEmpty();
+      assertThat(handles.assureHandles(META_DATA, metaData -> {
+         lookups.incrementAndGet();
+         return Collections.singleton("service");
+      })).hasSize(1);
+      assertThat(lookups.get()).isEqualTo(2);
+   }
+
+   @Test
+   public void testUnknownHandle() {
+      final LocalServiceHandles handles = new LocalServiceHandles();
+
+      assertThat(handles.get(-1)).isNull();
+      assertThat(handles.get(Integer.MAX_VALUE)).isNull();
+   }
+
+   @Test
+   public void testConcurrentAccess() throws Exception {
+      final LocalServiceHandles handles = new LocalServiceHandles();
+      final ExecutorService executor = Executors.newFixedThreadPool(8);
+      final List<Callable<List<LocalServiceHandle>>> tasks = new ArrayList<>();
+
+      for (int i = 0; i < 200; i++) {
+         final MicroserviceMetaData metaData = new MicroserviceMetaData("handlesTest" + (i % 50), LocalServiceHandlesTest.class, Collections.emptySet(), Collections.emptySet(), null, null);
+         tasks.add(() -> handles.assureHandles(metaData, query -> Collections.singleton(query.getName())));
+      }
+
+      try {
+         for (final Future<List<LocalServiceHandle>> result : executor.invokeAll(tasks)) {
+            final LocalServiceHandle handle = result.get().get(0);
+            assertThat(handles.get(handle.getHandle())).isSameAs(handle);
+            assertThat(handles.assureHandles(handle.getMetaData(), query -> Collections.<Object>emptySet())).containsExactly(handle);
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+}
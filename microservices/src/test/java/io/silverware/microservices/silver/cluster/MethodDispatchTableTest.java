@@ -0,0 +1,151 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.silverware.microservices.MicroserviceMetaData;
+import io.silverware.microservices.SilverWareException;
+
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class MethodDispatchTableTest {
+
+   @Test
+   public void testTableIsStable() {
+      final MethodDispatchTable table = MethodDispatchTable.forType(Calculator.class);
+
+      assertThat(MethodDispatchTable.forType(Calculator.class)).isSameAs(table);
+      assertThat(table.size()).isEqualTo(4);
+      assertThat(table.getMethod(0).getName()).isEqualTo("add");
+      assertThat(table.indexOf("add", new Class[] { int.class, int.class })).isEqualTo(0);
+      assertThat(table.indexOf("add", new Class[] { long.class, long.class })).isEqualTo(1);
+      assertThat(table.indexOf("add", new Class[] { String.class })).isEqualTo(MethodDispatchTable.UNKNOWN_METHOD);
+      assertThat(table.indexOf("subtract", new Class[0])).isEqualTo(MethodDispatchTable.UNKNOWN_METHOD);
+      assertThat(table.getFingerprint()).isNotEqualTo(MethodDispatchTable.forType(Runnable.class).getFingerprint());
+   }
+
+   @Test
+   public void testInvoke() throws Exception {
+      final MethodDispatchTable table = MethodDispatchTable.forType(Calculator.class);
+      final Calculator calculator = new CalculatorImpl();
+
+      assertThat(table.invoke(table.indexOf("add", new Class[] { int.class, int.class }), calculator, new Object[] { 1, 2 })).isEqualTo(3);
+      assertThat(table.invoke(table.indexOf("add", new Class[] { long.class, long.class }), calculator, new Object[] { 1L, 2L })).isEqualTo(3L);
+      assertThat(table.invoke(table.indexOf("reset", new Class[0]), calculator, null)).isNull();
+   }
+
+   @Test
+   public void testInvokeFailures() {
+      final MethodDispatchTable table = MethodDispatchTable.forType(Calculator.class);
+      final Calculator calculator = new CalculatorImpl();
+      final int fail = table.indexOf("fail", new Class[0]);
+
+      assertThatThrownBy(() -> table.invoke(fail, calculator, new Object[0])).isInstanceOf(InvocationTargetException.class).hasCauseInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(() -> table.invoke(fail, "not a calculator", new Object[0])).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> table.invoke(fail, calculator, new Object[] { 1 })).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> table.invoke(table.size(), calculator, new Object[0])).isInstanceOf(IllegalArgumentException.class);
+   }
+
+   @Test
+   public void testLocalServiceHandleDispatch() throws Exception {
+      final MicroserviceMetaData metaData = new MicroserviceMetaData("calculator", Calculator.class, Collections.emptySet(), Collections.emptySet(), null, null);
+      final LocalServiceHandle handle = new LocalServiceHandle(metaData, new CalculatorImpl());
+      final int add = MethodDispatchTable.forType(Calculator.class).indexOf("add", new Class[] { int.class, int.class });
+
+      assertThat(handle.invoke(null, "add", new Class[] { int.class, int.class }, new Object[] { 2, 3 })).isEqualTo(5);
+      assertThat(handle.invoke(null, "multiply", new Class[] { int.class, int.class }, new Object[] { 2, 3 })).isEqualTo(6);
+      assertThat(handle.invoke(null, add, handle.getDispatchFingerprint(), new Object[] { 2, 3 })).isEqualTo(5);
+      assertThatThrownBy(() -> handle.invoke(null, add, handle.getDispatchFingerprint() + 1, new Object[] { 2, 3 })).isInstanceOf(SilverWareException.class);
+   }
+
+   @Test
+   public void testBridgeMethodsAreSkipped() throws Exception {
+      final MethodDispatchTable table = MethodDispatchTable.forType(GreetingSupplier.class);
+      final int get = table.indexOf("get", new Class[0]);
+
+      assertThat(get).isNotEqualTo(MethodDispatchTable.UNKNOWN_METHOD);
+      assertThat(table.getMethod(get).isBridge()).isFalse();
+      assertThat(table.getMethod(get).getReturnType()).isEqualTo(String.class);
+      assertThat(table.invoke(get, new GreetingSupplier(), new Object[0])).isEqualTo("hello");
+   }
+
+   /**
+    * Microservice type.
+    */
+   public interface Calculator {
+
+      int add(int a, int b);
+
+      long add(long a, long b);
+
+      void reset();
+
+      void fail();
+   }
+
+   /**
+    * Microservice implementation.
+    */
+   public static class CalculatorImpl implements Calculator {
+
+      @Override
+      public int add(final int a, final int b) {
+         return a + b;
+      }
+
+      @Override
+      public long add(final long a, final long b) {
+         return a + b;
+      }
+
+      @Override
+      public void reset() {
+      }
+
+      @Override
+      public void fail() {
+         throw new IllegalStateException("failure");
+      }
+
+      public int multiply(final int a, final int b) {
+         return a * b;
+      }
+   }
+
+   /**
+    * Microservice implementation with a bridge method.
+    */
+   public static class GreetingSupplier implements Supplier<String> {
+
+      @Override
+      public String get() {
+         return "hello";
+      }
+   }
+}
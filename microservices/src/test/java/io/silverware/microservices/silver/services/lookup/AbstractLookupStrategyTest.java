@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
 import io.silverware.microservices.silver.services.LookupStrategy;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
 
 import org.testng.annotations.Test;
 
@@ -48,14 +49,14 @@ public abstract class AbstractLookupStrategyTest {
    @Test
    public void testGetServiceWithoutResult() throws Exception {
       new StrictExpectations(Context.class) {{
-         context.lookupMicroservice(META_DATA);
+         context.lookupMicroserviceSnapshot(META_DATA);
          minTimes = 0;
          maxTimes = 1;
-         result = emptySet();
-         context.lookupLocalMicroservice(META_DATA);
+         result = MicroserviceSnapshot.EMPTY;
+         context.lookupLocalMicroserviceSnapshot(META_DATA);
          minTimes = 0;
          maxTimes = 1;
-         result = emptySet();
+         result = MicroserviceSnapshot.EMPTY;
       }};
       assertThatThrownBy(() -> strategy.getService()).isInstanceOf(RuntimeException.class).hasMessageContaining(META_DATA.toString());
    }
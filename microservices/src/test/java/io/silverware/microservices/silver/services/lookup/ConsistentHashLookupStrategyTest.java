@@ -0,0 +1,140 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.silverware.microservices.Context;
+import io.silverware.microservices.annotations.AffinityKey;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+
+import mockit.Expectations;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class ConsistentHashLookupStrategyTest extends AbstractLookupStrategyTest {
+
+   private static final MicroserviceSnapshot SERVICES = new MicroserviceSnapshot(0, asList("1", "2", "3", "4"));
+   private static final int KEYS = 1000;
+
+   @BeforeMethod
+   public void initStrategy() {
+      strategy = new ConsistentHashLookupStrategy();
+      strategy.initialize(context, META_DATA, emptySet());
+   }
+
+   @Test
+   public void testSameKeyIsRoutedToSameService() throws Exception {
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 2 * KEYS;
+         result = SERVICES;
+      }};
+      Method method = KeyedService.class.getMethod("get", String.class, int.class);
+
+      Set<Object> used = new HashSet<>();
+      for (int i = 0; i < KEYS; i++) {
+         Object service = strategy.getService(method, new Object[] { "key" + i, 1 });
+         assertThat(strategy.getService(method, new Object[] { "key" + i, 2 })).isEqualTo(service);
+         used.add(service);
+      }
+      assertThat(used).containsOnly("1", "2", "3", "4");
+   }
+
+   @Test
+   public void testAllArgumentsAreUsedWithoutAffinityKey() throws Exception {
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = KEYS;
+         result = SERVICES;
+      }};
+      Method method = KeyedService.class.getMethod("put", String.class, int.class);
+
+      Set<Object> used = new HashSet<>();
+      for (int i = 0; i < KEYS; i++) {
+         used.add(strategy.getService(method, new Object[] { "key", i }));
+      }
+      assertThat(used).containsOnly("1", "2", "3", "4");
+   }
+
+   @Test
+   public void testRemovedServiceMovesOnlyItsKeys() {
+      ConsistentHashRing ring = new ConsistentHashRing(SERVICES, ConsistentHashLookupStrategy.VIRTUAL_NODES);
+      ConsistentHashRing reducedRing = new ConsistentHashRing(new MicroserviceSnapshot(1, asList("1", "2", "4")), ConsistentHashLookupStrategy.VIRTUAL_NODES);
+
+      int moved = 0;
+      for (int i = 0; i < KEYS; i++) {
+         Object service = ring.get(("key" + i).hashCode());
+         if ("3".equals(service)) {
+            moved++;
+         } else {
+            assertThat(reducedRing.get(("key" + i).hashCode())).isEqualTo(service);
+         }
+      }
+      assertThat(moved).isBetween(KEYS / 8, KEYS / 2);
+   }
+
+   @Test
+   public void testServicesWithEqualHashCodesShareKeys() {
+      ConsistentHashRing ring = new ConsistentHashRing(new MicroserviceSnapshot(0, asList(new SameHashService("a"), new SameHashService("b"))), ConsistentHashLookupStrategy.VIRTUAL_NODES);
+
+      Set<Object> used = new HashSet<>();
+      for (int i = 0; i < KEYS; i++) {
+         used.add(ring.get(("key" + i).hashCode()));
+      }
+      assertThat(used).hasSize(2);
+   }
+
+   private static final class SameHashService {
+
+      private final String name;
+
+      private SameHashService(final String name) {
+         this.name = name;
+      }
+
+      @Override
+      public int hashCode() {
+         return 42;
+      }
+
+      @Override
+      public String toString() {
+         return name;
+      }
+   }
+
+   private interface KeyedService {
+
+      String get(@AffinityKey String key, int attempt);
+
+      void put(String key, int value);
+   }
+}
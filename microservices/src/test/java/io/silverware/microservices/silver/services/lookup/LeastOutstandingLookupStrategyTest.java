@@ -0,0 +1,134 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.silverware.microservices.Context;
+import io.silverware.microservices.silver.services.LoadAwareLookupStrategy;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import mockit.Expectations;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class LeastOutstandingLookupStrategyTest extends AbstractLookupStrategyTest {
+
+   private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+   private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+   @BeforeMethod
+   public void initStrategy() {
+      strategy = new LeastOutstandingLookupStrategy();
+      strategy.initialize(context, META_DATA, emptySet());
+   }
+
+   @Test
+   public void testGetSingleService() throws Exception {
+      MicroserviceSnapshot expectedResult = new MicroserviceSnapshot(0, asList("1"));
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = expectedResult;
+      }};
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         result.add(strategy.getService());
+      }
+      assertThat(result).containsExactly("1", "1", "1", "1");
+   }
+
+   @Test
+   public void testOutstandingInvocationsAreSpread() throws Exception {
+      MicroserviceSnapshot expectedResult = new MicroserviceSnapshot(0, asList("1", "2"));
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = expectedResult;
+      }};
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         result.add(strategy.getService());
+      }
+      assertThat(result).containsOnly("1", "2");
+      assertThat(result.stream().filter("1"::equals).count()).isEqualTo(2);
+   }
+
+   @Test
+   public void testSlowServiceIsAvoided() throws Exception {
+      MicroserviceSnapshot expectedResult = new MicroserviceSnapshot(0, asList("1", "2"));
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 12;
+         result = expectedResult;
+      }};
+      LoadAwareLookupStrategy loadAwareStrategy = (LoadAwareLookupStrategy) strategy;
+
+      Object first = loadAwareStrategy.getService();
+      Object second = loadAwareStrategy.getService();
+      loadAwareStrategy.invocationCompleted("1", SLOW, false);
+      loadAwareStrategy.invocationCompleted("2", FAST, false);
+      assertThat(asList(first, second)).containsOnly("1", "2");
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         Object service = loadAwareStrategy.getService();
+         loadAwareStrategy.invocationCompleted(service, FAST, false);
+         result.add(service);
+      }
+      assertThat(result).containsOnly("2");
+   }
+
+   @Test
+   public void testFailingServiceIsAvoided() throws Exception {
+      MicroserviceSnapshot expectedResult = new MicroserviceSnapshot(0, asList("1", "2"));
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 12;
+         result = expectedResult;
+      }};
+      LoadAwareLookupStrategy loadAwareStrategy = (LoadAwareLookupStrategy) strategy;
+
+      loadAwareStrategy.getService();
+      loadAwareStrategy.getService();
+      loadAwareStrategy.invocationCompleted("1", FAST, true);
+      loadAwareStrategy.invocationCompleted("2", FAST, false);
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         Object service = loadAwareStrategy.getService();
+         loadAwareStrategy.invocationCompleted(service, FAST, false);
+         result.add(service);
+      }
+      assertThat(result).containsOnly("2");
+   }
+}
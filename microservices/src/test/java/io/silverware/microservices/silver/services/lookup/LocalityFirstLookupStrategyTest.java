@@ -0,0 +1,140 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.silver.services.lookup;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.silverware.microservices.Context;
+import io.silverware.microservices.annotations.Spillover;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import mockit.Expectations;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class LocalityFirstLookupStrategyTest extends AbstractLookupStrategyTest {
+
+   private static final MicroserviceSnapshot ALL = new MicroserviceSnapshot(0, asList("local", "remote"));
+   private static final MicroserviceSnapshot LOCAL = new MicroserviceSnapshot(0, asList("local"));
+
+   @Spillover(maxConcurrency = 2)
+   private Object spilloverTemplate;
+
+   @BeforeMethod
+   public void initStrategy() throws Exception {
+      Set<Annotation> options = singleton(getClass().getDeclaredField("spilloverTemplate").getAnnotation(Spillover.class));
+      strategy = new LocalityFirstLookupStrategy();
+      strategy.initialize(context, META_DATA, options);
+   }
+
+   @Test
+   public void testLocalServiceIsPreferred() throws Exception {
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = ALL;
+         context.lookupLocalMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = LOCAL;
+      }};
+      LocalityFirstLookupStrategy localityFirstStrategy = (LocalityFirstLookupStrategy) strategy;
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         Object service = localityFirstStrategy.getService();
+         localityFirstStrategy.invocationCompleted(service, 0, false);
+         result.add(service);
+      }
+      assertThat(result).containsExactly("local", "local", "local", "local");
+      assertThat(localityFirstStrategy.getSpilledInvocations()).isEqualTo(0);
+   }
+
+   @Test
+   public void testOverloadedLocalServiceSpills() throws Exception {
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = ALL;
+         context.lookupLocalMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = LOCAL;
+      }};
+      LocalityFirstLookupStrategy localityFirstStrategy = (LocalityFirstLookupStrategy) strategy;
+      long spilledBefore = context.getDeployStats().getSpilledInvocations();
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         result.add(localityFirstStrategy.getService());
+      }
+      assertThat(result).containsExactly("local", "local", "remote", "remote");
+      assertThat(localityFirstStrategy.getSpilledInvocations()).isEqualTo(2);
+      assertThat(context.getDeployStats().getSpilledInvocations()).isEqualTo(spilledBefore + 2);
+      assertThat(Arrays.stream(context.getDeployStats().getSpilledInvocationsPerMicroservice()).anyMatch(line -> line.startsWith(META_DATA.getName() + ": "))).isTrue();
+   }
+
+   @Test
+   public void testRemoteServiceIsUsedWithoutLocalService() throws Exception {
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 2;
+         result = new MicroserviceSnapshot(0, asList("remote"));
+         context.lookupLocalMicroserviceSnapshot(META_DATA);
+         times = 2;
+         result = MicroserviceSnapshot.EMPTY;
+      }};
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+         result.add(strategy.getService());
+      }
+      assertThat(result).containsExactly("remote", "remote");
+      assertThat(((LocalityFirstLookupStrategy) strategy).getSpilledInvocations()).isEqualTo(0);
+   }
+
+   @Test
+   public void testOverloadedLocalServiceIsUsedWithoutRemoteService() throws Exception {
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = LOCAL;
+         context.lookupLocalMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = LOCAL;
+      }};
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         result.add(strategy.getService());
+      }
+      assertThat(result).containsExactly("local", "local", "local", "local");
+   }
+}
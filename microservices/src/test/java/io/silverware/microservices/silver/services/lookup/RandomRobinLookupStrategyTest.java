@@ -24,14 +24,13 @@ import static java.util.Collections.emptySet;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.silverware.microservices.Context;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 import mockit.Expectations;
@@ -49,10 +48,10 @@ public class RandomRobinLookupStrategyTest extends AbstractLookupStrategyTest {
 
    @Test
    public void testGetService() throws Exception {
-      Set<Object> expectedResult = new HashSet<>(asList("1", "2", "3"));
+      MicroserviceSnapshot expectedResult = new MicroserviceSnapshot(0, asList("1", "2", "3"));
       ThreadLocalRandom rnd = ThreadLocalRandom.current();
       new Expectations(Context.class, ThreadLocalRandom.class) {{
-         context.lookupMicroservice(META_DATA);
+         context.lookupMicroserviceSnapshot(META_DATA);
          times = 4;
          result = expectedResult;
          rnd.nextInt(anyInt);
@@ -24,15 +24,22 @@ import static java.util.Collections.emptySet;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.silverware.microservices.Context;
+import io.silverware.microservices.silver.services.MicroserviceSnapshot;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import mockit.Deencapsulation;
 import mockit.Expectations;
 
 /**
@@ -48,9 +55,9 @@ public class RoundRobinLookupStrategyTest extends AbstractLookupStrategyTest {
 
    @Test
    public void testGetService() throws Exception {
-      Set<Object> expectedResult = new HashSet<>(asList("1", "2"));
+      MicroserviceSnapshot expectedResult = new MicroserviceSnapshot(0, asList("1", "2"));
       new Expectations(Context.class) {{
-         context.lookupMicroservice(META_DATA);
+         context.lookupMicroserviceSnapshot(META_DATA);
          times = 4;
          result = expectedResult;
       }};
@@ -63,4 +70,47 @@ public class RoundRobinLookupStrategyTest extends AbstractLookupStrategyTest {
 
    }
 
-}
\ No newline at end of file
+   @Test
+   public void testGetServiceAfterCounterOverflow() throws Exception {
+      MicroserviceSnapshot expectedResult = new MicroserviceSnapshot(0, asList("1", "2", "3"));
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 4;
+         result = expectedResult;
+      }};
+      Deencapsulation.setField(strategy, "index", new AtomicInteger(Integer.MAX_VALUE - 1));
+
+      List<Object> result = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         result.add(strategy.getService());
+      }
+      assertThat(result).containsExactly("1", "2", "1", "2");
+   }
+
+   @Test
+   public void testGetServiceConcurrently() throws Exception {
+      MicroserviceSnapshot expectedResult = new MicroserviceSnapshot(0, asList("1", "2"));
+      new Expectations(Context.class) {{
+         context.lookupMicroserviceSnapshot(META_DATA);
+         times = 4000;
+         result = expectedResult;
+      }};
+
+      assertThat(strategy.isThreadSafe()).isTrue();
+
+      Map<Object, LongAdder> counts = new ConcurrentHashMap<>();
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      for (int i = 0; i < 4; i++) {
+         executor.submit(() -> {
+            for (int j = 0; j < 1000; j++) {
+               counts.computeIfAbsent(strategy.getService(), service -> new LongAdder()).increment();
+            }
+         });
+      }
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(counts.get("1").sum()).isEqualTo(2000);
+      assertThat(counts.get("2").sum()).isEqualTo(2000);
+   }
+}
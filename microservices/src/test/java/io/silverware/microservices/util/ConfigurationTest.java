@@ -0,0 +1,88 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class ConfigurationTest {
+
+   @Test
+   public void testTypedAccessors() {
+      Configuration configuration = new Configuration();
+      configuration.getProperties().put("long", "42");
+      configuration.getProperties().put("int", 8080);
+      configuration.getProperties().put("boolean", "true");
+
+      assertThat(configuration.getLong("long", 1)).isEqualTo(42L);
+      assertThat(configuration.getInt("int", 1)).isEqualTo(8080);
+      assertThat(configuration.getString("int", null)).isEqualTo("8080");
+      assertThat(configuration.getBoolean("boolean", false)).isTrue();
+      assertThat(configuration.getBoolean("missing", true)).isTrue();
+      assertThat(configuration.getString("missing", null)).isNull();
+
+      configuration.getProperties().put("invalid", "abc");
+      assertThatThrownBy(() -> configuration.getLong("invalid", 1)).isInstanceOf(NumberFormatException.class);
+   }
+
+   @Test
+   public void testValuesAreParsedOnce() {
+      Configuration configuration = new Configuration();
+      List<Object> parsed = new ArrayList<>();
+      Function<Object, String> parser = value -> {
+         parsed.add(value);
+         return value.toString().toUpperCase();
+      };
+
+      configuration.getProperties().put("key", "value");
+      assertThat(configuration.get("key", parser, null)).isEqualTo("VALUE");
+      assertThat(configuration.get("key", parser, null)).isEqualTo("VALUE");
+      assertThat(parsed).containsExactly("value");
+
+      configuration.getProperties().put("key", "changed");
+      assertThat(configuration.get("key", parser, null)).isEqualTo("CHANGED");
+      assertThat(parsed).containsExactly("value", "changed");
+   }
+
+   @Test
+   public void testChangeListeners() {
+      Configuration configuration = new Configuration();
+      List<String> changes = new ArrayList<>();
+      configuration.addChangeListener("key", (key, oldValue, newValue) -> changes.add(key + ":" + oldValue + "->" + newValue));
+
+      configuration.getProperties().putIfAbsent("key", "a");
+      configuration.getProperties().putIfAbsent("key", "b");
+      configuration.getProperties().put("key", "a");
+      configuration.getProperties().put("key", "c");
+      configuration.getProperties().put("other", "d");
+      configuration.getProperties().remove("key");
+
+      assertThat(changes).containsExactly("key:null->a", "key:a->c", "key:c->null");
+   }
+}
@@ -0,0 +1,63 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class DeployStatsTest {
+
+   @Test
+   public void testTimelineIsOrderedByStart() throws Exception {
+      DeployStats stats = new DeployStats();
+
+      long start = System.nanoTime();
+      Thread.sleep(20);
+      stats.recordEvent("event");
+      Thread.sleep(20);
+      stats.recordPhase("phase", start);
+
+      List<DeployStats.Phase> phases = stats.getPhases();
+      assertThat(phases).extracting(DeployStats.Phase::getName).containsExactly("phase", "event");
+      assertThat(phases.get(0).getDuration()).isGreaterThanOrEqualTo(40);
+      assertThat(phases.get(1).getDuration()).isEqualTo(0);
+      assertThat(phases.get(1).getStart()).isGreaterThanOrEqualTo(phases.get(0).getStart());
+      assertThat(stats.getTimeline()).hasSize(2);
+      assertThat(stats.getTimeline()[0]).endsWith("  phase");
+   }
+
+   @Test
+   public void testSpilledInvocations() {
+      DeployStats stats = new DeployStats();
+
+      stats.incSpilled("b");
+      stats.incSpilled("a");
+      stats.incSpilled("b");
+
+      assertThat(stats.getSpilledInvocations()).isEqualTo(3);
+      assertThat(stats.getSpilledInvocationsPerMicroservice()).containsExactly("a: 1", "b: 2");
+   }
+}
@@ -0,0 +1,85 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class DeploymentIndexTest {
+
+   private static final String PROVIDER = "io.silverware.microservices.providers.MicroserviceProvider";
+
+   @Test
+   public void testWriteAndRead() throws Exception {
+      Map<String, Set<String>> classes = new LinkedHashMap<>();
+      classes.put("org.example.Provider", new HashSet<>(Arrays.asList(PROVIDER, "java.lang.Runnable")));
+      classes.put("org.example.Outer$Inner", new HashSet<>(Arrays.asList("org.example.Outer")));
+
+      StringWriter writer = new StringWriter();
+      DeploymentIndex.write(writer, classes);
+
+      assertThat(DeploymentIndex.read(new StringReader(writer.toString()))).isEqualTo(classes);
+   }
+
+   @Test
+   public void testAddIndexedDirectory() throws Exception {
+      Path directory = Files.createTempDirectory("silverware-index");
+      File indexFile = directory.resolve(DeploymentIndex.LOCATION).toFile();
+      assertThat(indexFile.getParentFile().mkdirs()).isTrue();
+
+      try (Writer writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8)) {
+         writer.write("# comment\n");
+         writer.write("org.example.Provider=" + PROVIDER + ",java.lang.Runnable\n");
+         writer.write("org.other.Provider=" + PROVIDER + "\n");
+      }
+
+      DeploymentIndex index = new DeploymentIndex();
+      assertThat(index.add(directory.toUri().toURL(), className -> className.startsWith("org.example."))).isTrue();
+      assertThat(index.getSubtypes(PROVIDER)).containsExactly("org.example.Provider");
+      assertThat(index.getSubtypes("java.lang.Runnable")).containsExactly("org.example.Provider");
+      assertThat(index.getSubtypes("java.lang.Thread")).isEmpty();
+   }
+
+   @Test
+   public void testAddUnindexedDirectory() throws Exception {
+      Path directory = Files.createTempDirectory("silverware-index");
+
+      DeploymentIndex index = new DeploymentIndex();
+      assertThat(index.add(directory.toUri().toURL(), className -> true)).isFalse();
+      assertThat(index.getSubtypes(PROVIDER)).isEmpty();
+   }
+}
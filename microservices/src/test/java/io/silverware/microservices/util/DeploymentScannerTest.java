@@ -0,0 +1,69 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.silverware.microservices.Context;
+
+import org.testng.annotations.Test;
+
+import java.util.Set;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class DeploymentScannerTest {
+
+   private static final String PACKAGES = "io.silverware.microservices.util";
+
+   @Test
+   public void testScannerIsSharedWithinContext() {
+      Context context = new Context();
+      context.getProperties().put(Context.DEPLOYMENT_PACKAGES, PACKAGES);
+
+      DeploymentScanner scanner = DeploymentScanner.getContextInstance(context);
+      assertThat(DeploymentScanner.getContextInstance(context)).isSameAs(scanner);
+
+      context.getProperties().put(Context.DEPLOYMENT_PACKAGES, " " + PACKAGES + " , " + PACKAGES);
+      assertThat(DeploymentScanner.getContextInstance(context)).isSameAs(scanner);
+
+      Context otherContext = new Context();
+      otherContext.getProperties().put(Context.DEPLOYMENT_PACKAGES, PACKAGES);
+      assertThat(DeploymentScanner.getContextInstance(otherContext)).isNotSameAs(scanner);
+   }
+
+   @Test
+   public void testLookupResultsAreMemoized() {
+      Context context = new Context();
+      context.getProperties().put(Context.DEPLOYMENT_PACKAGES, PACKAGES);
+      DeploymentScanner scanner = DeploymentScanner.getContextInstance(context);
+
+      Set<Class<? extends Base>> subtypes = scanner.lookupSubtypes(Base.class);
+      assertThat(subtypes).containsOnly(Impl.class);
+      assertThat(scanner.lookupSubtypes(Base.class)).isSameAs(subtypes);
+   }
+
+   public interface Base {
+   }
+
+   public static class Impl implements Base {
+   }
+}
@@ -0,0 +1,75 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class InvocationGateTest {
+
+   @Test
+   public void testClosedGateRejectsInvocations() {
+      InvocationGate gate = new InvocationGate();
+      AtomicInteger closed = new AtomicInteger();
+      gate.addCloseListener(closed::incrementAndGet);
+
+      assertThat(gate.enter()).isTrue();
+      assertThat(gate.getInFlight()).isEqualTo(1);
+
+      gate.close();
+
+      assertThat(gate.isClosed()).isTrue();
+      assertThat(closed.get()).isEqualTo(1);
+      assertThat(gate.enter()).isFalse();
+      assertThat(gate.getInFlight()).isEqualTo(1);
+
+      gate.exit();
+      assertThat(gate.getInFlight()).isEqualTo(0);
+   }
+
+   @Test
+   public void testDrainWaitsForInvocationsInFlight() throws Exception {
+      InvocationGate gate = new InvocationGate();
+      gate.enter();
+      gate.close();
+
+      assertThat(gate.awaitDrained(50, TimeUnit.MILLISECONDS)).isFalse();
+
+      Thread invocation = new Thread(() -> {
+         try {
+            Thread.sleep(50);
+         } catch (InterruptedException e) {
+            // finish right away
+         }
+         gate.exit();
+      });
+      invocation.start();
+
+      assertThat(gate.awaitDrained(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(gate.getInFlight()).isEqualTo(0);
+   }
+}
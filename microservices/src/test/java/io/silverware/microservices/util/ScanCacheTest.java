@@ -0,0 +1,87 @@
+/*
+ * -----------------------------------------------------------------------\
+ * SilverWare
+ *  
+ * Copyright (C) 2015 - 2017 the original author or authors.
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * -----------------------------------------------------------------------/
+ */
+package io.silverware.microservices.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+
+/**
+ * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
+ */
+public class ScanCacheTest {
+
+   @Test
+   public void testStoredResultsAreLoadedUntilJarChanges() throws Exception {
+      File directory = Files.createTempDirectory("silverware-scan-cache").toFile();
+      File jar = new File(directory, "deployment.jar");
+      writeJar(jar, "camel-routes.xml");
+
+      ScanCache cache = new ScanCache(new File(directory, "cache"));
+      ScanCache.Entry entry = cache.getEntry(jar.toURI().toURL(), ":classes");
+      assertThat(entry).isNotNull();
+      assertThat(entry.load()).isNull();
+
+      entry.store(ScanResults.read(new StringReader("subtypes\tio.example.Api\tio.example.Impl\nresources\tcamel-routes.xml\tMETA-INF/camel-routes.xml\n")));
+
+      ScanResults loaded = cache.getEntry(jar.toURI().toURL(), ":classes").load();
+      assertThat(loaded).isNotNull();
+      assertThat(loaded.getSubtypes("io.example.Api")).containsExactly("io.example.Impl");
+      assertThat(loaded.getResources(Pattern.compile(".*camel-.*\\.xml"))).containsExactly("META-INF/camel-routes.xml");
+
+      assertThat(cache.getEntry(jar.toURI().toURL(), ":resources").load()).isNull();
+
+      writeJar(jar, "camel-routes.xml", "camel-other.xml");
+      assertThat(cache.getEntry(jar.toURI().toURL(), ":classes").load()).isNull();
+   }
+
+   @Test
+   public void testDirectoriesAreNotCached() throws Exception {
+      File directory = Files.createTempDirectory("silverware-scan-cache").toFile();
+
+      assertThat(new ScanCache(directory).getEntry(directory.toURI().toURL(), ":classes")).isNull();
+   }
+
+   @Test
+   public void testSubtypesAreTransitive() throws Exception {
+      ScanResults results = ScanResults.read(new StringReader("subtypes\ta.A\tb.B\nsubtypes\tb.B\tc.C\n"));
+
+      assertThat(results.getSubtypes("a.A")).containsOnly("b.B", "c.C");
+      assertThat(results.getSubtypes("c.C")).isEmpty();
+   }
+
+   private static void writeJar(final File jar, final String... resources) throws Exception {
+      try (JarOutputStream stream = new JarOutputStream(new FileOutputStream(jar))) {
+         for (String resource : resources) {
+            stream.putNextEntry(new ZipEntry("META-INF/" + resource));
+            stream.write(resource.getBytes("UTF-8"));
+            stream.closeEntry();
+         }
+      }
+   }
+}
@@ -81,4 +81,17 @@ public class VersionComparatorTest {
       assertThat(VersionComparator.forVersion(null, MAJOR_VERSION_SNAPSHOT).satisfies(condition)).as(DESCRIPTION, MAJOR_VERSION_SNAPSHOT, " ", condition).isTrue();
    }
 
+   @Test
+   public void testParsedVersionsAreCached() throws Exception {
+      final VersionComparator comparator = VersionComparator.forVersion(null, VERSION);
+      assertThat(VersionComparator.forVersion(null, VERSION)).isSameAs(comparator);
+
+      for (int i = 0; i <= VersionComparator.MAX_CACHED_ENTRIES; i++) {
+         assertThat(VersionComparator.forVersion(null, "2.0." + i).satisfies("^2." + i)).isEqualTo(i == 0);
+      }
+
+      assertThat(VersionComparator.forVersion(null, VERSION).satisfies("^1")).isTrue();
+      assertThat(VersionComparator.forVersion(null, "invalid").satisfies("^1")).isTrue();
+   }
+
 }
\ No newline at end of file
@@ -22,19 +22,21 @@ package io.silverware.microservices.providers.monitoring;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import io.silverware.microservices.Context;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.silver.HttpServerSilverService;
 import io.silverware.microservices.silver.MonitoringSilverService;
+import io.silverware.microservices.silver.SilverService;
 import io.silverware.microservices.silver.http.ServletDescriptor;
 import io.silverware.microservices.util.Utils;
 
 import java.util.Collections;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  */
-public class MonitoringMicroserviceProvider implements MicroserviceProvider, MonitoringSilverService {
+public class MonitoringMicroserviceProvider implements LifecycleMicroserviceProvider, MonitoringSilverService {
 
    private static final Logger log = LogManager.getLogger(MonitoringMicroserviceProvider.class);
 
@@ -48,57 +50,39 @@ public class MonitoringMicroserviceProvider implements MicroserviceProvider, Mon
       context.getProperties().putIfAbsent(MONITORING_URL, "monitor");
    }
 
+   @Override
+   public Set<Class<? extends SilverService>> getDependencies() {
+      return Collections.singleton(HttpServerSilverService.class);
+   }
+
    @Override
    public Context getContext() {
       return context;
    }
 
    @Override
-   public void run() {
-      try {
-         log.info("Hello from Monitoring microservice provider!");
-
-         try {
-            if (log.isDebugEnabled()) {
-               log.debug("Waiting for the Http Microservice provider.");
-            }
-
-            while (!Thread.currentThread().isInterrupted()) {
-
-               if (http == null) {
-                  http = (HttpServerSilverService) context.getProvider(HttpServerSilverService.class);
-
-                  if (http != null) {
-                     if (log.isDebugEnabled()) {
-                        log.debug("Discovered Http Silverservice: " + http.getClass().getName());
-                     }
-
-                     log.info("Deploying monitoring agent...");
-
-                     http.deployServlet((String) context.getProperties().get(MONITORING_URL), "", Collections.singletonList(getServletDescriptor()));
-
-                     final String monitorUrl = "http://" + context.getProperties().get(HttpServerSilverService.HTTP_SERVER_ADDRESS) + ":" +
-                           context.getProperties().get(HttpServerSilverService.HTTP_SERVER_PORT) + "/" +
-                           context.getProperties().get(MONITORING_URL) + "/";
-
-                     if (log.isTraceEnabled()) {
-                        log.trace("Waiting for monitor to appear at {}", monitorUrl);
-                     }
-
-                     if (!Utils.waitForHttp(monitorUrl, 200)) {
-                        throw new InterruptedException("Unable to start monitoring agent.");
-                     }
-                  }
-               }
-
-               Thread.sleep(1000);
-            }
-         } catch (InterruptedException ie) {
-            Utils.shutdownLog(log, ie);
-         }
-      } catch (Exception e) {
-         log.error("Monitoring microservice provider failed: ", e);
+   public void start() throws Exception {
+      log.info("Hello from Monitoring microservice provider!");
+
+      if (log.isDebugEnabled()) {
+         log.debug("Waiting for the Http Microservice provider.");
+      }
+
+      http = Utils.waitForHttpServer(context);
+
+      if (log.isDebugEnabled()) {
+         log.debug("Discovered Http Silverservice: " + http.getClass().getName());
       }
+
+      log.info("Deploying monitoring agent...");
+
+      // the server is already listening so the agent is available as soon as the deployment returns
+      http.deployServlet((String) context.getProperties().get(MONITORING_URL), "", Collections.singletonList(getServletDescriptor()));
+   }
+
+   @Override
+   public void stop() {
+      // the monitoring agent is stopped together with the HTTP server
    }
 
    private ServletDescriptor getServletDescriptor() {
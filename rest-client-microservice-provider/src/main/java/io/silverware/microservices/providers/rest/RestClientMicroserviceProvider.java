@@ -21,10 +21,9 @@ package io.silverware.microservices.providers.rest;
 
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.providers.rest.annotation.ServiceConfiguration;
 import io.silverware.microservices.silver.RestClientSilverService;
-import io.silverware.microservices.util.Utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -44,7 +43,7 @@ import java.util.Set;
  * @author <a href="mailto:marvenec@gmail.com">Martin Večeřa</a>
  * @author Radek Koubsky (radekkoubsky@gmail.com)
  */
-public class RestClientMicroserviceProvider implements MicroserviceProvider, RestClientSilverService {
+public class RestClientMicroserviceProvider implements LifecycleMicroserviceProvider, RestClientSilverService {
    private static final Logger log = LogManager.getLogger(RestClientMicroserviceProvider.class);
    private Context context;
    private ResteasyClient client;
@@ -61,19 +60,14 @@ public class RestClientMicroserviceProvider implements MicroserviceProvider, Res
    }
 
    @Override
-   public void run() {
+   public void start() {
       log.info("Hello from REST client microservice provider!");
+   }
 
-      try {
-         while (!Thread.currentThread().isInterrupted()) {
-            Thread.sleep(1000);
-         }
-      } catch (final InterruptedException ie) {
-         Utils.shutdownLog(log, ie);
-      } finally {
-         log.info("Closing the Rest client...");
-         this.client.close();
-      }
+   @Override
+   public void stop() {
+      log.info("Closing the Rest client...");
+      this.client.close();
    }
 
    private ServiceConfiguration getConfigurationAnnotation(final Set<Annotation> annotations) {
@@ -23,10 +23,9 @@ package io.silverware.microservices.providers.vertx;
 import io.silverware.microservices.Context;
 import io.silverware.microservices.MicroserviceMetaData;
 import io.silverware.microservices.annotations.Deployment;
-import io.silverware.microservices.providers.MicroserviceProvider;
+import io.silverware.microservices.providers.LifecycleMicroserviceProvider;
 import io.silverware.microservices.silver.VertxSilverService;
 import io.silverware.microservices.util.DeploymentScanner;
-import io.silverware.microservices.util.Utils;
 import io.silverware.microservices.utils.VertxConstants;
 import io.silverware.microservices.utils.VertxUtils;
 
@@ -49,7 +48,7 @@ import java.util.Set;
 /**
  * @author <a href="mailto:stefankomartin6@gmail.com">Martin Štefanko</a>
  */
-public class VertxMicroserviceProvider implements MicroserviceProvider, VertxSilverService {
+public class VertxMicroserviceProvider implements LifecycleMicroserviceProvider, VertxSilverService {
 
    /**
     * Logger.
@@ -85,23 +84,18 @@ public class VertxMicroserviceProvider implements MicroserviceProvider, VertxSil
    }
 
    @Override
-   public void run() {
+   public void start() {
       log.info("Hello from Vert.x Microservice Provider!");
 
       vertx = Vertx.vertx();
 
       deployVerticles(vertx);
+   }
 
-      try {
-         while (!Thread.currentThread().isInterrupted()) {
-            Thread.sleep(1000);
-         }
-      } catch (InterruptedException ie) {
-         Utils.shutdownLog(log, ie);
-      } finally {
-         log.info("Closing Vert.x...");
-         vertx.close();
-      }
+   @Override
+   public void stop() {
+      log.info("Closing Vert.x...");
+      vertx.close();
 
       log.info("Bye from Vert.x Microservice Provider!");
    }